@@ -2,8 +2,10 @@ package com.morphology;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class MorphologyApplication {
     
     public static void main(String[] args) {
@@ -11,4 +13,4 @@ public class MorphologyApplication {
         System.setProperty("file.encoding", "UTF-8");
         SpringApplication.run(MorphologyApplication.class, args);
     }
-}
\ No newline at end of file
+}
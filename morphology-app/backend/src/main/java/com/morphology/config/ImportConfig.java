@@ -0,0 +1,26 @@
+package com.morphology.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Pool dédié aux imports : les threads HTTP restent disponibles
+     * pour les autres endpoints pendant un gros chargement.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService importExecutor(MorphologyProperties properties) {
+        AtomicInteger compteur = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getImports().getThreads(), r -> {
+            Thread t = new Thread(r, "import-" + compteur.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.morphology.config;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.morphology.service.LexiconPreloadService;
+import com.morphology.service.RootService;
+import com.morphology.service.SchemeService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Santé « lexicon » : DOWN tant que le lexique n'est pas entièrement chargé.
+ * Incluse dans le groupe readiness (/actuator/health/readiness).
+ */
+@Component
+@RequiredArgsConstructor
+public class LexiconHealthIndicator implements HealthIndicator {
+
+    private final LexiconPreloadService preloadService;
+    private final RootService           rootService;
+    private final SchemeService         schemeService;
+
+    @Override
+    public Health health() {
+        if (!preloadService.isTermine()) {
+            return Health.down().withDetail("state", "loading").build();
+        }
+        return Health.up()
+            .withDetail("roots", rootService.getRootCount())
+            .withDetail("schemes", schemeService.getSchemeCount())
+            .withDetail("readOnly", rootService.estLectureSeule())
+            .withDetail("preloadMs", preloadService.getDureeMs())
+            .build();
+    }
+}
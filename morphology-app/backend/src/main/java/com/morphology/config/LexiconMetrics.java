@@ -0,0 +1,75 @@
+package com.morphology.config;
+
+import org.springframework.stereotype.Component;
+
+import com.morphology.model.ArbreAVL;
+import com.morphology.model.RootType;
+import com.morphology.service.RootService;
+import com.morphology.service.SchemeService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Export Micrometer des statistiques du lexique. Les jauges lisent les
+ * compteurs tenus à jour par les services : une collecte Prometheus ne
+ * parcourt jamais l'arbre ni la table.
+ */
+@Component
+@RequiredArgsConstructor
+public class LexiconMetrics implements MeterBinder {
+
+    private final RootService   rootService;
+    private final SchemeService schemeService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("morphology.roots", rootService, RootService::getRootCount)
+            .description("Nombre de racines").register(registry);
+        for (RootType type : RootType.values()) {
+            Gauge.builder("morphology.roots.type", rootService, s -> s.getNombreRacines(type))
+                .tag("type", type.name())
+                .description("Nombre de racines par type morphologique").register(registry);
+        }
+        Gauge.builder("morphology.roots.hamza", rootService, RootService::getNombreRacinesHamza)
+            .description("Nombre de racines contenant une hamza").register(registry);
+        Gauge.builder("morphology.derivatives", rootService, RootService::getNombreDerives)
+            .description("Nombre de dérivés distincts").register(registry);
+        Gauge.builder("morphology.derivatives.frequency", rootService, RootService::getFrequenceTotaleDerives)
+            .description("Somme des fréquences des dérivés").register(registry);
+
+        Gauge.builder("morphology.avl.height", rootService, RootService::getHauteurArbre)
+            .description("Hauteur de l'arbre des racines").register(registry);
+        Gauge.builder("morphology.avl.height.optimal", rootService, RootService::getHauteurOptimale)
+            .description("Hauteur minimale pour ce nombre de racines").register(registry);
+        FunctionCounter.builder("morphology.avl.rotations", this, m -> ArbreAVL.getNombreRotations())
+            .description("Rotations de rééquilibrage de l'arbre AVL").register(registry);
+
+        Gauge.builder("morphology.schemes", schemeService, SchemeService::getSchemeCount)
+            .description("Nombre de schèmes").register(registry);
+        Gauge.builder("morphology.schemes.table.load", schemeService, SchemeService::getTauxRemplissage)
+            .description("Taux de remplissage de la table de hachage").register(registry);
+        Gauge.builder("morphology.schemes.table.collisions", schemeService, SchemeService::getNombreCollisions)
+            .description("Collisions de la table de hachage").register(registry);
+        Gauge.builder("morphology.schemes.table.chain.max", schemeService, SchemeService::getLongueurMaxChaine)
+            .description("Longueur maximale d'une chaîne").register(registry);
+
+        // Usage par schème : compteurs créés à la première utilisation de chaque schème
+        rootService.setObservateurSchemes(scheme -> enregistrerUsage(registry, scheme));
+        rootService.getUsageSchemes().keySet().forEach(scheme -> enregistrerUsage(registry, scheme));
+    }
+
+    private void enregistrerUsage(MeterRegistry registry, String scheme) {
+        RootService.UsageScheme usage = rootService.getUsageSchemes().get(scheme);
+        if (usage == null) return;
+        FunctionCounter.builder("morphology.scheme.derivatives", usage, u -> u.derives().sum())
+            .tag("scheme", scheme)
+            .description("Dérivés distincts apparus avec ce schème").register(registry);
+        FunctionCounter.builder("morphology.scheme.occurrences", usage, u -> u.occurrences().sum())
+            .tag("scheme", scheme)
+            .description("Occurrences enregistrées avec ce schème").register(registry);
+    }
+}
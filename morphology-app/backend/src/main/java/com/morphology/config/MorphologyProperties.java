@@ -0,0 +1,169 @@
+package com.morphology.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Paramètres applicatifs (préfixe {@code morphology} dans application.yml)
+ */
+@Data
+@ConfigurationProperties(prefix = "morphology")
+public class MorphologyProperties {
+
+    private Imports imports = new Imports();
+    private Uploads uploads = new Uploads();
+    private Snapshot snapshot = new Snapshot();
+    private Journal journal = new Journal();
+    private Lexicon lexicon = new Lexicon();
+    private Pagination pagination = new Pagination();
+    private Preload preload = new Preload();
+    private Watch watch = new Watch();
+    private Trace trace = new Trace();
+    private Diagnostics diagnostics = new Diagnostics();
+    private Decomposition decomposition = new Decomposition();
+    private Shadow shadow = new Shadow();
+
+    /**
+     * Imports asynchrones de fichiers (racines / schèmes)
+     */
+    @Data
+    public static class Imports {
+        // Nombre de workers traitant les imports en parallèle
+        private int threads = 2;
+        // Nombre de lignes ingérées par lot
+        private int batchSize = 5000;
+        // Nombre de jobs terminés conservés pour consultation
+        private int retainedJobs = 50;
+    }
+
+    /**
+     * Déduplication des envois répétés d'un même fichier de lexique
+     */
+    @Data
+    public static class Uploads {
+        // Mémoriser l'empreinte et le contenu du dernier envoi de chaque type
+        private boolean deduplication = true;
+        // Au-delà de cette proportion de lignes modifiées, l'envoi est
+        // traité comme un nouveau fichier (import complet, sans suppression)
+        private double diffMaxRatio = 0.5;
+    }
+
+    /**
+     * Sauvegarde binaire du lexique complet (redémarrage rapide)
+     */
+    @Data
+    public static class Snapshot {
+        private boolean enabled = true;
+        // Fichier de sauvegarde (remplacé atomiquement à chaque écriture)
+        private String path = "data/lexique.snap";
+        // Écrire une sauvegarde à l'arrêt de l'application
+        private boolean saveOnShutdown = true;
+    }
+
+    /**
+     * Journal des mutations (rejoué au démarrage après la sauvegarde)
+     */
+    @Data
+    public static class Journal {
+        private boolean enabled = true;
+        private String path = "data/journal.wal";
+        // Forcer l'écriture sur disque à chaque groupe de mutations
+        private boolean sync = true;
+        // Délai maximal avant écriture des occurrences de dérivés cumulées
+        private long flushIntervalMs = 200;
+        // Taille au-delà de laquelle le journal est compacté
+        private long compactionThresholdBytes = 16 * 1024 * 1024;
+    }
+
+    /**
+     * Lexique compilé, projeté en mémoire (déploiements en lecture seule)
+     */
+    @Data
+    public static class Lexicon {
+        private String compiledPath = "data/lexique.lex";
+        // Servir les racines depuis le fichier compilé ; toute modification
+        // de racine est alors refusée
+        private boolean readOnly = false;
+    }
+
+    /**
+     * Listes paginées (GET /roots)
+     */
+    @Data
+    public static class Pagination {
+        // Taille de page maximale ; un limit supérieur est ramené à cette valeur
+        private int maxLimit = 1000;
+    }
+
+    /**
+     * Chargement du lexique fourni au démarrage (avant d'accepter du trafic)
+     */
+    @Data
+    public static class Preload {
+        private boolean enabled = true;
+        // Emplacements Spring (classpath:..., file:...) ; vide = ignoré
+        private String roots = "classpath:static/racines.txt";
+        private String schemes = "classpath:static/schemes.txt";
+    }
+
+    /**
+     * Rechargement à chaud des fichiers de lexique modifiés sur disque
+     */
+    @Data
+    public static class Watch {
+        private boolean enabled = false;
+        // Chemins de fichiers surveillés ; vide = non surveillé
+        private String roots = "";
+        private String schemes = "";
+        // Délai de calme avant rechargement (un éditeur écrit souvent en plusieurs fois)
+        private long debounceMs = 500;
+    }
+
+    /**
+     * Traçage des règles de transformation (en-tête X-Morphology-Trace ou ?trace=true)
+     */
+    @Data
+    public static class Trace {
+        // Part des requêtes tracées sans demande explicite (0 = aucune, 1 = toutes)
+        private double sampleRate = 0.0;
+        // Nombre de traces conservées pour GET /traces
+        private int capacity = 100;
+        // Transformations enregistrées au plus par requête
+        private int maxTransformations = 500;
+    }
+
+    /**
+     * Diagnostic d'encodage des requêtes de validation
+     */
+    @Data
+    public static class Diagnostics {
+        // Part des requêtes /validate dont l'encodage est journalisé (0 = aucune)
+        private double sampleRate = 0.0;
+    }
+
+    /**
+     * Stratégie de décomposition des mots
+     */
+    @Data
+    public static class Decomposition {
+        // Index des formes générées (racines × schèmes), reconstruit à la
+        // demande après chaque modification du lexique ; sinon parcours complet
+        private boolean indexEnabled = false;
+    }
+
+    /**
+     * Exécution fantôme : décompositions rejouées par le parcours de référence
+     */
+    @Data
+    public static class Shadow {
+        // Part des décompositions comparées au parcours de référence (0 = aucune)
+        private double sampleRate = 0.0;
+        // Threads dédiés aux parcours de référence (hors threads HTTP)
+        private int threads = 1;
+        // Comparaisons en attente au-delà desquelles un échantillon est abandonné
+        private int queueCapacity = 100;
+        // Nombre de divergences conservées pour GET /validate/shadow
+        private int capacity = 100;
+    }
+}
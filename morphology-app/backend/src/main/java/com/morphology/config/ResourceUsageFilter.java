@@ -0,0 +1,49 @@
+package com.morphology.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.morphology.service.ResourceUsageService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Octets alloués et temps CPU de chaque requête, attribués au modèle
+ * d'URL du contrôleur (/roots/{root} et non /roots/كتب) pour borner le
+ * nombre de séries. Les requêtes sans contrôleur (ressources statiques,
+ * 404) ne sont pas comptées.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceUsageFilter extends OncePerRequestFilter {
+
+    private final ResourceUsageService resourceUsageService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!resourceUsageService.isActif()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long octets = resourceUsageService.octetsAlloues();
+        long cpu = resourceUsageService.tempsCpu();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object modele = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (modele != null) {
+                resourceUsageService.enregistrer(request.getMethod(), modele.toString(),
+                    resourceUsageService.octetsAlloues() - octets,
+                    resourceUsageService.tempsCpu() - cpu);
+            }
+        }
+    }
+}
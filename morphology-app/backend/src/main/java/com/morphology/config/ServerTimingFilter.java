@@ -0,0 +1,69 @@
+package com.morphology.config;
+
+import java.io.IOException;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.morphology.service.LatencyService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * En-tête Server-Timing : durée de chaque étape de la requête (analyse,
+ * application du schème, transformation...) et durée totale, visibles
+ * dans l'onglet réseau du navigateur.
+ *
+ * Le filtre ouvre et ferme le contexte de la requête ; l'en-tête est posé
+ * juste avant l'écriture du corps, tant que la réponse n'est pas envoyée.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String ENTETE = "Server-Timing";
+
+    private final LatencyService latencyService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        latencyService.debuterRequete();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            latencyService.terminerRequete();
+        }
+    }
+
+    @ControllerAdvice
+    @RequiredArgsConstructor
+    static class Entete implements ResponseBodyAdvice<Object> {
+
+        private final LatencyService latencyService;
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                      Class<? extends HttpMessageConverter<?>> converterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            response.getHeaders().set(ENTETE, latencyService.enteteServerTiming());
+            return body;
+        }
+    }
+}
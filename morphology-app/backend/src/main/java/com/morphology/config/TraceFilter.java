@@ -0,0 +1,50 @@
+package com.morphology.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.morphology.service.TraceService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Trace des règles de transformation, à la demande :
+ * en-tête X-Morphology-Trace: true ou paramètre ?trace=true.
+ *
+ * L'identifiant de la trace est renvoyé dans l'en-tête X-Morphology-Trace-Id
+ * (consultable ensuite via GET /traces/{id}).
+ */
+@Component
+@RequiredArgsConstructor
+public class TraceFilter extends OncePerRequestFilter {
+
+    public static final String ENTETE = "X-Morphology-Trace";
+    public static final String ENTETE_ID = "X-Morphology-Trace-Id";
+    public static final String PARAMETRE = "trace";
+
+    private final TraceService traceService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean demandee = "true".equalsIgnoreCase(request.getHeader(ENTETE))
+                        || "true".equalsIgnoreCase(request.getParameter(PARAMETRE));
+        long id = traceService.ouvrir(request.getMethod(), request.getRequestURI(), demandee);
+        if (id < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(ENTETE_ID, Long.toString(id));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            traceService.fermer();
+        }
+    }
+}
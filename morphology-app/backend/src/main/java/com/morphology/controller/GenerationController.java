@@ -12,7 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.morphology.dto.request.GenerateWordRequest;
 import com.morphology.dto.response.ApiResponse;
 import com.morphology.dto.response.GeneratedWordResponse;
-import com.morphology.model.NoeudAVL;
+import com.morphology.model.VueRacines;
 import com.morphology.service.GenerationService;
 import com.morphology.service.RootService;
 
@@ -102,25 +102,26 @@ public class GenerationController {
                 .body(ApiResponse.error("لا يمكن أن يكون الوزن فارغاً."));
         }
 
-        List<NoeudAVL>              allNodes = rootService.getAllNodes();
-        List<GeneratedWordResponse> results  = new ArrayList<>();
+        VueRacines                  racines = rootService.getVueRacines();
+        List<GeneratedWordResponse> results = new ArrayList<>();
 
-        if (allNodes == null || allNodes.isEmpty()) {
+        if (racines.taille() == 0) {
             log.warn("⚠️ قاعدة البيانات فارغة، لا توجد جذور مسجّلة.");
             return ResponseEntity.ok(ApiResponse.success(results));
         }
 
-        for (NoeudAVL node : allNodes) {
+        for (int i = 0; i < racines.taille(); i++) {
+            String racine = racines.racine(i);
             try {
                 GeneratedWordResponse res = generationService.generateWord(
-                    node.getRacine(), request.getScheme()
+                    racine, request.getScheme()
                 );
                 if (res.isSuccess() && res.getWord() != null) {
                     results.add(res);
                 }
             } catch (Exception e) {
                 log.debug("⚠️ تعذّر التوليد: الجذر='{}' + الوزن='{}'",
-                    node.getRacine(), request.getScheme());
+                    racine, request.getScheme());
             }
         }
 
@@ -0,0 +1,104 @@
+package com.morphology.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.morphology.dto.response.ApiResponse;
+import com.morphology.dto.response.ImportJobResponse;
+import com.morphology.model.ImportJob;
+import com.morphology.model.RejetLigne;
+import com.morphology.service.ImportJobService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportJobService importJobService;
+
+    /**
+     * POST /api/imports/roots
+     * Import asynchrone de racines — retourne immédiatement l'identifiant du job
+     */
+    @PostMapping("/roots")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> importRoots(
+            @RequestParam("file") MultipartFile file) throws Exception {
+        log.info("POST /imports/roots - file={}", file.getOriginalFilename());
+        return soumettre(file, ImportJob.Type.RACINES);
+    }
+
+    /**
+     * POST /api/imports/schemes
+     * Import asynchrone de schèmes
+     */
+    @PostMapping("/schemes")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> importSchemes(
+            @RequestParam("file") MultipartFile file) throws Exception {
+        log.info("POST /imports/schemes - file={}", file.getOriginalFilename());
+        return soumettre(file, ImportJob.Type.SCHEMES);
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ImportJobResponse>>> getJobs() {
+        List<ImportJobResponse> jobs = importJobService.getJobs().stream()
+            .map(ImportJobResponse::from)
+            .toList();
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
+
+    /**
+     * GET /api/imports/{id}
+     * Progression, débit et nombre de rejets
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(
+            ImportJobResponse.from(importJobService.getJob(id))));
+    }
+
+    /**
+     * GET /api/imports/{id}/rejects
+     * Rapport complet des lignes refusées (texte tabulé : fichier, ligne, contenu, motif)
+     */
+    @GetMapping("/{id}/rejects")
+    public ResponseEntity<byte[]> getRejects(@PathVariable String id) {
+        ImportJob job = importJobService.getJob(id);
+
+        StringBuilder sb = new StringBuilder("fichier\tligne\tcontenu\tmotif\n");
+        for (RejetLigne rejet : job.getRejets()) {
+            sb.append(rejet.getFichier() != null ? rejet.getFichier() : "").append('\t')
+              .append(rejet.getNumeroLigne()).append('\t')
+              .append(rejet.getContenu()).append('\t')
+              .append(rejet.getMotif()).append('\n');
+        }
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"rejets-" + id + ".tsv\"")
+            .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+            .body(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ResponseEntity<ApiResponse<ImportJobResponse>> soumettre(
+            MultipartFile file, ImportJob.Type type) throws Exception {
+        ImportJob job = importJobService.soumettre(file, type);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(ApiResponse.success("Import soumis", ImportJobResponse.from(job)));
+    }
+}
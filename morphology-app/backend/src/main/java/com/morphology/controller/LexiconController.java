@@ -0,0 +1,44 @@
+package com.morphology.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.morphology.dto.response.ApiResponse;
+import com.morphology.dto.response.LexiconResponse;
+import com.morphology.service.CompiledLexiconService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/lexicon")
+@RequiredArgsConstructor
+public class LexiconController {
+
+    private final CompiledLexiconService compiledLexiconService;
+
+    /**
+     * GET /api/lexicon
+     * Mode de service des racines (AVL en mémoire ou lexique compilé)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<LexiconResponse>> getEtat() {
+        return ResponseEntity.ok(ApiResponse.success(compiledLexiconService.getEtat()));
+    }
+
+    /**
+     * POST /api/lexicon/compile
+     * Compiler les racines courantes en fichier projetable en mémoire
+     */
+    @PostMapping("/compile")
+    public ResponseEntity<ApiResponse<LexiconResponse>> compiler() throws Exception {
+        log.info("POST /lexicon/compile");
+        LexiconResponse info = compiledLexiconService.compiler();
+        return ResponseEntity.ok(ApiResponse.success(
+            "Lexique compilé (" + info.getRoots() + " racines)", info));
+    }
+}
@@ -19,10 +19,12 @@
     import com.morphology.dto.response.ApiResponse;
     import com.morphology.dto.response.RootAnalysisResponse;
     import com.morphology.dto.response.RootsPageResponse;
+    import com.morphology.model.ImportJob;
     import com.morphology.model.NoeudAVL;
     import com.morphology.model.Root;
     import com.morphology.service.MorphoAnalyzer;
     import com.morphology.service.RootService;
+    import com.morphology.service.UploadDigestService;
 
     import jakarta.validation.Valid;
     import lombok.RequiredArgsConstructor;
@@ -36,26 +38,42 @@
     public class RootController {
         
         private final RootService rootService;
+        private final UploadDigestService uploadDigestService;
         @Autowired
         private MorphoAnalyzer morphoAnalyzer;
         /**
          * GET /api/roots?search=...&page=1&limit=10
-         * Obtenir la liste des racines (paginée)
+         * GET /api/roots?search=...&cursor=...&limit=10
+         * Obtenir la liste des racines (paginée).
+         * Avec un curseur, la page reprend après la dernière racine reçue
+         * (totaux non recalculés : totalPages = totalElements = -1).
          */
         @GetMapping
         public ResponseEntity<ApiResponse<RootsPageResponse>> getRoots(
                 @RequestParam(required = false, defaultValue = "") String search,
                 @RequestParam(required = false, defaultValue = "1") int page,
-                @RequestParam(required = false, defaultValue = "10") int limit) {
+                @RequestParam(required = false, defaultValue = "10") int limit,
+                @RequestParam(required = false) String cursor) {
             
-            log.info("GET /roots - search={}, page={}, limit={}", search, page, limit);
+            log.info("GET /roots - search={}, page={}, limit={}, cursor={}", search, page, limit, cursor);
+            limit = rootService.limiteEffective(limit);
+            
+            if (cursor != null && !cursor.isBlank()) {
+                return ResponseEntity.ok(ApiResponse.success(
+                    rootService.getRootsPage(search, cursor, limit)));
+            }
             
             List<String> roots = rootService.getRoots(search, page, limit);
             int total = rootService.getTotalRoots(search);
             int totalPages = (int) Math.ceil((double) total / limit);
             
+            // Permettre au client de poursuivre en mode curseur
+            String nextCursor = page < totalPages && !roots.isEmpty()
+                ? rootService.creerCurseur(roots.get(roots.size() - 1))
+                : null;
+            
             RootsPageResponse response = new RootsPageResponse(
-                roots, page, totalPages, total
+                roots, page, totalPages, total, nextCursor, rootService.getVersion()
             );
             
             return ResponseEntity.ok(ApiResponse.success(response));
@@ -125,7 +143,9 @@
         
         /**
          * POST /api/roots/upload
-         * Charger des racines depuis un fichier
+         * Charger des racines depuis un fichier.
+         * Un fichier identique au dernier envoi est ignoré ; un fichier
+         * légèrement modifié n'applique que les lignes ajoutées/retirées.
          */
         @PostMapping("/upload")
         public ResponseEntity<ApiResponse<Integer>> uploadRoots(
@@ -134,10 +154,15 @@
             log.info("POST /roots/upload - file={}", file.getOriginalFilename());
             
             try {
-                int count = rootService.loadRootsFromFile(file);
-                return ResponseEntity.ok(
-                    ApiResponse.success(count + " racines chargées avec succès", count)
-                );
+                UploadDigestService.Resultat resultat =
+                    uploadDigestService.charger(file, ImportJob.Type.RACINES);
+                int count = resultat.rapport().getAjoutes();
+                String message = switch (resultat.mode()) {
+                    case IDENTIQUE -> "Fichier identique au dernier envoi : aucune modification";
+                    case DIFFERENTIEL -> count + " racines ajoutées (envoi différentiel)";
+                    case COMPLET -> count + " racines chargées avec succès";
+                };
+                return ResponseEntity.ok(ApiResponse.success(message, count));
             } catch (Exception e) {
                 log.error("Erreur lors du chargement du fichier", e);
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -3,7 +3,9 @@ package com.morphology.controller;
 import com.morphology.dto.request.AddSchemeRequest;
 import com.morphology.dto.response.ApiResponse;
 import com.morphology.dto.response.SchemeResponse;
+import com.morphology.model.ImportJob;
 import com.morphology.service.SchemeService;
+import com.morphology.service.UploadDigestService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +23,7 @@ import java.util.List;
 public class SchemeController {
     
     private final SchemeService schemeService;
+    private final UploadDigestService uploadDigestService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<SchemeResponse>>> getSchemes() {
@@ -82,10 +85,15 @@ public class SchemeController {
         log.info("POST /schemes/upload - file={}", file.getOriginalFilename());
         
         try {
-            int count = schemeService.loadSchemesFromFile(file);
-            return ResponseEntity.ok(
-                ApiResponse.success(count + " schèmes chargés avec succès", count)
-            );
+            UploadDigestService.Resultat resultat =
+                uploadDigestService.charger(file, ImportJob.Type.SCHEMES);
+            int count = resultat.rapport().getAjoutes();
+            String message = switch (resultat.mode()) {
+                case IDENTIQUE -> "Fichier identique au dernier envoi : aucune modification";
+                case DIFFERENTIEL -> count + " schèmes ajoutés (envoi différentiel)";
+                case COMPLET -> count + " schèmes chargés avec succès";
+            };
+            return ResponseEntity.ok(ApiResponse.success(message, count));
         } catch (Exception e) {
             log.error("Erreur lors du chargement", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -16,7 +16,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.morphology.dto.response.ApiResponse;
 import com.morphology.model.MotDerive;
 import com.morphology.model.NoeudAVL;
+import com.morphology.model.RootType;
 import com.morphology.model.Scheme;
+import com.morphology.model.VueRacines;
 import com.morphology.service.GenerationService;
 import com.morphology.service.RootService;
 import com.morphology.service.SchemeService;
@@ -58,25 +60,26 @@ public class SearchController {
             );
         }
 
-        // Parcourir tous les noeuds AVL et chercher dans leurs dérivés stockés
-        List<NoeudAVL> allNodes = rootService.getAllNodes();
+        // Parcourir toutes les racines et chercher dans leurs dérivés stockés
+        VueRacines racines = rootService.getVueRacines();
         List<Map<String, String>> results = new ArrayList<>();
 
-        for (NoeudAVL node : allNodes) {
+        for (int i = 0; i < racines.taille(); i++) {
+            String racine = racines.racine(i);
             // Appliquer le schème à la racine pour savoir quel mot chercher
-            String motCherche = scheme.appliquer(node.getRacine());
+            String motCherche = scheme.appliquer(racine);
             if (motCherche == null) continue;
 
-            // Chercher ce mot dans les dérivés stockés du noeud
-            if (node.contientDerive(motCherche)) {
-                MotDerive derive = node.rechercherDerive(motCherche);
+            // Chercher ce mot dans les dérivés stockés de la racine
+            MotDerive derive = racines.derive(i, motCherche);
+            if (derive != null) {
+                RootType type = racines.type(i);
                 Map<String, String> entry = new LinkedHashMap<>();
-                entry.put("root", node.getRacine());
+                entry.put("root", racine);
                 entry.put("word", motCherche);
                 entry.put("scheme", schemeName);
                 entry.put("frequence", String.valueOf(derive.getFrequence()));
-                entry.put("rootType", node.getTypeMorphologique() != null
-                        ? node.getTypeMorphologique().getNomArabe() : "");
+                entry.put("rootType", type != null ? type.getNomArabe() : "");
                 results.add(entry);
             }
         }
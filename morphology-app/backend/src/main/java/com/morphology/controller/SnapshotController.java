@@ -0,0 +1,44 @@
+package com.morphology.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.morphology.dto.response.ApiResponse;
+import com.morphology.dto.response.SnapshotResponse;
+import com.morphology.service.SnapshotService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/snapshot")
+@RequiredArgsConstructor
+public class SnapshotController {
+
+    private final SnapshotService snapshotService;
+
+    /**
+     * POST /api/snapshot
+     * Sauvegarder immédiatement le lexique complet
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<SnapshotResponse>> sauvegarder() throws Exception {
+        log.info("POST /snapshot");
+        SnapshotResponse info = snapshotService.sauvegarder();
+        return ResponseEntity.ok(ApiResponse.success(
+            "Lexique sauvegardé (" + info.getSizeBytes() + " octets)", info));
+    }
+
+    /**
+     * GET /api/snapshot
+     * Dernière sauvegarde écrite ou restaurée
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SnapshotResponse>> getDernier() {
+        return ResponseEntity.ok(ApiResponse.success(snapshotService.getDernier()));
+    }
+}
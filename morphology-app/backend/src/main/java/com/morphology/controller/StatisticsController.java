@@ -1,18 +1,28 @@
 package com.morphology.controller;
 
 import com.morphology.dto.response.ApiResponse;
+import com.morphology.dto.response.LatencyResponse;
+import com.morphology.dto.response.MemoryFootprintResponse;
+import com.morphology.dto.response.ResourceUsageResponse;
 import com.morphology.dto.response.StatisticsResponse;
-import com.morphology.model.NoeudAVL;
+import com.morphology.model.RootType;
 import com.morphology.service.RootService;
+import com.morphology.service.LatencyService;
+import com.morphology.service.MemoryFootprintService;
+import com.morphology.service.ResourceUsageService;
 import com.morphology.service.SchemeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @RestController
@@ -22,35 +32,81 @@ public class StatisticsController {
     
     private final RootService rootService;
     private final SchemeService schemeService;
+    private final LatencyService latencyService;
+    private final MemoryFootprintService memoryFootprintService;
+    private final ResourceUsageService resourceUsageService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<StatisticsResponse>> getStatistics() {
         log.info("GET /statistics");
         
+        // Compteurs maintenus à chaque mutation : aucun parcours de l'arbre
         int totalRoots = rootService.getRootCount();
         int totalSchemes = schemeService.getSchemeCount();
+        int totalDerivatives = (int) rootService.getNombreDerives();
+        int totalFrequency = (int) rootService.getFrequenceTotaleDerives();
         
-        // Calculer les statistiques des dérivés
-        List<NoeudAVL> nodes = rootService.getAllNodes();
-        int totalDerivatives = 0;
-        int totalFrequency = 0;
+        double avgDerivatives = totalRoots > 0 ? (double) totalDerivatives / totalRoots : 0;
+        
+        StatisticsResponse stats = new StatisticsResponse();
+        stats.setTotalRoots(totalRoots);
+        stats.setTotalSchemes(totalSchemes);
+        stats.setTotalDerivatives(totalDerivatives);
+        stats.setTotalGenerated(totalFrequency);
+        stats.setAvgDerivatives(avgDerivatives);
+        stats.setTotalFrequency(totalFrequency);
         
-        for (NoeudAVL node : nodes) {
-            totalDerivatives += node.getNombreDerives();
-            totalFrequency += node.getFrequenceTotaleDerives();
+        Map<String, Long> rootsByType = new LinkedHashMap<>();
+        for (RootType type : RootType.values()) {
+            rootsByType.put(type.name(), rootService.getNombreRacines(type));
         }
+        stats.setRootsByType(rootsByType);
+        stats.setHamzaRoots(rootService.getNombreRacinesHamza());
         
-        double avgDerivatives = totalRoots > 0 ? (double) totalDerivatives / totalRoots : 0;
+        Map<String, Long> derivativesByScheme = new TreeMap<>();
+        Map<String, Long> frequencyByScheme = new TreeMap<>();
+        rootService.getUsageSchemes().forEach((scheme, usage) -> {
+            derivativesByScheme.put(scheme, usage.derives().sum());
+            frequencyByScheme.put(scheme, usage.occurrences().sum());
+        });
+        stats.setDerivativesByScheme(derivativesByScheme);
+        stats.setFrequencyByScheme(frequencyByScheme);
         
-        StatisticsResponse stats = new StatisticsResponse(
-            totalRoots,
-            totalSchemes,
-            totalDerivatives,
-            totalFrequency,
-            avgDerivatives,
-            totalFrequency
-        );
+        stats.setAvlHeight(rootService.getHauteurArbre());
+        stats.setAvlOptimalHeight(rootService.getHauteurOptimale());
+        stats.setHashLoadFactor(schemeService.getTauxRemplissage());
+        stats.setHashCollisions(schemeService.getNombreCollisions());
+        stats.setHashMaxChain(schemeService.getLongueurMaxChaine());
         
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
-}
\ No newline at end of file
+    
+    /**
+     * GET /api/statistics/latency
+     * Latence par opération (p50/p99/p999 sur une fenêtre glissante) et par étape
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<ApiResponse<List<LatencyResponse>>> getLatency() {
+        return ResponseEntity.ok(ApiResponse.success(latencyService.getLatences()));
+    }
+
+    /**
+     * GET /api/statistics/resources
+     * Octets alloués et temps CPU par requête, par endpoint (plus gros allocateurs d'abord)
+     */
+    @GetMapping("/resources")
+    public ResponseEntity<ApiResponse<List<ResourceUsageResponse>>> getResources() {
+        return ResponseEntity.ok(ApiResponse.success(resourceUsageService.getConsommations()));
+    }
+
+    /**
+     * GET /api/statistics/memory?top=10
+     * Empreinte mémoire estimée par structure, moyennes par racine et
+     * racines dont les dérivés occupent le plus de place
+     */
+    @GetMapping("/memory")
+    public ResponseEntity<ApiResponse<MemoryFootprintResponse>> getMemory(
+            @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(ApiResponse.success(memoryFootprintService.mesurer(top)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.morphology.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.morphology.dto.response.ApiResponse;
+import com.morphology.dto.response.TraceResponse;
+import com.morphology.service.TraceService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/traces")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final TraceService traceService;
+
+    /**
+     * GET /api/traces
+     * Traces les plus récentes (demandées ou échantillonnées)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<TraceResponse>>> getTraces() {
+        return ResponseEntity.ok(ApiResponse.success(traceService.getTraces()));
+    }
+
+    /**
+     * GET /api/traces/{id}
+     * Trace d'une requête (identifiant de l'en-tête X-Morphology-Trace-Id)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<TraceResponse>> getTrace(@PathVariable long id) {
+        return ResponseEntity.ok(ApiResponse.success(traceService.getTrace(id)));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Integer>> vider() {
+        log.info("DELETE /traces");
+        int nombre = traceService.vider();
+        return ResponseEntity.ok(ApiResponse.success(nombre + " trace(s) supprimée(s)", nombre));
+    }
+}
@@ -1,21 +1,30 @@
 package com.morphology.controller;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.morphology.config.MorphologyProperties;
 import com.morphology.dto.request.ValidateWordRequest;
 import com.morphology.dto.response.ApiResponse;
+import com.morphology.dto.response.DecompositionExplainResponse;
 import com.morphology.dto.response.DecompositionResponse;
+import com.morphology.dto.response.EncodingDiagnosticsResponse;
+import com.morphology.dto.response.ShadowReportResponse;
 import com.morphology.dto.response.ValidationResponse;
+import com.morphology.service.ShadowService;
 import com.morphology.service.ValidationService;
+import com.morphology.util.EncodingDiagnostics;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,149 +35,126 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/validate")
 @RequiredArgsConstructor
 public class ValidationController {
-    
+
     private final ValidationService validationService;
-    
+    private final ShadowService shadowService;
+    private final MorphologyProperties properties;
+
     @PostMapping(value = "/check",
                  produces = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8",
                  consumes = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8")
     public ResponseEntity<ApiResponse<ValidationResponse>> validateWord(
             @Valid @RequestBody ValidateWordRequest request) {
-        
-        // ===== LOGS DE DÉBOGAGE DÉTAILLÉS =====
-        log.info("========== DÉBUT VALIDATION ==========");
-        
-        // 1. Log basique
+
         log.info("POST /validate/check - word={}, root={}", request.getWord(), request.getRoot());
-        
-        // 2. Log de la longueur des chaînes
-        log.debug("Word length: {}, Root length: {}", 
-            request.getWord().length(), 
-            request.getRoot().length());
-        
-        // 3. Log des bytes (pour voir l'encodage réel)
-        log.debug("Word bytes (UTF-8): {}", 
-            Arrays.toString(request.getWord().getBytes(StandardCharsets.UTF_8)));
-        log.debug("Root bytes (UTF-8): {}", 
-            Arrays.toString(request.getRoot().getBytes(StandardCharsets.UTF_8)));
-        
-        // 4. Log des codepoints (pour voir les caractères Unicode)
-        log.debug("Word codepoints: {}", 
-            request.getWord().codePoints().boxed().toArray());
-        log.debug("Root codepoints: {}", 
-            request.getRoot().codePoints().boxed().toArray());
-        
-        // 5. Vérification si c'est de l'arabe
-        boolean isArabicWord = request.getWord().matches(".*[\\u0600-\\u06FF].*");
-        boolean isArabicRoot = request.getRoot().matches(".*[\\u0600-\\u06FF].*");
-        log.debug("Is Arabic? word={}, root={}", isArabicWord, isArabicRoot);
-        
-        // 6. Test de conversion
-        try {
-            String wordUtf8 = new String(request.getWord().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
-            String rootUtf8 = new String(request.getRoot().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
-            log.debug("After UTF-8 conversion - word={}, root={}", wordUtf8, rootUtf8);
-        } catch (Exception e) {
-            log.error("UTF-8 conversion error", e);
-        }
-        
-        // 7. Afficher chaque caractère séparément
-        StringBuilder wordChars = new StringBuilder();
-        for (int i = 0; i < request.getWord().length(); i++) {
-            char c = request.getWord().charAt(i);
-            wordChars.append(String.format("[%c:U+%04X] ", c, (int)c));
-        }
-        log.debug("Word characters: {}", wordChars.toString());
-        
-        StringBuilder rootChars = new StringBuilder();
-        for (int i = 0; i < request.getRoot().length(); i++) {
-            char c = request.getRoot().charAt(i);
-            rootChars.append(String.format("[%c:U+%04X] ", c, (int)c));
-        }
-        log.debug("Root characters: {}", rootChars.toString());
-        
-        log.info("========================================");
-        
-        // Appel du service
+        echantillonnerEncodage("check", request.getWord(), request.getRoot());
+
         ValidationResponse response = validationService.validateWord(
             request.getWord(),
             request.getRoot()
         );
-        
-        log.info("Validation result: valid={}", response.isValid());
-        log.info("========== FIN VALIDATION ==========");
-        
+
+        log.debug("Validation result: valid={}", response.isValid());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
-    
+
     @PostMapping(value = "/decompose",
                  produces = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8",
                  consumes = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8")
     public ResponseEntity<ApiResponse<DecompositionResponse>> decomposeWord(
             @RequestBody ValidateWordRequest request) {
-        
-        // ===== LOGS DE DÉBOGAGE DÉTAILLÉS =====
-        log.info("========== DÉBUT DÉCOMPOSITION ==========");
-        
+
         log.info("POST /validate/decompose - word={}", request.getWord());
-        
-        log.debug("Word length: {}", request.getWord().length());
-        
-        log.debug("Word bytes (UTF-8): {}", 
-            Arrays.toString(request.getWord().getBytes(StandardCharsets.UTF_8)));
-        
-        log.debug("Word codepoints: {}", 
-            request.getWord().codePoints().boxed().toArray());
-        
-        boolean isArabic = request.getWord().matches(".*[\\u0600-\\u06FF].*");
-        log.debug("Is Arabic? {}", isArabic);
-        
-        StringBuilder wordChars = new StringBuilder();
-        for (int i = 0; i < request.getWord().length(); i++) {
-            char c = request.getWord().charAt(i);
-            wordChars.append(String.format("[%c:U+%04X] ", c, (int)c));
-        }
-        log.debug("Word characters: {}", wordChars.toString());
-        
-        log.info("========================================");
-        
+        echantillonnerEncodage("decompose", request.getWord(), null);
+
         DecompositionResponse response = validationService.decomposeWord(request.getWord());
-        
-        log.info("Decomposition result: root={}, scheme={}", 
+
+        log.debug("Decomposition result: root={}, scheme={}",
             response.getRoot(), response.getScheme());
-        log.info("========== FIN DÉCOMPOSITION ==========");
-        
         return ResponseEntity.ok(ApiResponse.success(response));
     }
-    
+
+    /**
+     * POST /api/validate/decompose/explain
+     * Décomposition et son déroulement : stratégie (index ou parcours),
+     * candidats examinés et écartés par filtre, transformations, caches,
+     * temps par étape
+     */
+    @PostMapping(value = "/decompose/explain",
+                 produces = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8",
+                 consumes = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8")
+    public ResponseEntity<ApiResponse<DecompositionExplainResponse>> explainDecomposition(
+            @RequestBody ValidateWordRequest request) {
+
+        log.info("POST /validate/decompose/explain - word={}", request.getWord());
+        return ResponseEntity.ok(ApiResponse.success(
+            validationService.explainDecomposition(request.getWord())));
+    }
+
     @PostMapping(value = "/find-roots",
                  produces = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8",
                  consumes = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8")
     public ResponseEntity<ApiResponse<List<DecompositionResponse>>> findAllRoots(
             @RequestBody ValidateWordRequest request) {
-        
-        // ===== LOGS DE DÉBOGAGE DÉTAILLÉS =====
-        log.info("========== DÉBUT RECHERCHE RACINES ==========");
-        
+
         log.info("POST /validate/find-roots - word={}", request.getWord());
-        
-        log.debug("Word length: {}", request.getWord().length());
-        
-        log.debug("Word bytes (UTF-8): {}", 
-            Arrays.toString(request.getWord().getBytes(StandardCharsets.UTF_8)));
-        
-        boolean isArabic = request.getWord().matches(".*[\\u0600-\\u06FF].*");
-        log.debug("Is Arabic? {}", isArabic);
-        
-        log.info("========================================");
-        
+        echantillonnerEncodage("find-roots", request.getWord(), null);
+
         List<DecompositionResponse> results = validationService.findAllPossibleRoots(
             request.getWord()
         );
-        
-        log.info("Found {} possible roots", results.size());
-        log.info("========== FIN RECHERCHE RACINES ==========");
-        
+
+        log.debug("Found {} possible roots", results.size());
         return ResponseEntity.ok(ApiResponse.success(results));
     }
-}
\ No newline at end of file
+
+    /**
+     * POST /api/validate/diagnostics
+     * Analyse d'encodage du mot (et de la racine si fournie) : octets UTF-8,
+     * points de code, noms Unicode et caractères suspects
+     */
+    @PostMapping(value = "/diagnostics",
+                 produces = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8",
+                 consumes = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8")
+    public ResponseEntity<ApiResponse<Map<String, EncodingDiagnosticsResponse>>> diagnostics(
+            @RequestBody ValidateWordRequest request) {
+
+        log.info("POST /validate/diagnostics");
+
+        Map<String, EncodingDiagnosticsResponse> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("word", EncodingDiagnostics.analyser(request.getWord()));
+        if (request.getRoot() != null)
+            diagnostics.put("root", EncodingDiagnostics.analyser(request.getRoot()));
+
+        return ResponseEntity.ok(ApiResponse.success(diagnostics));
+    }
+
+    /**
+     * GET /api/validate/shadow
+     * Exécution fantôme : comparaisons au parcours de référence et
+     * dernières divergences avec leur entrée
+     */
+    @GetMapping("/shadow")
+    public ResponseEntity<ApiResponse<ShadowReportResponse>> getShadowReport() {
+        return ResponseEntity.ok(ApiResponse.success(shadowService.getRapport()));
+    }
+
+    @DeleteMapping("/shadow")
+    public ResponseEntity<ApiResponse<Integer>> clearShadowMismatches() {
+        log.info("DELETE /validate/shadow");
+        int nombre = shadowService.vider();
+        return ResponseEntity.ok(ApiResponse.success(nombre + " divergence(s) supprimée(s)", nombre));
+    }
+
+    // ================================================================
+    // Diagnostic d'encodage échantillonné (morphology.diagnostics.sample-rate)
+    // ================================================================
+    private void echantillonnerEncodage(String operation, String word, String root) {
+        double taux = properties.getDiagnostics().getSampleRate();
+        if (taux <= 0 || ThreadLocalRandom.current().nextDouble() >= taux) return;
+
+        log.info("Encodage {} - word: {}", operation, EncodingDiagnostics.resumer(word));
+        if (root != null)
+            log.info("Encodage {} - root: {}", operation, EncodingDiagnostics.resumer(root));
+    }
+}
@@ -0,0 +1,36 @@
+package com.morphology.dto.response;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+/**
+ * Déroulement d'une décomposition : stratégie, candidats examinés et
+ * écartés, transformations, caches et temps par étape.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DecompositionExplainResponse {
+    private DecompositionResponse result;
+    // "index" ou "scan"
+    private String strategy;
+    // "disabled", "fresh", "rebuilt" ou "rebuilding" (reconstruction en cours ailleurs)
+    private String indexStatus;
+    private Long indexBuildMs;
+    private Integer indexForms;
+    private int rootsTotal;
+    private int rootsAnalysed;
+    private int schemesTotal;
+    private int candidates;
+    // Filtre → nombre de racines (ou de couples racine × schème) écartés
+    private Map<String, Integer> pruned;
+    private int transformations;
+    private int transformationsSkipped;
+    private int comparisons;
+    private Map<String, Integer> cache;
+    // Étape → millisecondes
+    private Map<String, Double> stages;
+    private double durationMs;
+}
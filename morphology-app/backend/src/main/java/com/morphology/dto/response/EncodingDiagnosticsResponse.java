@@ -0,0 +1,37 @@
+package com.morphology.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Analyse d'encodage d'une chaîne reçue (octets UTF-8, points de code,
+ * caractères suspects), produite uniquement sur demande.
+ */
+@Data
+public class EncodingDiagnosticsResponse {
+    private String text;
+    private int length;
+    private int codePoints;
+    private String utf8Hex;
+    private int utf8Bytes;
+    private boolean arabic;
+    private boolean roundTripUtf8;
+    private boolean nfc;
+    private int harakat;
+    // Formes de présentation (U+FB50–U+FEFF), tatweel, caractères de contrôle...
+    private List<String> warnings = new ArrayList<>();
+    private List<CharacterInfo> characters = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CharacterInfo {
+        private String value;
+        private String codePoint;
+        private String name;
+    }
+}
@@ -0,0 +1,48 @@
+package com.morphology.dto.response;
+
+import java.time.Instant;
+
+import com.morphology.model.ImportJob;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+    private String id;
+    private String type;
+    private String fileName;
+    private String status;
+    private double progress;
+    private long bytesRead;
+    private long totalBytes;
+    private long linesRead;
+    private double linesPerSecond;
+    private int accepted;
+    private int rejected;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public static ImportJobResponse from(ImportJob job) {
+        return new ImportJobResponse(
+            job.getId(),
+            job.getType().name(),
+            job.getNomFichier(),
+            job.getStatut().name(),
+            job.getProgression(),
+            job.getOctetsLus(),
+            job.getTailleOctets(),
+            job.getLignesLues(),
+            job.getLignesParSeconde(),
+            job.getAjoutes(),
+            job.getNombreRejets(),
+            job.getDebut(),
+            job.getFin(),
+            job.getErreur()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.morphology.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LexiconResponse {
+    private String path;
+    private boolean readOnly;
+    private int roots;
+    private int derivatives;
+    private long sizeBytes;
+    private int skipped;
+    private long durationMs;
+}
@@ -0,0 +1,51 @@
+package com.morphology.dto.response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Empreinte mémoire estimée des structures du lexique
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MemoryFootprintResponse {
+    private boolean compressedOops;
+    private int objectAlignment;
+    private long heapUsedBytes;
+    private long heapMaxBytes;
+    // Structure → objets et octets retenus
+    private Map<String, Structure> structures = new LinkedHashMap<>();
+    private long totalBytes;
+    // Lexique compilé projeté en mémoire, hors tas
+    private Long offHeapBytes;
+    private int roots;
+    private double avgDerivativesPerRoot;
+    private double avgBytesPerRoot;
+    private double avgDerivativeBytesPerRoot;
+    private List<RootFootprint> topRoots = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Structure {
+        private long objects;
+        private long bytes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RootFootprint {
+        private String root;
+        private int derivatives;
+        private long derivativeBytes;
+    }
+}
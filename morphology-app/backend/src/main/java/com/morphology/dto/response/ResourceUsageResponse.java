@@ -0,0 +1,25 @@
+package com.morphology.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Allocation et temps CPU par requête d'un endpoint
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceUsageResponse {
+    private String endpoint;
+    private long count;
+    private double allocatedMeanBytes;
+    private double allocatedP50Bytes;
+    private double allocatedP99Bytes;
+    private double allocatedMaxBytes;
+    private double allocatedTotalBytes;
+    private double cpuMeanMs;
+    private double cpuP50Ms;
+    private double cpuP99Ms;
+    private double cpuMaxMs;
+}
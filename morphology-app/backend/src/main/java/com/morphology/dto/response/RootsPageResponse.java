@@ -14,4 +14,8 @@ public class RootsPageResponse {
     private int currentPage;
     private int totalPages;
     private long totalElements;
-}
\ No newline at end of file
+    // Curseur opaque de la page suivante (null sur la dernière page)
+    private String nextCursor;
+    // Version du lexique au moment de la lecture
+    private long version;
+}
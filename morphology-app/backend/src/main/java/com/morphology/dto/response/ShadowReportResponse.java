@@ -0,0 +1,43 @@
+package com.morphology.dto.response;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+/**
+ * Bilan de l'exécution fantôme : comparaisons entre le chemin optimisé
+ * (index ou parcours élagué) et le parcours de référence, et divergences
+ * les plus récentes avec leur entrée.
+ */
+@Data
+public class ShadowReportResponse {
+    private double sampleRate;
+    private long sampled;
+    private long matched;
+    private long mismatched;
+    // Lexique modifié entre la requête et le parcours de référence
+    private long skipped;
+    // File d'attente pleine : échantillon abandonné
+    private long dropped;
+    // Parcours de référence en erreur
+    private long failed;
+    private List<Mismatch> mismatches = new ArrayList<>();
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Mismatch {
+        private long id;
+        private String operation;
+        private String word;
+        // Stratégie du chemin optimisé : index ou scan (parcours élagué)
+        private String strategy;
+        private Instant detectedAt;
+        private List<DecompositionResponse> optimized;
+        private List<DecompositionResponse> reference;
+        private Double referenceMs;
+    }
+}
@@ -0,0 +1,20 @@
+package com.morphology.dto.response;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotResponse {
+    private String path;
+    private long sizeBytes;
+    private int roots;
+    private long derivatives;
+    private int schemes;
+    private long durationMs;
+    private Instant date;
+}
@@ -1,5 +1,7 @@
 package com.morphology.dto.response;
 
+import java.util.Map;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,4 +16,19 @@ public class StatisticsResponse {
     private int totalGenerated;
     private double avgDerivatives;
     private int totalFrequency;
-}
\ No newline at end of file
+
+    // Répartition des racines
+    private Map<String, Long> rootsByType;
+    private long hamzaRoots;
+
+    // Usage des schèmes depuis le démarrage : dérivés distincts et occurrences
+    private Map<String, Long> derivativesByScheme;
+    private Map<String, Long> frequencyByScheme;
+
+    // Santé des structures
+    private int avlHeight;
+    private int avlOptimalHeight;
+    private double hashLoadFactor;
+    private int hashCollisions;
+    private int hashMaxChain;
+}
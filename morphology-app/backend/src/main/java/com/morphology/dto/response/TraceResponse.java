@@ -0,0 +1,49 @@
+package com.morphology.dto.response;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Trace d'une requête : chaque transformation appliquée et les règles
+ * qui se sont déclenchées, dans l'ordre.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TraceResponse {
+    private long id;
+    private String method;
+    private String uri;
+    // true = demandée par le client, false = échantillonnée
+    private boolean requested;
+    private Instant startedAt;
+    private Double durationMs;
+    private List<Transformation> transformations = new ArrayList<>();
+    // Transformations non conservées au-delà de la limite par requête
+    private int dropped;
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Transformation {
+        private String input;
+        private String rootType;
+        private String scheme;
+        private List<Rule> rules = new ArrayList<>();
+        private String output;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private String rule;
+        private String before;
+        private String after;
+    }
+}
@@ -44,14 +44,37 @@ public class GlobalExceptionHandler {
             .body(ApiResponse.error(ex.getMessage()));
     }
     
+    @ExceptionHandler(LexiqueLectureSeuleException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLexiqueLectureSeuleException(
+            LexiqueLectureSeuleException ex) {
+        
+        log.warn("Opération refusée: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(ApiResponse.error(ex.getMessage()));
+    }
+    
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleResourceNotFoundException(
+            ResourceNotFoundException ex) {
+        
+        log.warn("Ressource introuvable: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error(ex.getMessage()));
+    }
+    
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<ApiResponse<Void>> handleMaxUploadSizeExceededException(
             MaxUploadSizeExceededException ex) {
         
         log.error("Fichier trop volumineux", ex);
         
+        String max = ex.getMaxUploadSize() > 0
+            ? (ex.getMaxUploadSize() / (1024 * 1024)) + "MB"
+            : "voir spring.servlet.multipart.max-file-size";
         return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
-            .body(ApiResponse.error("Le fichier est trop volumineux. Taille maximale: 10MB"));
+            .body(ApiResponse.error("Le fichier est trop volumineux. Taille maximale: " + max));
     }
     
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,11 @@
+package com.morphology.exception;
+
+/**
+ * Modification refusée : les racines sont servies par le lexique compilé
+ * (morphology.lexicon.read-only=true)
+ */
+public class LexiqueLectureSeuleException extends RuntimeException {
+    public LexiqueLectureSeuleException(String message) {
+        super(message);
+    }
+}
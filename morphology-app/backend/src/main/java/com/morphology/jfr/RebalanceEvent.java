@@ -0,0 +1,32 @@
+package com.morphology.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Une modification de l'arbre des racines sous verrou d'écriture,
+ * avec le nombre de rotations AVL qu'elle a provoquées.
+ */
+@Name("com.morphology.Rebalance")
+@Label("Rééquilibrage AVL")
+@Category({ "Morphology", "Lexique" })
+@Description("Rotations de l'arbre des racines pendant une modification")
+@StackTrace(false)
+public class RebalanceEvent extends Event {
+
+    @Label("Opération")
+    public String operation;
+
+    @Label("Racines modifiées")
+    public int roots;
+
+    @Label("Rotations")
+    public long rotations;
+
+    @Label("Taille de l'arbre")
+    public int treeSize;
+}
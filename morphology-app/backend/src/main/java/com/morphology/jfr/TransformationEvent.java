@@ -0,0 +1,31 @@
+package com.morphology.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Une application de TransformationService.appliquerTransformations.
+ * Désactivé par défaut : une décomposition en produit des milliers.
+ */
+@Name("com.morphology.Transformation")
+@Label("Transformation morphologique")
+@Category({ "Morphology", "Transformation" })
+@Description("Règles morphologiques appliquées à un mot brut")
+@Enabled(false)
+@StackTrace(false)
+public class TransformationEvent extends Event {
+
+    @Label("Type de racine")
+    public String rootType;
+
+    @Label("Schème")
+    public String schemeId;
+
+    @Label("Mot modifié")
+    public boolean changed;
+}
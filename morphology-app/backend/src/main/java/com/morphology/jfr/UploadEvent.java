@@ -0,0 +1,39 @@
+package com.morphology.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Un envoi de fichier de lexique (upload synchrone ou tâche d'import)
+ */
+@Name("com.morphology.Upload")
+@Label("Import de lexique")
+@Category({ "Morphology", "Lexique" })
+@Description("Envoi ou import asynchrone d'un fichier de racines ou de schèmes")
+@StackTrace(false)
+public class UploadEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Fichier")
+    public String fileName;
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Taille")
+    @DataAmount
+    public long bytes;
+
+    @Label("Ajoutés")
+    public int added;
+
+    @Label("Rejetés")
+    public int rejected;
+}
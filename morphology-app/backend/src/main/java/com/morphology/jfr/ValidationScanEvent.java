@@ -0,0 +1,41 @@
+package com.morphology.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Un parcours de ValidationService (validation, décomposition, recherche
+ * de toutes les racines) : couples racine × schème examinés et retenus.
+ */
+@Name("com.morphology.ValidationScan")
+@Label("Parcours de validation")
+@Category({ "Morphology", "Validation" })
+@Description("Candidats racine × schème examinés pour un mot")
+@StackTrace(false)
+public class ValidationScanEvent extends Event {
+
+    @Label("Opération")
+    public String operation;
+
+    @Label("Candidats examinés")
+    public int candidates;
+
+    @Label("Correspondances")
+    public int matches;
+
+    public ValidationScanEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void candidat() {
+        candidates++;
+    }
+
+    public void correspondance() {
+        matches++;
+    }
+}
@@ -2,11 +2,15 @@ package com.morphology.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Arbre AVL pour stocker les racines arabes de manière équilibrée
  */
 public class ArbreAVL {
+    // Rotations effectuées depuis le démarrage, tous arbres confondus
+    private static final LongAdder ROTATIONS = new LongAdder();
+
     private NoeudAVL noeud;
     private ArbreAVL gauche;
     private ArbreAVL droit;
@@ -48,6 +52,10 @@ public class ArbreAVL {
         this.droit = droit;
     }
 
+    public static long getNombreRotations() {
+        return ROTATIONS.sum();
+    }
+
     /**
      * Vérifier si l'arbre est vide
      */
@@ -104,6 +112,7 @@ public class ArbreAVL {
      */
     private void rotationDroite() {
         if (!estVide() && gauche != null && !gauche.estVide()) {
+            ROTATIONS.increment();
             NoeudAVL oldNoeud = this.noeud;
             ArbreAVL oldDroit = this.droit;
 
@@ -128,6 +137,7 @@ public class ArbreAVL {
      */
     private void rotationGauche() {
         if (!estVide() && droit != null && !droit.estVide()) {
+            ROTATIONS.increment();
             NoeudAVL oldNoeud = this.noeud;
             ArbreAVL oldGauche = this.gauche;
 
@@ -266,11 +276,11 @@ public class ArbreAVL {
                 this.droit = gauche.droit;
                 this.gauche = gauche.gauche;
             } else {
-                // Deux fils : remplacer par le minimum du sous-arbre droit
+                // Deux fils : remplacer par le minimum du sous-arbre droit.
+                // Le noeud est déplacé tel quel (type, hamza, dérivés compris)
+                // plutôt que recopié champ par champ.
                 NoeudAVL min = droit.trouverMin();
-                this.noeud.setRacine(min.getRacine());
-                this.noeud.setListeDerives(min.getListeDerives());
-                this.noeud.setFrequenceRacine(min.getFrequenceRacine());
+                this.noeud = min;
                 droit.supprimer(min.getRacine());
             }
 
@@ -280,6 +290,30 @@ public class ArbreAVL {
         }
     }
 
+    /**
+     * Reconstruire l'arbre à partir de noeuds déjà triés et sans doublons.
+     * Construction ascendante parfaitement équilibrée en O(n), sans rotation.
+     */
+    public void construireDepuisTriee(List<NoeudAVL> noeuds) {
+        ArbreAVL construit = construire(noeuds, 0, noeuds.size());
+        this.noeud = construit.noeud;
+        this.gauche = construit.gauche;
+        this.droit = construit.droit;
+    }
+
+    private static ArbreAVL construire(List<NoeudAVL> noeuds, int debut, int fin) {
+        if (debut >= fin) {
+            return new ArbreAVL();
+        }
+        int milieu = (debut + fin) >>> 1;
+        ArbreAVL arbre = new ArbreAVL();
+        arbre.noeud = noeuds.get(milieu);
+        arbre.gauche = construire(noeuds, debut, milieu);
+        arbre.droit = construire(noeuds, milieu + 1, fin);
+        arbre.updateHauteur();
+        return arbre;
+    }
+
     /**
      * Trouver le minimum dans le sous-arbre
      */
@@ -314,6 +348,43 @@ public class ArbreAVL {
         return liste;
     }
 
+    /**
+     * Parcours infixe borné : racines strictement supérieures à {@code apres}
+     * (ou depuis le début si null) commençant par {@code prefixe}, jusqu'à
+     * {@code limite} éléments. Les sous-arbres hors bornes ne sont pas visités,
+     * d'où un coût en O(log n + limite).
+     */
+    public void parcourirApres(String apres, String prefixe, int limite, List<String> liste) {
+        if (estVide() || liste.size() >= limite) {
+            return;
+        }
+
+        String racine = noeud.getRacine();
+        boolean apresCurseur = apres == null || racine.compareTo(apres) > 0;
+        boolean apresPrefixe = racine.compareTo(prefixe) >= 0;
+
+        // Le sous-arbre gauche ne contient que des clés plus petites
+        if (apresCurseur && apresPrefixe && gauche != null) {
+            gauche.parcourirApres(apres, prefixe, limite, liste);
+        }
+        if (liste.size() >= limite) {
+            return;
+        }
+
+        if (racine.startsWith(prefixe)) {
+            if (apresCurseur) {
+                liste.add(racine);
+            }
+        } else if (apresPrefixe) {
+            // Au-delà de la plage du préfixe : le sous-arbre droit aussi
+            return;
+        }
+
+        if (droit != null) {
+            droit.parcourirApres(apres, prefixe, limite, liste);
+        }
+    }
+
     /**
      * Obtenir tous les noeuds
      */
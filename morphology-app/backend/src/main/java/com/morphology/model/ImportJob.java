@@ -0,0 +1,119 @@
+package com.morphology.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import asynchrone d'un fichier : état, progression et lignes refusées.
+ * Écrit par le worker (un thread par fichier d'une archive), lu par les
+ * requêtes de suivi.
+ */
+public class ImportJob {
+
+    public enum Type { RACINES, SCHEMES }
+
+    public enum Statut { EN_ATTENTE, EN_COURS, TERMINE, ECHEC }
+
+    private final String id;
+    private final Type type;
+    private final String nomFichier;
+    private final long tailleOctets;
+    private final Instant creation = Instant.now();
+
+    private volatile Statut statut = Statut.EN_ATTENTE;
+    private volatile Instant debut;
+    private volatile Instant fin;
+    private volatile long octetsLus;
+    private volatile long lignesLues;
+    private volatile int ajoutes;
+    private volatile String erreur;
+    private final List<RejetLigne> rejets = new ArrayList<>();
+
+    public ImportJob(String id, Type type, String nomFichier, long tailleOctets) {
+        this.id = id;
+        this.type = type;
+        this.nomFichier = nomFichier;
+        this.tailleOctets = tailleOctets;
+    }
+
+    public void demarrer() {
+        this.debut = Instant.now();
+        this.statut = Statut.EN_COURS;
+    }
+
+    /**
+     * Cumuler le bilan d'un lot. Les fichiers d'une archive pouvant être
+     * traités en parallèle, les compteurs sont additionnés sous verrou.
+     * {@code octetsLus} est le total lu pour tout le fichier : les relevés
+     * pouvant arriver dans le désordre, on garde le plus grand.
+     */
+    public synchronized void enregistrerLot(RapportImport rapport, String source,
+                                            long lignes, long octetsLus) {
+        RapportImport bilan = new RapportImport();
+        bilan.fusionner(rapport, source);
+        synchronized (rejets) {
+            rejets.addAll(bilan.getRejets());
+        }
+        this.ajoutes += rapport.getAjoutes();
+        this.lignesLues += lignes;
+        this.octetsLus = Math.max(this.octetsLus, octetsLus);
+    }
+
+    public void terminer() {
+        this.octetsLus = tailleOctets;
+        this.fin = Instant.now();
+        this.statut = Statut.TERMINE;
+    }
+
+    public void echouer(String erreur) {
+        this.erreur = erreur;
+        this.fin = Instant.now();
+        this.statut = Statut.ECHEC;
+    }
+
+    public boolean estTermine() {
+        return statut == Statut.TERMINE || statut == Statut.ECHEC;
+    }
+
+    /**
+     * Progression entre 0 et 1, d'après les octets lus
+     */
+    public double getProgression() {
+        if (statut == Statut.TERMINE) return 1.0;
+        if (tailleOctets <= 0) return 0.0;
+        return Math.min(1.0, (double) octetsLus / tailleOctets);
+    }
+
+    public double getLignesParSeconde() {
+        if (debut == null) return 0.0;
+        Instant borne = fin != null ? fin : Instant.now();
+        long ms = Math.max(1, borne.toEpochMilli() - debut.toEpochMilli());
+        return lignesLues * 1000.0 / ms;
+    }
+
+    public List<RejetLigne> getRejets() {
+        synchronized (rejets) {
+            return new ArrayList<>(rejets);
+        }
+    }
+
+    public int getNombreRejets() {
+        synchronized (rejets) {
+            return rejets.size();
+        }
+    }
+
+    public String getId()            { return id; }
+    public Type getType()            { return type; }
+    public String getNomFichier()    { return nomFichier; }
+    public long getTailleOctets()    { return tailleOctets; }
+    public Instant getCreation()     { return creation; }
+    public Statut getStatut()        { return statut; }
+    public Instant getDebut()        { return debut; }
+    public Instant getFin()          { return fin; }
+    public long getOctetsLus()       { return octetsLus; }
+    public long getLignesLues()      { return lignesLues; }
+    public int getAjoutes()          { return ajoutes; }
+    public String getErreur()        { return erreur; }
+}
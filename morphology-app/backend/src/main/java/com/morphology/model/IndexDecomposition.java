@@ -0,0 +1,83 @@
+package com.morphology.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Index inverse des formes générées : mot normalisé (sans harakat) →
+ * couples racine × schème qui le produisent, dans l'ordre du parcours
+ * (racines triées, puis schèmes) pour donner le même premier résultat.
+ *
+ * Immuable une fois construit ; il porte les versions des racines et des
+ * schèmes dont il est issu et doit être reconstruit dès que l'une change.
+ */
+public final class IndexDecomposition {
+
+    public record Entree(String racine, String scheme, String mot) {}
+
+    private final Map<String, List<Entree>> formes;
+    private final long versionRacines;
+    private final long versionSchemes;
+    private final int nombreEntrees;
+    private final long dureeConstructionMs;
+
+    private IndexDecomposition(Map<String, List<Entree>> formes, long versionRacines, long versionSchemes,
+                               int nombreEntrees, long dureeConstructionMs) {
+        this.formes = formes;
+        this.versionRacines = versionRacines;
+        this.versionSchemes = versionSchemes;
+        this.nombreEntrees = nombreEntrees;
+        this.dureeConstructionMs = dureeConstructionMs;
+    }
+
+    public List<Entree> rechercher(String motNormalise) {
+        return formes.getOrDefault(motNormalise, Collections.emptyList());
+    }
+
+    public boolean estAJour(long versionRacines, long versionSchemes) {
+        return this.versionRacines == versionRacines && this.versionSchemes == versionSchemes;
+    }
+
+    public void parcourir(BiConsumer<String, List<Entree>> visiteur) {
+        formes.forEach(visiteur);
+    }
+
+    public int getNombreFormes()          { return formes.size(); }
+    public int getNombreEntrees()         { return nombreEntrees; }
+    public long getDureeConstructionMs()  { return dureeConstructionMs; }
+
+    // ================================================================
+    // Construction
+    // ================================================================
+
+    public static Constructeur constructeur(long versionRacines, long versionSchemes) {
+        return new Constructeur(versionRacines, versionSchemes);
+    }
+
+    public static final class Constructeur {
+        private final Map<String, List<Entree>> formes = new HashMap<>();
+        private final long versionRacines;
+        private final long versionSchemes;
+        private final long debut = System.nanoTime();
+        private int nombreEntrees;
+
+        private Constructeur(long versionRacines, long versionSchemes) {
+            this.versionRacines = versionRacines;
+            this.versionSchemes = versionSchemes;
+        }
+
+        public void ajouter(String motNormalise, String racine, String scheme, String mot) {
+            formes.computeIfAbsent(motNormalise, k -> new ArrayList<>(1)).add(new Entree(racine, scheme, mot));
+            nombreEntrees++;
+        }
+
+        public IndexDecomposition construire() {
+            long dureeMs = (System.nanoTime() - debut) / 1_000_000;
+            return new IndexDecomposition(formes, versionRacines, versionSchemes, nombreEntrees, dureeMs);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.morphology.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.morphology.util.BinaryUtils;
+
+/**
+ * Lexique compilé en lecture seule, consulté directement dans un fichier
+ * projeté en mémoire : aucune racine n'est désérialisée sur le tas, et
+ * plusieurs processus d'une même machine partagent les mêmes pages.
+ *
+ * Disposition (entiers sur 4 octets, sections alignées sur 4) :
+ * <pre>
+ *   en-tête   : "MLEX", format, 3 octets de bourrage, N racines, D dérivés, taille des mots
+ *   clés      : N × 3 octets, triées (caractère − U+0600)
+ *   drapeaux  : N × 1 octet (type+1 sur 4 bits, 0x10 hamza)
+ *   fréquence : N × int
+ *   index     : (N + 1) × int — premier dérivé de chaque racine
+ *   dérivés   : D × (début du mot, longueur du mot, fréquence)
+ *   mots      : UTF-8 concaténés
+ * </pre>
+ * Les lectures utilisent uniquement des accès absolus au tampon : une
+ * instance peut être partagée entre threads sans synchronisation.
+ */
+public final class LexiqueCompile implements VueRacines {
+
+    private static final int  MAGIC  = 0x4D4C4558; // "MLEX"
+    private static final byte FORMAT = 1;
+    private static final int  ENTETE = 20;
+
+    private static final int TYPE_MASQUE = 0x0F;
+    private static final int HAMZA       = 0x10;
+
+    private final Path fichier;
+    private final MappedByteBuffer tampon;
+    private final int nombreRacines;
+    private final int nombreDerives;
+
+    private final int debutCles;
+    private final int debutDrapeaux;
+    private final int debutFrequences;
+    private final int debutIndex;
+    private final int debutDerives;
+    private final int debutMots;
+
+    private LexiqueCompile(Path fichier, MappedByteBuffer tampon) throws IOException {
+        this.fichier = fichier;
+        this.tampon = tampon;
+        if (tampon.capacity() < ENTETE || tampon.getInt(0) != MAGIC || tampon.get(4) != FORMAT) {
+            throw new IOException("Format de lexique compilé inconnu : " + fichier);
+        }
+        this.nombreRacines = tampon.getInt(8);
+        this.nombreDerives = tampon.getInt(12);
+        int tailleMots = tampon.getInt(16);
+
+        this.debutCles       = ENTETE;
+        this.debutDrapeaux   = debutCles + 3 * nombreRacines;
+        this.debutFrequences = aligner(debutDrapeaux + nombreRacines);
+        this.debutIndex      = debutFrequences + 4 * nombreRacines;
+        this.debutDerives    = debutIndex + 4 * (nombreRacines + 1);
+        this.debutMots       = debutDerives + 12 * nombreDerives;
+
+        if ((long) debutMots + tailleMots != tampon.capacity()) {
+            throw new IOException("Lexique compilé tronqué : " + fichier);
+        }
+    }
+
+    /**
+     * Projeter un lexique compilé en mémoire (lecture seule)
+     */
+    public static LexiqueCompile ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            // La projection reste valide après fermeture du canal
+            return new LexiqueCompile(fichier, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Compiler des noeuds triés. Les racines non compactables (hors bloc
+     * arabe ou pas exactement 3 caractères) sont ignorées ; retourne leur nombre.
+     */
+    public static int compiler(List<NoeudAVL> noeudsTries, Path fichier) throws IOException {
+        List<NoeudAVL> noeuds = new ArrayList<>(noeudsTries.size());
+        List<List<MotDerive>> derives = new ArrayList<>(noeudsTries.size());
+        int nombreDerives = 0;
+        for (NoeudAVL noeud : noeudsTries) {
+            if (!BinaryUtils.estCompactable(noeud.getRacine())) continue;
+            noeuds.add(noeud);
+            // La liste des dérivés est modifiée sous le verrou du noeud
+            synchronized (noeud) {
+                List<MotDerive> copie = new ArrayList<>(noeud.getListeDerives());
+                derives.add(copie);
+                nombreDerives += copie.size();
+            }
+        }
+
+        List<byte[]> mots = new ArrayList<>(nombreDerives);
+        int tailleMots = 0;
+        for (List<MotDerive> liste : derives) {
+            for (MotDerive d : liste) {
+                byte[] octets = d.getMot().getBytes(StandardCharsets.UTF_8);
+                mots.add(octets);
+                tailleMots += octets.length;
+            }
+        }
+
+        if (fichier.getParent() != null) {
+            Files.createDirectories(fichier.getParent());
+        }
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        int n = noeuds.size();
+
+        try (FileOutputStream fos = new FileOutputStream(temporaire.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 64 * 1024))) {
+
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT);
+            out.write(new byte[3]);
+            out.writeInt(n);
+            out.writeInt(nombreDerives);
+            out.writeInt(tailleMots);
+
+            for (NoeudAVL noeud : noeuds) {
+                BinaryUtils.ecrireCleCompacte(out, noeud.getRacine());
+            }
+            for (NoeudAVL noeud : noeuds) {
+                int drapeaux = noeud.getTypeMorphologique() == null ? 0 : noeud.getTypeMorphologique().ordinal() + 1;
+                if (noeud.isContientHamza()) drapeaux |= HAMZA;
+                out.writeByte(drapeaux);
+            }
+            int position = ENTETE + 4 * n;
+            out.write(new byte[aligner(position) - position]);
+
+            for (NoeudAVL noeud : noeuds) {
+                out.writeInt(noeud.getFrequenceRacine());
+            }
+            int premier = 0;
+            for (List<MotDerive> liste : derives) {
+                out.writeInt(premier);
+                premier += liste.size();
+            }
+            out.writeInt(premier);
+
+            int debutMot = 0;
+            int k = 0;
+            for (List<MotDerive> liste : derives) {
+                for (MotDerive d : liste) {
+                    int longueur = mots.get(k++).length;
+                    out.writeInt(debutMot);
+                    out.writeInt(longueur);
+                    out.writeInt(d.getFrequence());
+                    debutMot += longueur;
+                }
+            }
+            for (byte[] octets : mots) {
+                out.write(octets);
+            }
+            out.flush();
+            fos.getChannel().force(true);
+        }
+
+        Files.move(temporaire, fichier,
+            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return noeudsTries.size() - n;
+    }
+
+    // ================================================================
+    // Recherche
+    // ================================================================
+
+    public Path getFichier()          { return fichier; }
+    public int getNombreRacines()     { return nombreRacines; }
+    public int getNombreDerives()     { return nombreDerives; }
+    public long getTailleOctets()     { return tampon.capacity(); }
+
+    /**
+     * Indice de la racine, ou -1 (recherche dichotomique sur les clés)
+     */
+    public int indice(String racine) {
+        if (racine == null || !BinaryUtils.estCompactable(racine)) return -1;
+        int i = borneInferieure(racine);
+        return i < nombreRacines && comparer(i, racine) == 0 ? i : -1;
+    }
+
+    public boolean contient(String racine) {
+        return indice(racine) >= 0;
+    }
+
+    /**
+     * Première position dont la clé est supérieure ou égale à {@code cle}
+     */
+    public int borneInferieure(String cle) {
+        int bas = 0;
+        int haut = nombreRacines;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (comparer(milieu, cle) < 0) bas = milieu + 1;
+            else haut = milieu;
+        }
+        return bas;
+    }
+
+    /**
+     * Comparer la clé n° i à une chaîne, sans décoder la clé
+     * (même ordre que String.compareTo)
+     */
+    private int comparer(int i, String cle) {
+        int base = debutCles + 3 * i;
+        int n = Math.min(3, cle.length());
+        for (int k = 0; k < n; k++) {
+            int diff = (0x0600 + (tampon.get(base + k) & 0xFF)) - cle.charAt(k);
+            if (diff != 0) return diff;
+        }
+        return 3 - cle.length();
+    }
+
+    @Override
+    public int taille() {
+        return nombreRacines;
+    }
+
+    @Override
+    public String racine(int i) {
+        int base = debutCles + 3 * i;
+        char[] lettres = new char[3];
+        for (int k = 0; k < 3; k++) {
+            lettres[k] = (char) (0x0600 + (tampon.get(base + k) & 0xFF));
+        }
+        return new String(lettres);
+    }
+
+    @Override
+    public RootType type(int i) {
+        int type = tampon.get(debutDrapeaux + i) & TYPE_MASQUE;
+        return type == 0 ? null : RootType.values()[type - 1];
+    }
+
+    @Override
+    public boolean contientHamza(int i) {
+        return (tampon.get(debutDrapeaux + i) & HAMZA) != 0;
+    }
+
+    public int frequence(int i) {
+        return tampon.getInt(debutFrequences + 4 * i);
+    }
+
+    /**
+     * Somme des fréquences de tous les dérivés (parcours de la section)
+     */
+    public long frequenceTotaleDerives() {
+        long total = 0;
+        for (int j = 0; j < nombreDerives; j++) {
+            total += tampon.getInt(debutDerives + 12 * j + 8);
+        }
+        return total;
+    }
+
+    public List<MotDerive> derives(int i) {
+        int premier = tampon.getInt(debutIndex + 4 * i);
+        int dernier = tampon.getInt(debutIndex + 4 * (i + 1));
+        List<MotDerive> liste = new ArrayList<>(dernier - premier);
+        for (int j = premier; j < dernier; j++) {
+            int base = debutDerives + 12 * j;
+            byte[] octets = new byte[tampon.getInt(base + 4)];
+            tampon.get(debutMots + tampon.getInt(base), octets);
+            liste.add(new MotDerive(new String(octets, StandardCharsets.UTF_8), tampon.getInt(base + 8)));
+        }
+        return liste;
+    }
+
+    /**
+     * Dérivé {@code mot} de la racine n° i : les mots de la racine sont
+     * comparés octet par octet, seul le mot trouvé est décodé
+     */
+    @Override
+    public MotDerive derive(int i, String mot) {
+        byte[] cherche = mot.getBytes(StandardCharsets.UTF_8);
+        int premier = tampon.getInt(debutIndex + 4 * i);
+        int dernier = tampon.getInt(debutIndex + 4 * (i + 1));
+        for (int j = premier; j < dernier; j++) {
+            int base = debutDerives + 12 * j;
+            if (tampon.getInt(base + 4) != cherche.length) continue;
+            int debut = debutMots + tampon.getInt(base);
+            int k = 0;
+            while (k < cherche.length && tampon.get(debut + k) == cherche[k]) k++;
+            if (k == cherche.length) return new MotDerive(mot, tampon.getInt(base + 8));
+        }
+        return null;
+    }
+
+    /**
+     * Vue temporaire d'une racine, construite à la demande (non conservée)
+     */
+    public NoeudAVL noeud(int i) {
+        NoeudAVL noeud = new NoeudAVL(racine(i));
+        noeud.setTypeMorphologique(type(i));
+        noeud.setContientHamza(contientHamza(i));
+        noeud.setFrequenceRacine(frequence(i));
+        noeud.setListeDerives(derives(i));
+        return noeud;
+    }
+
+    /**
+     * Racines strictement supérieures à {@code apres} (ou depuis le début)
+     * commençant par {@code prefixe}, jusqu'à {@code limite} éléments
+     */
+    public void parcourirApres(String apres, String prefixe, int limite, List<String> liste) {
+        int i = borneInferieure(prefixe);
+        if (apres != null) {
+            int j = borneInferieure(apres);
+            if (j < nombreRacines && comparer(j, apres) == 0) j++;
+            i = Math.max(i, j);
+        }
+        for (; i < nombreRacines && liste.size() < limite; i++) {
+            String racine = racine(i);
+            if (!racine.startsWith(prefixe)) break;
+            liste.add(racine);
+        }
+    }
+
+    private static int aligner(int position) {
+        return (position + 3) & ~3;
+    }
+}
@@ -0,0 +1,41 @@
+package com.morphology.model;
+
+/**
+ * Modification du lexique consignée dans le journal des mutations
+ */
+public record Mutation(Type type, String cle, String valeur, int delta) {
+
+    public enum Type {
+        RACINE_AJOUTEE,
+        RACINE_SUPPRIMEE,
+        SCHEME_AJOUTE,
+        SCHEME_MODIFIE,
+        SCHEME_SUPPRIME,
+        // Occurrences cumulées d'un dérivé depuis la dernière écriture
+        DERIVE
+    }
+
+    public static Mutation racineAjoutee(String racine) {
+        return new Mutation(Type.RACINE_AJOUTEE, racine, null, 0);
+    }
+
+    public static Mutation racineSupprimee(String racine) {
+        return new Mutation(Type.RACINE_SUPPRIMEE, racine, null, 0);
+    }
+
+    public static Mutation schemeAjoute(String nom, String regle) {
+        return new Mutation(Type.SCHEME_AJOUTE, nom, regle, 0);
+    }
+
+    public static Mutation schemeModifie(String nom, String regle) {
+        return new Mutation(Type.SCHEME_MODIFIE, nom, regle, 0);
+    }
+
+    public static Mutation schemeSupprime(String nom) {
+        return new Mutation(Type.SCHEME_SUPPRIME, nom, null, 0);
+    }
+
+    public static Mutation derive(String racine, String mot, int occurrences) {
+        return new Mutation(Type.DERIVE, racine, mot, occurrences);
+    }
+}
@@ -42,11 +42,20 @@ public class NoeudAVL {
     public void incrementerFrequenceRacine()         { this.frequenceRacine++; }
 
     // --- Gestion des dérivés ---
-    public void ajouterDerive(String mot) {
+    // Retourne true si le dérivé est nouveau pour cette racine
+    public boolean ajouterDerive(String mot) {
         for (MotDerive d : listeDerives) {
-            if (d.getMot().equals(mot)) { d.incrementerFrequence(); return; }
+            if (d.getMot().equals(mot)) { d.incrementerFrequence(); return false; }
         }
         listeDerives.add(new MotDerive(mot));
+        return true;
+    }
+
+    public boolean ajouterDerive(String mot, int occurrences) {
+        MotDerive d = rechercherDerive(mot);
+        if (d != null) { d.setFrequence(d.getFrequence() + occurrences); return false; }
+        listeDerives.add(new MotDerive(mot, occurrences));
+        return true;
     }
 
     public MotDerive rechercherDerive(String mot) {
@@ -0,0 +1,69 @@
+package com.morphology.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'un chargement : nombre d'éléments ajoutés et lignes refusées
+ */
+public class RapportImport {
+    private int ajoutes;
+    // Versions du lexique publiées par ce chargement (une par lot ayant ajouté)
+    private int versions;
+    private final List<RejetLigne> rejets = new ArrayList<>();
+
+    public int getAjoutes() {
+        return ajoutes;
+    }
+
+    public void incrementerAjoutes() {
+        ajoutes++;
+    }
+
+    public int getVersions() {
+        return versions;
+    }
+
+    public void incrementerVersions() {
+        versions++;
+    }
+
+    public List<RejetLigne> getRejets() {
+        return rejets;
+    }
+
+    public int getNombreRejets() {
+        return rejets.size();
+    }
+
+    public void rejeter(int numeroLigne, String contenu, String motif) {
+        rejets.add(new RejetLigne(numeroLigne, contenu, motif));
+    }
+
+    /**
+     * Cumuler le bilan d'un autre lot
+     */
+    public void fusionner(RapportImport autre) {
+        fusionner(autre, null);
+    }
+
+    /**
+     * Cumuler le bilan d'un lot issu du fichier {@code source} d'une archive
+     */
+    public void fusionner(RapportImport autre, String source) {
+        this.ajoutes += autre.ajoutes;
+        this.versions += autre.versions;
+        if (source == null) {
+            this.rejets.addAll(autre.rejets);
+            return;
+        }
+        for (RejetLigne r : autre.rejets) {
+            rejets.add(new RejetLigne(source, r.getNumeroLigne(), r.getContenu(), r.getMotif()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RapportImport[ajoutés=" + ajoutes + ", rejetés=" + rejets.size() + "]";
+    }
+}
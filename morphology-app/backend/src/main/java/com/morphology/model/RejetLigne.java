@@ -0,0 +1,32 @@
+package com.morphology.model;
+
+import lombok.Getter;
+
+/**
+ * Ligne refusée lors d'un chargement de fichier, avec le motif du refus
+ */
+@Getter
+public class RejetLigne {
+    // Fichier d'origine dans une archive (null pour un fichier unique)
+    private final String fichier;
+    private final int numeroLigne;
+    private final String contenu;
+    private final String motif;
+
+    public RejetLigne(int numeroLigne, String contenu, String motif) {
+        this(null, numeroLigne, contenu, motif);
+    }
+
+    public RejetLigne(String fichier, int numeroLigne, String contenu, String motif) {
+        this.fichier = fichier;
+        this.numeroLigne = numeroLigne;
+        this.contenu = contenu;
+        this.motif = motif;
+    }
+
+    @Override
+    public String toString() {
+        return (fichier != null ? fichier + ":" : "Ligne ") + numeroLigne
+            + " — '" + contenu + "' : " + motif;
+    }
+}
@@ -1,27 +1,39 @@
 package com.morphology.model;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Table de hachage pour stocker les schèmes morphologiques
  * Utilise le chaînage pour gérer les collisions
+ *
+ * Les écritures doivent être sérialisées par l'appelant ; les lectures
+ * peuvent se faire sans verrou. Alvéoles publiées par AtomicReferenceArray,
+ * clé finale, valeur et suivant volatils : un lecteur voit toujours un
+ * maillon complètement construit, et une mise à jour dès qu'elle est faite.
  */
 public class TableHachage {
     private static final int TAILLE = 128;
     
-    private Maillon[] table;
-    private int nombreElements;
+    private final AtomicReferenceArray<Maillon> table;
+    private volatile int nombreElements;
+    
+    // Statistiques de structure tenues à jour à l'insertion/suppression
+    private final int[] longueurs = new int[TAILLE];
+    private volatile int nombreCollisions;
+    private volatile int longueurMax;
 
     /**
      * Classe interne représentant un maillon de la chaîne
      */
     private static class Maillon {
-        String cle;
-        Scheme valeur;
-        Maillon suivant;
+        final String cle;
+        volatile Scheme valeur;
+        volatile Maillon suivant;
 
-        Maillon(String cle, Scheme valeur) {
+        Maillon(String cle, Scheme valeur, Maillon suivant) {
             this.cle = cle;
             this.valeur = valeur;
-            this.suivant = null;
+            this.suivant = suivant;
         }
     }
 
@@ -29,7 +41,7 @@ public class TableHachage {
      * Constructeur
      */
     public TableHachage() {
-        this.table = new Maillon[TAILLE];
+        this.table = new AtomicReferenceArray<>(TAILLE);
         this.nombreElements = 0;
     }
 
@@ -54,7 +66,7 @@ public class TableHachage {
         int index = djb2(cle);
         
         // Vérifier si la clé existe déjà (mise à jour)
-        Maillon current = table[index];
+        Maillon current = table.get(index);
         while (current != null) {
             if (current.cle.equals(cle)) {
                 current.valeur = valeur;
@@ -63,11 +75,13 @@ public class TableHachage {
             current = current.suivant;
         }
         
-        // Insertion d'un nouveau maillon au début de la chaîne
-        Maillon nouveau = new Maillon(cle, valeur);
-        nouveau.suivant = table[index];
-        table[index] = nouveau;
+        // Insertion d'un nouveau maillon au début de la chaîne, publié
+        // une fois complet
+        table.set(index, new Maillon(cle, valeur, table.get(index)));
         nombreElements++;
+        
+        if (++longueurs[index] > 1) nombreCollisions++;
+        if (longueurs[index] > longueurMax) longueurMax = longueurs[index];
     }
 
     /**
@@ -76,7 +90,7 @@ public class TableHachage {
     public Scheme rechercher(String cle) {
         int index = djb2(cle);
         
-        Maillon current = table[index];
+        Maillon current = table.get(index);
         while (current != null) {
             if (current.cle.equals(cle)) {
                 return current.valeur;
@@ -93,19 +107,20 @@ public class TableHachage {
     public boolean supprimer(String cle) {
         int index = djb2(cle);
         
-        Maillon current = table[index];
+        Maillon current = table.get(index);
         Maillon previous = null;
         
         while (current != null) {
             if (current.cle.equals(cle)) {
                 if (previous == null) {
                     // Supprimer le premier élément
-                    table[index] = current.suivant;
+                    table.set(index, current.suivant);
                 } else {
                     // Supprimer un élément au milieu ou à la fin
                     previous.suivant = current.suivant;
                 }
                 nombreElements--;
+                retirerDeLaChaine(index);
                 return true;
             }
             previous = current;
@@ -115,6 +130,17 @@ public class TableHachage {
         return false;
     }
 
+    private void retirerDeLaChaine(int index) {
+        if (longueurs[index]-- > 1) nombreCollisions--;
+        if (longueurs[index] + 1 == longueurMax) {
+            // La plus longue chaîne a pu raccourcir : relire les TAILLE longueurs
+            longueurMax = 0;
+            for (int longueur : longueurs) {
+                if (longueur > longueurMax) longueurMax = longueur;
+            }
+        }
+    }
+
     /**
      * Obtenir le nombre d'éléments
      */
@@ -129,6 +155,13 @@ public class TableHachage {
         return nombreElements == 0;
     }
 
+    /**
+     * Nombre d'alvéoles du tableau (chaînes possibles)
+     */
+    public int getCapacite() {
+        return table.length();
+    }
+
     /**
      * Obtenir le taux de remplissage
      */
@@ -137,39 +170,17 @@ public class TableHachage {
     }
 
     /**
-     * Obtenir le nombre de collisions
+     * Obtenir le nombre de collisions (éléments au-delà du premier de chaque chaîne)
      */
     public int getNombreCollisions() {
-        int collisions = 0;
-        for (int i = 0; i < TAILLE; i++) {
-            if (table[i] != null && table[i].suivant != null) {
-                Maillon current = table[i].suivant;
-                while (current != null) {
-                    collisions++;
-                    current = current.suivant;
-                }
-            }
-        }
-        return collisions;
+        return nombreCollisions;
     }
 
     /**
      * Obtenir la longueur maximale d'une chaîne
      */
     public int getLongueurMaxChaine() {
-        int maxLength = 0;
-        for (int i = 0; i < TAILLE; i++) {
-            int length = 0;
-            Maillon current = table[i];
-            while (current != null) {
-                length++;
-                current = current.suivant;
-            }
-            if (length > maxLength) {
-                maxLength = length;
-            }
-        }
-        return maxLength;
+        return longueurMax;
     }
 
     /**
@@ -177,9 +188,12 @@ public class TableHachage {
      */
     public void vider() {
         for (int i = 0; i < TAILLE; i++) {
-            table[i] = null;
+            table.set(i, null);
+            longueurs[i] = 0;
         }
         nombreElements = 0;
+        nombreCollisions = 0;
+        longueurMax = 0;
     }
 
     @Override
@@ -202,7 +216,7 @@ public class TableHachage {
         java.util.List<Scheme> schemes = new java.util.ArrayList<>();
         
         for (int i = 0; i < TAILLE; i++) {
-            Maillon current = table[i];
+            Maillon current = table.get(i);
             while (current != null) {
                 schemes.add(current.valeur);
                 current = current.suivant;
@@ -216,7 +230,7 @@ public class TableHachage {
         java.util.List<String> cles = new java.util.ArrayList<>();
         
         for (int i = 0; i < TAILLE; i++) {
-            Maillon current = table[i];
+            Maillon current = table.get(i);
             while (current != null) {
                 cles.add(current.cle);
                 current = current.suivant;
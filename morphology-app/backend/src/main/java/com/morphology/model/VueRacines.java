@@ -0,0 +1,47 @@
+package com.morphology.model;
+
+import java.util.List;
+
+/**
+ * Lecture indexée des racines, dans l'ordre des clés, pour les parcours :
+ * clé, type en cache et drapeau hamza. Les dérivés ne sont décodés que
+ * pour le mot demandé à {@link #derive}.
+ *
+ * En lecture seule, c'est le lexique compilé lui-même : un parcours
+ * n'alloue ni noeud ni liste de dérivés par racine.
+ */
+public interface VueRacines {
+
+    int taille();
+
+    String racine(int i);
+
+    /** Type en cache, ou null s'il n'a pas encore été déterminé */
+    RootType type(int i);
+
+    boolean contientHamza(int i);
+
+    /** Dérivé {@code mot} de la racine n° i, ou null */
+    MotDerive derive(int i, String mot);
+
+    /**
+     * Vue sur une copie des noeuds de l'arbre (ordre infixe)
+     */
+    static VueRacines de(List<NoeudAVL> noeuds) {
+        return new VueRacines() {
+            @Override public int taille()                    { return noeuds.size(); }
+            @Override public String racine(int i)            { return noeuds.get(i).getRacine(); }
+            @Override public RootType type(int i)            { return noeuds.get(i).getTypeMorphologique(); }
+            @Override public boolean contientHamza(int i)    { return noeuds.get(i).isContientHamza(); }
+
+            @Override
+            public MotDerive derive(int i, String mot) {
+                NoeudAVL noeud = noeuds.get(i);
+                // La liste des dérivés est modifiée sous le verrou du noeud
+                synchronized (noeud) {
+                    return noeud.rechercherDerive(mot);
+                }
+            }
+        };
+    }
+}
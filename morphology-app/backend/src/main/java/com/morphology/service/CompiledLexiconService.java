@@ -0,0 +1,79 @@
+package com.morphology.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.LexiconResponse;
+import com.morphology.model.LexiqueCompile;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compilation du lexique de racines en fichier projetable en mémoire, et
+ * activation de ce fichier pour les déploiements en lecture seule
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompiledLexiconService {
+
+    private final RootService          rootService;
+    private final MorphologyProperties properties;
+
+    /**
+     * Activé avant les ApplicationRunner (sauvegarde, journal) : ceux-ci
+     * savent alors qu'il n'y a pas de racines à restaurer
+     */
+    @PostConstruct
+    public void activer() throws IOException {
+        if (!properties.getLexicon().isReadOnly()) {
+            return;
+        }
+        Path fichier = fichier();
+        if (!Files.exists(fichier)) {
+            throw new IllegalStateException("Lexique compilé introuvable : " + fichier
+                + " (morphology.lexicon.read-only=true)");
+        }
+        LexiqueCompile lexique = LexiqueCompile.ouvrir(fichier);
+        rootService.activerLexiqueCompile(lexique);
+        log.info("✅ Lexique compilé projeté depuis {} : {} racines, {} dérivés (lecture seule)",
+            fichier, lexique.getNombreRacines(), lexique.getNombreDerives());
+    }
+
+    /**
+     * Compiler le lexique courant vers le fichier configuré
+     */
+    public LexiconResponse compiler() throws IOException {
+        long debut = System.nanoTime();
+        Path fichier = fichier();
+        int ignorees = LexiqueCompile.compiler(rootService.getAllNodes(), fichier);
+        if (ignorees > 0) {
+            log.warn("{} racines non compactables ignorées à la compilation", ignorees);
+        }
+
+        // Relire l'en-tête pour rendre compte de ce qui a été écrit
+        LexiqueCompile compile = LexiqueCompile.ouvrir(fichier);
+        return new LexiconResponse(fichier.toString(), rootService.estLectureSeule(),
+            compile.getNombreRacines(), compile.getNombreDerives(), compile.getTailleOctets(),
+            ignorees, (System.nanoTime() - debut) / 1_000_000);
+    }
+
+    public LexiconResponse getEtat() {
+        LexiqueCompile lexique = rootService.getLexiqueCompile();
+        if (lexique == null) {
+            return new LexiconResponse(fichier().toString(), false, rootService.getRootCount(), 0, 0, 0, 0);
+        }
+        return new LexiconResponse(lexique.getFichier().toString(), true, lexique.getNombreRacines(),
+            lexique.getNombreDerives(), lexique.getTailleOctets(), 0, 0);
+    }
+
+    private Path fichier() {
+        return Path.of(properties.getLexicon().getCompiledPath());
+    }
+}
@@ -9,6 +9,7 @@ import com.morphology.dto.response.GeneratedWordResponse;
 import com.morphology.model.Root;
 import com.morphology.model.RootType;
 import com.morphology.model.Scheme;
+import com.morphology.service.LatencyService.Etape;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,11 +23,16 @@ public class GenerationService {
     private final SchemeService        schemeService;
     private final TransformationService transformationService;
     private final MorphoAnalyzer       morphoAnalyzer;
+    private final LatencyService       latencyService;
 
     // ================================================================
     // Générer un mot — racine + schème
     // ================================================================
     public GeneratedWordResponse generateWord(String rootText, String schemeName) {
+        return latencyService.mesurer("generateWord", () -> genererMot(rootText, schemeName));
+    }
+
+    private GeneratedWordResponse genererMot(String rootText, String schemeName) {
         log.debug("🔧 Génération: racine={}, schème={}", rootText, schemeName);
 
         // Validation des entrées
@@ -36,29 +42,40 @@ public class GenerationService {
             return erreur(rootText, null, "Le nom du schème ne peut pas être vide.");
 
         // 1. Racine existe ?
-        if (!rootService.rootExists(rootText))
+        long t = latencyService.debut();
+        boolean existe = rootService.rootExists(rootText);
+        latencyService.fin(Etape.RECHERCHE, t);
+        if (!existe)
             return erreur(rootText, schemeName,
                 "La racine '" + rootText + "' n'existe pas dans la base.");
 
         // 2. Schème existe ?
+        t = latencyService.debut();
         Scheme scheme = schemeService.searchScheme(schemeName);
+        latencyService.fin(Etape.RECHERCHE, t);
         if (scheme == null)
             return erreur(rootText, schemeName,
                 "Le schème '" + schemeName + "' n'existe pas.");
 
         // 3. Analyser la racine UNE SEULE FOIS — réutiliser le même objet Root
+        t = latencyService.debut();
         Root root = morphoAnalyzer.analyserRacine(rootText);
+        latencyService.fin(Etape.ANALYSE, t);
         if (!root.isValid())
             return erreur(rootText, schemeName, root.getErrorMessage());
 
         RootType type = root.getType();
 
         // Mettre à jour le cache si nécessaire
+        t = latencyService.debut();
         if (rootService.getRootType(rootText) == null)
             rootService.setRootType(rootText, type);
+        latencyService.fin(Etape.ANALYSE, t);
 
         // 4. Substitution brute du schème
+        t = latencyService.debut();
         String motBrut = scheme.appliquer(rootText);
+        latencyService.fin(Etape.SCHEME, t);
         if (motBrut == null || motBrut.isBlank()) {
             String msg = scheme.getLastError() != null ? scheme.getLastError()
                 : "Le schème '" + schemeName + "' n'a pas pu être appliqué.";
@@ -68,9 +85,11 @@ public class GenerationService {
         log.debug("📝 Mot brut (avant transformation): {}", motBrut);
 
         // 5. Transformations morphologiques — schemeId transmis pour MITHAL/AJWAF
+        t = latencyService.debut();
         String motFinal = transformationService.appliquerTransformations(
             motBrut, type, root, scheme.getId()
         );
+        latencyService.fin(Etape.TRANSFORMATION, t);
 
         // 6. Vérifier que le résultat n'est pas vide
         if (motFinal == null || motFinal.isBlank())
@@ -78,11 +97,10 @@ public class GenerationService {
                 "La transformation a produit un résultat vide. "
               + "Vérifier la compatibilité du schème avec ce type de racine.");
 
-        if (!motFinal.equals(motBrut))
-            log.info("✨ {} → {} ({})", motBrut, motFinal, type.getNomArabe());
-
         // 7. Enregistrer le dérivé
-        rootService.addDerivativeToRoot(rootText, motFinal);
+        t = latencyService.debut();
+        rootService.addDerivativeToRoot(rootText, motFinal, schemeName);
+        latencyService.fin(Etape.DERIVE, t);
 
         String message = "✅ Mot généré : " + motFinal;
         if (type != RootType.SALIM)
@@ -95,6 +113,10 @@ public class GenerationService {
     // Générer la famille morphologique complète
     // ================================================================
     public List<GeneratedWordResponse> generateFamily(String rootText) {
+        return latencyService.mesurer("generateFamily", () -> genererFamille(rootText));
+    }
+
+    private List<GeneratedWordResponse> genererFamille(String rootText) {
         log.debug("👨‍👩‍👧‍👦 Famille pour: {}", rootText);
         List<GeneratedWordResponse> family = new ArrayList<>();
 
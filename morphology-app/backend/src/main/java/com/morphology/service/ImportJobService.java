@@ -0,0 +1,140 @@
+package com.morphology.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.exception.ResourceNotFoundException;
+import com.morphology.jfr.UploadEvent;
+import com.morphology.model.ImportJob;
+import com.morphology.model.RapportImport;
+import com.morphology.util.ArchiveUtils;
+import com.morphology.util.FileUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final ExecutorService      importExecutor;
+    private final MorphologyProperties properties;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    // ================================================================
+    // Soumettre un import — le fichier est copié hors de la requête
+    // (le multipart est supprimé en fin de requête), puis traité par lots
+    // sur le pool dédié.
+    // ================================================================
+    public ImportJob soumettre(MultipartFile file, ImportJob.Type type) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier est vide ou absent.");
+        }
+
+        Path temporaire = Files.createTempFile("morpho-import-", ".tmp");
+        file.transferTo(temporaire);
+
+        ImportJob job = new ImportJob(
+            UUID.randomUUID().toString(), type, file.getOriginalFilename(), Files.size(temporaire));
+        jobs.put(job.getId(), job);
+        purgerAnciensJobs();
+
+        importExecutor.execute(() -> executer(job, temporaire));
+        log.info("Import {} soumis : {} ({} octets)", job.getId(), job.getNomFichier(), job.getTailleOctets());
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import '" + id + "' introuvable.");
+        }
+        return job;
+    }
+
+    public List<ImportJob> getJobs() {
+        List<ImportJob> liste = new ArrayList<>(jobs.values());
+        liste.sort(Comparator.comparing(ImportJob::getCreation).reversed());
+        return liste;
+    }
+
+    // ================================================================
+    // Exécution sur le worker
+    // ================================================================
+    private void executer(ImportJob job, Path fichier) {
+        UploadEvent event = new UploadEvent();
+        event.begin();
+        job.demarrer();
+        int tailleLot = properties.getImports().getBatchSize();
+
+        AtomicLong octetsLus = new AtomicLong();
+
+        try {
+            ArchiveUtils.parcourirFichier(fichier, octetsLus, (nom, lecteur) ->
+                FileUtils.lireParLots(lecteur, tailleLot, (lignes, premiereLigne) -> {
+                    RapportImport rapport = job.getType() == ImportJob.Type.RACINES
+                        ? rootService.importerRacines(lignes, premiereLigne)
+                        : schemeService.importerSchemes(lignes, premiereLigne);
+                    job.enregistrerLot(rapport, nom, lignes.size(), octetsLus.get());
+                }));
+
+            job.terminer();
+            log.info("✅ Import {} terminé : {} ajoutés, {} rejetés ({} lignes/s)",
+                job.getId(), job.getAjoutes(), job.getNombreRejets(),
+                Math.round(job.getLignesParSeconde()));
+
+        } catch (Exception e) {
+            log.error("❌ Import {} en échec", job.getId(), e);
+            job.echouer(e.getMessage());
+        } finally {
+            if (event.shouldCommit()) {
+                event.type = job.getType().name();
+                event.fileName = job.getNomFichier();
+                event.mode = "JOB";
+                event.bytes = job.getTailleOctets();
+                event.added = job.getAjoutes();
+                event.rejected = job.getNombreRejets();
+                event.commit();
+            }
+            try {
+                Files.deleteIfExists(fichier);
+            } catch (IOException e) {
+                log.warn("Fichier temporaire non supprimé : {}", fichier);
+            }
+        }
+    }
+
+    /**
+     * Ne conserver que les N jobs terminés les plus récents
+     */
+    private void purgerAnciensJobs() {
+        int max = properties.getImports().getRetainedJobs();
+        List<ImportJob> termines = new ArrayList<>();
+        for (ImportJob job : jobs.values()) {
+            if (job.estTermine()) termines.add(job);
+        }
+        if (termines.size() <= max) return;
+
+        termines.sort(Comparator.comparing(ImportJob::getCreation));
+        for (int i = 0; i < termines.size() - max; i++) {
+            jobs.remove(termines.get(i).getId());
+        }
+    }
+}
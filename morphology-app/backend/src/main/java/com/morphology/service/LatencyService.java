@@ -0,0 +1,234 @@
+package com.morphology.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.morphology.dto.response.LatencyResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Latence des opérations de service et de leurs étapes.
+ *
+ * Chaque opération alimente un Timer Micrometer (histogramme à fenêtre
+ * glissante, percentiles p50/p99/p999). Les étapes sont chronométrées par
+ * paires {@link #debut()} / {@link #fin}, sans allocation : leurs durées sont
+ * cumulées dans un contexte propre au thread, puis enregistrées une seule
+ * fois à la fin de l'opération — une décomposition parcourt des milliers
+ * de couples racine × schème. Les durées cumulées sur la requête HTTP
+ * alimentent l'en-tête Server-Timing.
+ */
+@Service
+@RequiredArgsConstructor
+public class LatencyService {
+
+    private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+    public enum Etape {
+        RECHERCHE("lookup"),
+        ANALYSE("analysis"),
+        SCHEME("scheme"),
+        TRANSFORMATION("transform"),
+        COMPARAISON("compare"),
+        DERIVE("derivative"),
+        EMPREINTE("digest"),
+        LECTURE("read"),
+        IMPORT("import");
+
+        private final String code;
+
+        Etape(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    /** Opération chronométrée, pouvant lever une exception vérifiée */
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+        T executer() throws E;
+    }
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer> timersOperations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timersEtapes = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Contexte> CONTEXTE = ThreadLocal.withInitial(Contexte::new);
+
+    private static final class Contexte {
+        final long[] etapesOperation = new long[Etape.values().length];
+        final long[] etapesRequete = new long[Etape.values().length];
+        String operation;
+        int profondeur;
+        long debutRequete;
+    }
+
+    // ================================================================
+    // Opérations et étapes
+    // ================================================================
+
+    /**
+     * Chronométrer une opération. Une opération imbriquée (generateWord
+     * appelé par generateFamily) a son propre Timer, mais ses étapes sont
+     * attribuées à l'opération englobante.
+     */
+    public <T, E extends Exception> T mesurer(String operation, Action<T, E> action) throws E {
+        Contexte contexte = CONTEXTE.get();
+        boolean racine = contexte.profondeur++ == 0;
+        if (racine) {
+            contexte.operation = operation;
+            Arrays.fill(contexte.etapesOperation, 0);
+        }
+        long debut = System.nanoTime();
+        try {
+            return action.executer();
+        } finally {
+            timerOperation(operation).record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+            if (--contexte.profondeur == 0) {
+                enregistrerEtapes(contexte);
+            }
+        }
+    }
+
+    public long debut() {
+        return System.nanoTime();
+    }
+
+    public void fin(Etape etape, long debut) {
+        long duree = System.nanoTime() - debut;
+        Contexte contexte = CONTEXTE.get();
+        contexte.etapesOperation[etape.ordinal()] += duree;
+        contexte.etapesRequete[etape.ordinal()] += duree;
+    }
+
+    private void enregistrerEtapes(Contexte contexte) {
+        for (Etape etape : Etape.values()) {
+            long duree = contexte.etapesOperation[etape.ordinal()];
+            if (duree > 0) {
+                timerEtape(contexte.operation, etape).record(duree, TimeUnit.NANOSECONDS);
+            }
+        }
+        contexte.operation = null;
+    }
+
+    private Timer timerOperation(String operation) {
+        return timersOperations.computeIfAbsent(operation, op -> Timer.builder("morphology.operation")
+            .tag("operation", op)
+            .description("Durée des opérations de service")
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    private Timer timerEtape(String operation, Etape etape) {
+        return timersEtapes.computeIfAbsent(operation + '/' + etape.getCode(), cle -> Timer.builder("morphology.stage")
+            .tag("operation", operation)
+            .tag("stage", etape.getCode())
+            .description("Durée cumulée d'une étape par opération")
+            .publishPercentiles(PERCENTILES)
+            .register(registry));
+    }
+
+    // ================================================================
+    // Requête HTTP (filtre Server-Timing)
+    // ================================================================
+
+    public void debuterRequete() {
+        Contexte contexte = CONTEXTE.get();
+        Arrays.fill(contexte.etapesRequete, 0);
+        contexte.debutRequete = System.nanoTime();
+    }
+
+    public void terminerRequete() {
+        CONTEXTE.remove();
+    }
+
+    /**
+     * Valeur de l'en-tête Server-Timing : étapes de la requête en cours, puis total
+     */
+    public String enteteServerTiming() {
+        Contexte contexte = CONTEXTE.get();
+        StringBuilder entete = new StringBuilder();
+        for (Etape etape : Etape.values()) {
+            long duree = contexte.etapesRequete[etape.ordinal()];
+            if (duree > 0) {
+                entete.append(etape.getCode()).append(";dur=").append(enMillis(duree)).append(", ");
+            }
+        }
+        if (contexte.debutRequete > 0) {
+            entete.append("total;dur=").append(enMillis(System.nanoTime() - contexte.debutRequete));
+        } else if (entete.length() > 0) {
+            entete.setLength(entete.length() - 2);
+        }
+        return entete.toString();
+    }
+
+    /**
+     * Durées cumulées (ms) des étapes de la requête en cours
+     */
+    public Map<String, Double> getEtapesRequete() {
+        Contexte contexte = CONTEXTE.get();
+        Map<String, Double> etapes = new LinkedHashMap<>();
+        for (Etape etape : Etape.values()) {
+            long duree = contexte.etapesRequete[etape.ordinal()];
+            if (duree > 0) etapes.put(etape.getCode(), duree / 1e6);
+        }
+        return etapes;
+    }
+
+    private static String enMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    // ================================================================
+    // Lecture (endpoint /statistics/latency)
+    // ================================================================
+
+    public List<LatencyResponse> getLatences() {
+        List<LatencyResponse> latences = new ArrayList<>();
+        timersOperations.forEach((operation, timer) -> {
+            LatencyResponse reponse = resumer(operation, timer);
+            Map<String, LatencyResponse> etapes = new LinkedHashMap<>();
+            for (Etape etape : Etape.values()) {
+                Timer timerEtape = timersEtapes.get(operation + '/' + etape.getCode());
+                if (timerEtape != null) etapes.put(etape.getCode(), resumer(etape.getCode(), timerEtape));
+            }
+            reponse.setStages(etapes);
+            latences.add(reponse);
+        });
+        latences.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return latences;
+    }
+
+    private static LatencyResponse resumer(String nom, Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        LatencyResponse reponse = new LatencyResponse();
+        reponse.setName(nom);
+        reponse.setCount(timer.count());
+        reponse.setMeanMs(timer.mean(TimeUnit.MILLISECONDS));
+        reponse.setMaxMs(timer.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile valeur : snapshot.percentileValues()) {
+            double ms = valeur.value(TimeUnit.MILLISECONDS);
+            if (valeur.percentile() == 0.5) reponse.setP50Ms(ms);
+            else if (valeur.percentile() == 0.99) reponse.setP99Ms(ms);
+            else if (valeur.percentile() == 0.999) reponse.setP999Ms(ms);
+        }
+        return reponse;
+    }
+}
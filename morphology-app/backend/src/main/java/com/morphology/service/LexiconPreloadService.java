@@ -0,0 +1,107 @@
+package com.morphology.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.model.RapportImport;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chargement au démarrage des fichiers de racines et de schèmes fournis
+ * avec l'application (ou configurés), si le lexique est encore vide après
+ * restauration de la sauvegarde et du journal.
+ *
+ * Les deux fichiers sont lus en parallèle et passent par l'import en masse
+ * (analyse parallèle des racines, construction équilibrée de l'AVL). Le
+ * chargement s'exécute dans un ApplicationRunner : Spring ne passe l'état
+ * de disponibilité à ACCEPTING_TRAFFIC qu'une fois les runners terminés, et
+ * l'indicateur de santé « lexicon » reste DOWN jusque-là.
+ */
+@Slf4j
+@Service
+@Order(2)
+@RequiredArgsConstructor
+public class LexiconPreloadService implements ApplicationRunner {
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final ResourceLoader       resourceLoader;
+    private final ExecutorService      importExecutor;
+    private final MorphologyProperties properties;
+
+    private volatile boolean termine;
+    private volatile long dureeMs;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MorphologyProperties.Preload config = properties.getPreload();
+        if (!config.isEnabled()) {
+            termine = true;
+            return;
+        }
+
+        long debut = System.nanoTime();
+        boolean chargerRacines = !rootService.estLectureSeule() && rootService.getRootCount() == 0;
+        boolean chargerSchemes = schemeService.getSchemeCount() == 0;
+
+        CompletableFuture<RapportImport> racines = lancer(chargerRacines, config.getRoots(),
+            flux -> rootService.importerFlux(flux));
+        CompletableFuture<RapportImport> schemes = lancer(chargerSchemes, config.getSchemes(),
+            flux -> schemeService.importerFlux(flux));
+
+        try {
+            RapportImport r = racines.join();
+            RapportImport s = schemes.join();
+            dureeMs = (System.nanoTime() - debut) / 1_000_000;
+            log.info("✅ Lexique préchargé en {} ms : {} racines, {} schèmes ({} lignes rejetées)",
+                dureeMs, r.getAjoutes(), s.getAjoutes(), r.getNombreRejets() + s.getNombreRejets());
+        } catch (CompletionException e) {
+            // Fichier configuré introuvable ou illisible : l'instance ne doit pas devenir prête
+            throw new IllegalStateException("Préchargement du lexique impossible", e.getCause());
+        }
+        termine = true;
+    }
+
+    public boolean isTermine() {
+        return termine;
+    }
+
+    public long getDureeMs() {
+        return dureeMs;
+    }
+
+    @FunctionalInterface
+    private interface Import {
+        RapportImport importer(InputStream flux) throws IOException;
+    }
+
+    private CompletableFuture<RapportImport> lancer(boolean actif, String emplacement, Import importer) {
+        if (!actif || emplacement == null || emplacement.isBlank()) {
+            return CompletableFuture.completedFuture(new RapportImport());
+        }
+        Supplier<RapportImport> tache = () -> {
+            Resource ressource = resourceLoader.getResource(emplacement);
+            try (InputStream flux = ressource.getInputStream()) {
+                return importer.importer(flux);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Lecture de " + emplacement, e);
+            }
+        };
+        return CompletableFuture.supplyAsync(tache, importExecutor);
+    }
+}
@@ -0,0 +1,172 @@
+package com.morphology.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.model.RapportImport;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Surveillance des fichiers de racines et de schèmes (WatchService).
+ *
+ * À chaque modification, le fichier est relu sur un thread dédié, hors du
+ * chemin des requêtes, et devient la nouvelle liste complète : la table de
+ * schèmes ou l'arbre des racines est reconstruit puis substitué d'un bloc.
+ * Les événements sont regroupés jusqu'à {@code debounce-ms} de calme, car
+ * un éditeur enregistre souvent en plusieurs écritures.
+ */
+@Slf4j
+@Service
+@Order(3)
+@RequiredArgsConstructor
+public class LexiconWatchService implements ApplicationRunner {
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final MorphologyProperties properties;
+
+    private enum Cible { RACINES, SCHEMES }
+
+    private WatchService watchService;
+    private Thread surveillant;
+
+    // Fichier surveillé → cible, et dernière date de modification traitée
+    private final Map<Path, Cible> fichiers = new HashMap<>();
+    private final Map<Path, FileTime> dernieresVersions = new HashMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        MorphologyProperties.Watch config = properties.getWatch();
+        if (!config.isEnabled()) return;
+
+        ajouter(config.getRoots(), Cible.RACINES);
+        ajouter(config.getSchemes(), Cible.SCHEMES);
+        if (fichiers.isEmpty()) {
+            log.warn("Surveillance activée sans fichier configuré");
+            return;
+        }
+
+        // On surveille les répertoires : un éditeur remplace souvent le fichier
+        // (écriture d'un temporaire puis renommage) au lieu de le modifier
+        watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> repertoires = new HashSet<>();
+        for (Path fichier : fichiers.keySet()) {
+            repertoires.add(fichier.getParent());
+            dernieresVersions.put(fichier, dateModification(fichier));
+        }
+        for (Path repertoire : repertoires) {
+            repertoire.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+
+        surveillant = new Thread(this::surveiller, "lexicon-watch");
+        surveillant.setDaemon(true);
+        surveillant.start();
+        log.info("👁 Surveillance des fichiers de lexique : {}", fichiers.keySet());
+    }
+
+    @PreDestroy
+    public void arreter() throws IOException {
+        if (watchService != null) watchService.close();
+    }
+
+    private void ajouter(String chemin, Cible cible) {
+        if (chemin == null || chemin.isBlank()) return;
+        Path fichier = Path.of(chemin).toAbsolutePath().normalize();
+        if (cible == Cible.RACINES && rootService.estLectureSeule()) {
+            log.warn("Lexique compilé en lecture seule : {} n'est pas surveillé", fichier);
+            return;
+        }
+        fichiers.put(fichier, cible);
+    }
+
+    // ================================================================
+    // Boucle de surveillance
+    // ================================================================
+
+    private void surveiller() {
+        long delai = properties.getWatch().getDebounceMs();
+        try {
+            while (true) {
+                Set<Path> modifies = new HashSet<>();
+                WatchKey cle = watchService.take();
+                // Regrouper les événements jusqu'à un délai de calme
+                while (cle != null) {
+                    collecter(cle, modifies);
+                    cle = watchService.poll(delai, TimeUnit.MILLISECONDS);
+                }
+                for (Path fichier : modifies) {
+                    recharger(fichier);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Arrêt de l'application
+        }
+    }
+
+    private void collecter(WatchKey cle, Set<Path> modifies) {
+        Path repertoire = (Path) cle.watchable();
+        for (WatchEvent<?> evenement : cle.pollEvents()) {
+            if (evenement.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Événements perdus : tout revérifier
+                modifies.addAll(fichiers.keySet());
+                continue;
+            }
+            Path fichier = repertoire.resolve((Path) evenement.context());
+            if (fichiers.containsKey(fichier)) modifies.add(fichier);
+        }
+        cle.reset();
+    }
+
+    private void recharger(Path fichier) {
+        FileTime date = dateModification(fichier);
+        if (date == null || date.equals(dernieresVersions.get(fichier))) return;
+        dernieresVersions.put(fichier, date);
+
+        Cible cible = fichiers.get(fichier);
+        long debut = System.nanoTime();
+        try (InputStream flux = Files.newInputStream(fichier)) {
+            RapportImport rapport = cible == Cible.RACINES
+                ? rootService.rechargerRacines(flux)
+                : schemeService.rechargerSchemes(flux);
+            log.info("Fichier {} rechargé en {} ms ({} lignes rejetées)",
+                fichier.getFileName(), (System.nanoTime() - debut) / 1_000_000, rapport.getNombreRejets());
+        } catch (IOException | RuntimeException e) {
+            // Le lexique courant reste en place ; l'enregistrement suivant sera retenté
+            log.error("Rechargement de {} impossible : {}", fichier, e.getMessage());
+        }
+    }
+
+    private static FileTime dateModification(Path fichier) {
+        try {
+            return Files.getLastModifiedTime(fichier);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
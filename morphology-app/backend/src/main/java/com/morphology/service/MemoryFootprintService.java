@@ -0,0 +1,188 @@
+package com.morphology.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.stereotype.Service;
+
+import com.morphology.dto.response.MemoryFootprintResponse;
+import com.morphology.dto.response.MemoryFootprintResponse.RootFootprint;
+import com.morphology.dto.response.MemoryFootprintResponse.Structure;
+import com.morphology.model.IndexDecomposition;
+import com.morphology.model.LexiqueCompile;
+import com.morphology.model.MotDerive;
+import com.morphology.model.NoeudAVL;
+import com.morphology.model.Scheme;
+import com.morphology.util.MemoryUtils;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Empreinte mémoire estimée des structures du lexique : arbre AVL
+ * (sous-arbres, sentinelles vides, nœuds), listes de dérivés, table de
+ * hachage des schèmes et caches (index de décomposition, compteurs
+ * d'usage par schème).
+ *
+ * Chaque objet est compté une fois, à la structure qui le possède ; les
+ * chaînes partagées (clés d'index identiques aux racines) ne sont pas
+ * recomptées. Le parcours prend le verrou de lecture de l'arbre et le
+ * moniteur de chaque nœud, comme l'ajout de dérivés.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemoryFootprintService {
+
+    private final RootService rootService;
+    private final SchemeService schemeService;
+    private final ValidationService validationService;
+
+    // Champs des classes du modèle : références, octets primitifs
+    private static final long ARBRE      = MemoryUtils.objet(3, 0);         // noeud, gauche, droit
+    private static final long NOEUD      = MemoryUtils.objet(3, 4 + 4 + 1); // racine, liste, type ; hauteur, fréquence, hamza
+    private static final long MOT_DERIVE = MemoryUtils.objet(1, 4);         // mot ; fréquence
+    private static final long MAILLON    = MemoryUtils.objet(3, 0);         // cle, valeur, suivant
+    private static final long SCHEME     = MemoryUtils.objet(4, 0);         // nom, regle, id, lastError
+    private static final long TABLE      = MemoryUtils.objet(2, 4 * 3);     // table, longueurs ; 3 int
+    private static final long ENTREE     = MemoryUtils.objet(3, 0);         // racine, scheme, mot
+    private static final long USAGE      = MemoryUtils.objet(2, 0) + 2 * MemoryUtils.objet(0, 8 + 8); // record + 2 LongAdder
+
+    public MemoryFootprintResponse mesurer(int top) {
+        MemoryFootprintResponse reponse = new MemoryFootprintResponse();
+        reponse.setCompressedOops(MemoryUtils.isReferencesCompressees());
+        reponse.setObjectAlignment(MemoryUtils.getAlignement());
+        Runtime runtime = Runtime.getRuntime();
+        reponse.setHeapUsedBytes(runtime.totalMemory() - runtime.freeMemory());
+        reponse.setHeapMaxBytes(runtime.maxMemory());
+
+        mesurerArbre(reponse, Math.max(0, top));
+        mesurerSchemes(reponse);
+        mesurerCaches(reponse);
+
+        long total = 0;
+        for (Structure structure : reponse.getStructures().values()) total += structure.getBytes();
+        reponse.setTotalBytes(total);
+
+        LexiqueCompile lexique = rootService.getLexiqueCompile();
+        if (lexique != null) reponse.setOffHeapBytes(lexique.getTailleOctets());
+        return reponse;
+    }
+
+    // ================================================================
+    // Arbre AVL et dérivés
+    // ================================================================
+    private void mesurerArbre(MemoryFootprintResponse reponse, int top) {
+        long[] arbres = new long[2];      // sous-arbres porteurs d'un nœud, sentinelles
+        long[] noeuds = new long[2];      // nombre, octets (nœud + chaîne racine)
+        long[] listes = new long[2];      // ArrayList des dérivés
+        long[] derives = new long[2];     // MotDerive
+        long[] mots = new long[2];        // chaînes des dérivés
+        PriorityQueue<RootFootprint> plusGros =
+            new PriorityQueue<>(Comparator.comparingLong(RootFootprint::getDerivativeBytes));
+
+        rootService.parcourirArbre(arbre -> {
+            NoeudAVL noeud = arbre.getNoeud();
+            if (noeud == null) {
+                arbres[1]++;
+                return;
+            }
+            arbres[0]++;
+            noeuds[0]++;
+            noeuds[1] += NOEUD + MemoryUtils.chaine(noeud.getRacine());
+
+            int nombre;
+            long octetsDerives = 0;
+            synchronized (noeud) {
+                List<MotDerive> liste = noeud.getListeDerives();
+                nombre = liste.size();
+                for (MotDerive derive : liste) {
+                    long mot = MemoryUtils.chaine(derive.getMot());
+                    mots[1] += mot;
+                    octetsDerives += MOT_DERIVE + mot;
+                }
+            }
+            long liste = MemoryUtils.arrayList(nombre);
+            listes[0]++;
+            listes[1] += liste;
+            derives[0] += nombre;
+            derives[1] += nombre * MOT_DERIVE;
+            mots[0] += nombre;
+            octetsDerives += liste;
+
+            if (top > 0 && nombre > 0) {
+                plusGros.add(new RootFootprint(noeud.getRacine(), nombre, octetsDerives));
+                if (plusGros.size() > top) plusGros.poll();
+            }
+        });
+
+        Map<String, Structure> structures = reponse.getStructures();
+        structures.put("avl.subtrees", new Structure(arbres[0], arbres[0] * ARBRE));
+        structures.put("avl.sentinels", new Structure(arbres[1], arbres[1] * ARBRE));
+        structures.put("avl.nodes", new Structure(noeuds[0], noeuds[1]));
+        structures.put("derivatives.lists", new Structure(listes[0], listes[1]));
+        structures.put("derivatives.objects", new Structure(derives[0], derives[1]));
+        structures.put("derivatives.words", new Structure(mots[0], mots[1]));
+
+        int racines = (int) noeuds[0];
+        reponse.setRoots(racines);
+        if (racines > 0) {
+            long octetsDerives = listes[1] + derives[1] + mots[1];
+            long octetsArbre = arbres[0] * ARBRE + arbres[1] * ARBRE + noeuds[1];
+            reponse.setAvgDerivativesPerRoot((double) derives[0] / racines);
+            reponse.setAvgDerivativeBytesPerRoot((double) octetsDerives / racines);
+            reponse.setAvgBytesPerRoot((double) (octetsDerives + octetsArbre) / racines);
+        }
+
+        List<RootFootprint> classement = new ArrayList<>(plusGros);
+        classement.sort(Comparator.comparingLong(RootFootprint::getDerivativeBytes).reversed());
+        reponse.setTopRoots(classement);
+    }
+
+    // ================================================================
+    // Table de hachage des schèmes
+    // ================================================================
+    private void mesurerSchemes(MemoryFootprintResponse reponse) {
+        List<Scheme> schemes = schemeService.getSchemes();
+        long octetsTable = TABLE
+            + MemoryUtils.tableauReferences(schemeService.getCapaciteTable())
+            + MemoryUtils.tableau(schemeService.getCapaciteTable(), 4);
+
+        long octetsSchemes = 0;
+        for (Scheme scheme : schemes) {
+            octetsSchemes += SCHEME
+                + MemoryUtils.chaine(scheme.getNom())
+                + MemoryUtils.chaine(scheme.getRegle())
+                + MemoryUtils.chaine(scheme.getId())
+                + MemoryUtils.chaine(scheme.getLastError());
+        }
+
+        Map<String, Structure> structures = reponse.getStructures();
+        structures.put("schemes.table", new Structure(1, octetsTable));
+        structures.put("schemes.chains", new Structure(schemes.size(), schemes.size() * MAILLON));
+        structures.put("schemes.objects", new Structure(schemes.size(), octetsSchemes));
+    }
+
+    // ================================================================
+    // Caches
+    // ================================================================
+    private void mesurerCaches(MemoryFootprintResponse reponse) {
+        Map<String, Structure> structures = reponse.getStructures();
+
+        IndexDecomposition index = validationService.getIndex();
+        if (index != null) {
+            long[] octets = { MemoryUtils.hashMap(index.getNombreFormes()) };
+            index.parcourir((forme, entrees) -> {
+                octets[0] += MemoryUtils.chaine(forme) + MemoryUtils.arrayList(entrees.size(), 1);
+                for (IndexDecomposition.Entree entree : entrees) {
+                    octets[0] += ENTREE + MemoryUtils.chaine(entree.mot());
+                }
+            });
+            structures.put("cache.decompositionIndex", new Structure(index.getNombreEntrees(), octets[0]));
+        }
+
+        int usages = rootService.getUsageSchemes().size();
+        structures.put("cache.schemeUsage", new Structure(usages, MemoryUtils.hashMap(usages) + usages * USAGE));
+    }
+}
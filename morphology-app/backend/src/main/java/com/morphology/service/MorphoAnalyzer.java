@@ -74,7 +74,7 @@ public class MorphoAnalyzer {
 
         RootType type = detecterType(root);
         root.setType(type);
-        log.info("✅ '{}' → {} ({})", racine, type.getNomFrancais(), type.getNomArabe());
+        log.debug("'{}' → {}", racine, type);
         return root;
     }
 
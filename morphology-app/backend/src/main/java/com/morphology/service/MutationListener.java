@@ -0,0 +1,41 @@
+package com.morphology.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.morphology.model.Mutation;
+
+/**
+ * Observateur des modifications du lexique (journal des mutations).
+ * Les appels sont faits sous le verrou qui protège la modification, afin
+ * que l'ordre du journal soit celui de l'application en mémoire : ils
+ * doivent donc rester rapides (mise en file uniquement).
+ */
+public interface MutationListener {
+
+    MutationListener AUCUN = new MutationListener() {
+        @Override
+        public CompletableFuture<Void> enregistrer(List<Mutation> mutations) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void deriveEnregistre(String racine, String mot) {
+        }
+    };
+
+    /**
+     * Consigner des mutations ; le futur est complété une fois écrites sur disque
+     */
+    CompletableFuture<Void> enregistrer(List<Mutation> mutations);
+
+    default CompletableFuture<Void> enregistrer(Mutation mutation) {
+        return enregistrer(List.of(mutation));
+    }
+
+    /**
+     * Occurrence d'un dérivé : cumulée en mémoire, écrite en différé.
+     * Appelé sous le verrou du noeud de la racine.
+     */
+    void deriveEnregistre(String racine, String mot);
+}
@@ -0,0 +1,449 @@
+package com.morphology.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.SnapshotResponse;
+import com.morphology.model.Mutation;
+import com.morphology.util.BinaryUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journal des mutations (write-ahead log) du lexique.
+ *
+ * Chaque mutation est mise en file sous le verrou qui la protège, puis un
+ * unique thread écrivain regroupe tout ce qui est en attente en un seul
+ * write + force (group commit) : les requêtes concurrentes partagent la
+ * même synchronisation disque et n'attendent que celle-ci.
+ *
+ * Les occurrences de dérivés, de loin les plus nombreuses, ne sont pas
+ * attendues : elles sont cumulées en mémoire par (racine, mot) et écrites
+ * en différé sous forme de deltas.
+ *
+ * Au démarrage, le journal est rejoué après la sauvegarde binaire, puis
+ * compacté : une sauvegarde (point de reprise) est écrite et le journal
+ * vidé. La compaction a aussi lieu dès que le journal dépasse un seuil ;
+ * le journal exige donc que la sauvegarde soit activée.
+ *
+ * Trame d'un enregistrement : longueur (4 octets), CRC32 (4 octets), puis
+ * type (1 octet), clé, [valeur], [delta]. Une trame incomplète ou corrompue
+ * en fin de fichier (arrêt brutal) est ignorée et tronquée.
+ */
+@Slf4j
+@Service
+@Order(1)
+@RequiredArgsConstructor
+public class MutationLogService implements MutationListener, SnapshotService.Coordinateur, ApplicationRunner {
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final SnapshotService      snapshotService;
+    private final MorphologyProperties properties;
+
+    /** Élément de la file de l'écrivain */
+    private sealed interface Tache permits Lot, Reprise {}
+    private record Lot(List<Mutation> mutations, CompletableFuture<Void> ecrit) implements Tache {}
+    private record Reprise(CompletableFuture<SnapshotResponse> fin) implements Tache {}
+
+    private final BlockingQueue<Tache> file = new LinkedBlockingQueue<>();
+
+    // racine → (mot → occurrences non encore écrites). Un compute() sur la
+    // racine est atomique : une fois retirée de la table, la sous-table
+    // n'est plus modifiée par personne.
+    private final Map<String, Map<String, Integer>> derives = new ConcurrentHashMap<>();
+
+    private FileChannel canal;
+    private Thread ecrivain;
+    private volatile boolean actif;
+    // Dernier vidage fait (arrêt) : plus rien n'est mis en file. Lu et
+    // écrit sous le verrou de la file, comme chaque ajout
+    private boolean ferme;
+    private long dernierVidageDerives;
+
+    // ================================================================
+    // Démarrage : rejeu puis activation
+    // ================================================================
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        MorphologyProperties.Journal config = properties.getJournal();
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (!properties.getSnapshot().isEnabled()) {
+            // Sans sauvegarde, aucune compaction possible : le journal croîtrait sans fin
+            throw new IllegalStateException(
+                "morphology.journal.enabled=true exige morphology.snapshot.enabled=true");
+        }
+
+        Path fichier = Path.of(config.getPath());
+        if (fichier.getParent() != null) {
+            Files.createDirectories(fichier.getParent());
+        }
+        canal = FileChannel.open(fichier,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long valide = rejouer();
+        if (valide < canal.size()) {
+            log.warn("Journal : fin tronquée à {} octets (écriture interrompue)", valide);
+            canal.truncate(valide);
+        }
+        canal.position(valide);
+
+        actif = true;
+        dernierVidageDerives = System.nanoTime();
+        ecrivain = new Thread(this::boucleEcriture, "mutation-log");
+        ecrivain.setDaemon(true);
+        ecrivain.start();
+
+        rootService.setMutationListener(this);
+        schemeService.setMutationListener(this);
+        snapshotService.setCoordinateur(this);
+        if (valide > 0) {
+            pointDeReprise();
+        }
+    }
+
+    /**
+     * Point de reprise final, puis arrêt de l'écrivain. Les mutations qui
+     * suivent le point de reprise restent en file jusqu'au dernier vidage :
+     * le journal n'est détaché des services qu'une fois ce vidage écrit.
+     */
+    @PreDestroy
+    public void arreter() {
+        if (!actif) {
+            return;
+        }
+        try {
+            pointDeReprise();
+            // La sauvegarde de l'arrêt est faite : SnapshotService n'en écrit pas d'autre
+            snapshotService.marquerSauvegardeFinale();
+        } catch (Exception e) {
+            log.error("❌ Point de reprise impossible à l'arrêt, le journal sera rejoué", e);
+        }
+
+        // Pas d'interruption : elle fermerait le canal en pleine écriture.
+        // L'écrivain s'arrête au plus tard après un intervalle d'attente.
+        actif = false;
+        List<Tache> restantes = new ArrayList<>();
+        try {
+            ecrivain.join(5_000);
+            synchronized (file) {
+                ferme = true;
+                file.drainTo(restantes);
+            }
+            traiter(restantes, true);
+        } catch (Exception e) {
+            log.error("❌ Fermeture du journal", e);
+            echouer(restantes, e);
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            log.error("❌ Fermeture du journal", e);
+        }
+        rootService.setMutationListener(null);
+        schemeService.setMutationListener(null);
+        snapshotService.setCoordinateur(null);
+    }
+
+    // ================================================================
+    // MutationListener
+    // ================================================================
+
+    @Override
+    public CompletableFuture<Void> enregistrer(List<Mutation> mutations) {
+        Lot lot = new Lot(mutations, new CompletableFuture<>());
+        // Sous le verrou de la file : un lot ajouté avant la fermeture est
+        // toujours lu, par l'écrivain ou par le dernier vidage de arreter()
+        synchronized (file) {
+            if (!ferme) {
+                file.add(lot);
+                return lot.ecrit();
+            }
+        }
+        lot.ecrit().complete(null);
+        return lot.ecrit();
+    }
+
+    @Override
+    public void deriveEnregistre(String racine, String mot) {
+        derives.compute(racine, (cle, mots) -> {
+            if (mots == null) mots = new HashMap<>();
+            mots.merge(mot, 1, Integer::sum);
+            return mots;
+        });
+    }
+
+    // ================================================================
+    // Point de reprise — exécuté par l'écrivain, entre deux lots
+    // ================================================================
+
+    @Override
+    public SnapshotResponse pointDeReprise() throws IOException {
+        Reprise reprise = new Reprise(new CompletableFuture<>());
+        // Même verrou que la fermeture : une reprise en file est toujours exécutée
+        boolean enFile;
+        synchronized (file) {
+            enFile = actif && !ferme;
+            if (enFile) file.add(reprise);
+        }
+        if (!enFile) {
+            return snapshotService.ecrire(racine -> {});
+        }
+        try {
+            return reprise.fin().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw e;
+        }
+    }
+
+    /**
+     * Tout ce qui est déjà écrit dans le journal est appliqué en mémoire, donc
+     * inclus dans la sauvegarde. Les occurrences de dérivés encore en attente
+     * pour une racine sont oubliées au moment où la racine est copiée (sous le
+     * verrou de son noeud) : elles figurent dans la sauvegarde. Les mutations
+     * encore en file sont rejouables sans effet de bord (ajout d'une racine
+     * présente, suppression d'une absente...).
+     */
+    private SnapshotResponse executerReprise() throws IOException {
+        SnapshotResponse info = snapshotService.ecrire(derives::remove);
+        canal.truncate(0);
+        canal.position(0);
+        canal.force(true);
+        log.info("Journal compacté : point de reprise {} ({} octets)", info.getPath(), info.getSizeBytes());
+        return info;
+    }
+
+    // ================================================================
+    // Écrivain : group commit
+    // ================================================================
+
+    private void boucleEcriture() {
+        long intervalle = properties.getJournal().getFlushIntervalMs();
+        while (actif) {
+            List<Tache> taches = new ArrayList<>();
+            try {
+                Tache tache = file.poll(intervalle, TimeUnit.MILLISECONDS);
+                if (tache != null) {
+                    taches.add(tache);
+                    file.drainTo(taches);
+                }
+
+                boolean derivesDus = System.nanoTime() - dernierVidageDerives
+                    >= TimeUnit.MILLISECONDS.toNanos(intervalle);
+                traiter(taches, derivesDus);
+
+                if (canal.position() > properties.getJournal().getCompactionThresholdBytes()) {
+                    executerReprise();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Écriture du journal des mutations", e);
+                echouer(taches, e);
+            }
+        }
+    }
+
+    /**
+     * Les lots sont écrits ensemble ; une reprise s'intercale à sa place
+     */
+    private void traiter(List<Tache> taches, boolean avecDerives) throws IOException {
+        List<Lot> lots = new ArrayList<>();
+        for (Tache t : taches) {
+            if (t instanceof Lot lot) {
+                lots.add(lot);
+            } else if (t instanceof Reprise reprise) {
+                ecrire(lots, false);
+                lots.clear();
+                try {
+                    reprise.fin().complete(executerReprise());
+                } catch (Exception e) {
+                    reprise.fin().completeExceptionally(e);
+                }
+            }
+        }
+        ecrire(lots, avecDerives);
+    }
+
+    /**
+     * Libérer en erreur toutes les tâches encore en attente (celles déjà
+     * terminées ne sont pas modifiées) : aucun appelant ne reste bloqué
+     */
+    private static void echouer(List<Tache> taches, Exception e) {
+        for (Tache t : taches) {
+            if (t instanceof Lot lot) {
+                lot.ecrit().completeExceptionally(e);
+            } else if (t instanceof Reprise reprise) {
+                reprise.fin().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Écrire les lots (et, si demandé, les dérivés cumulés) en un seul
+     * write suivi d'un seul force, puis libérer les appelants
+     */
+    private void ecrire(List<Lot> lots, boolean avecDerives) throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        for (Lot lot : lots) {
+            for (Mutation m : lot.mutations()) {
+                trame(octets, m);
+            }
+        }
+        if (avecDerives) {
+            for (String racine : derives.keySet()) {
+                Map<String, Integer> mots = derives.remove(racine);
+                if (mots == null) continue;
+                for (Map.Entry<String, Integer> e : mots.entrySet()) {
+                    trame(octets, Mutation.derive(racine, e.getKey(), e.getValue()));
+                }
+            }
+            dernierVidageDerives = System.nanoTime();
+        }
+
+        if (octets.size() > 0) {
+            ByteBuffer tampon = ByteBuffer.wrap(octets.toByteArray());
+            while (tampon.hasRemaining()) {
+                canal.write(tampon);
+            }
+            if (properties.getJournal().isSync()) {
+                canal.force(false);
+            }
+        }
+        for (Lot lot : lots) {
+            lot.ecrit().complete(null);
+        }
+    }
+
+    private static void trame(ByteArrayOutputStream octets, Mutation m) throws IOException {
+        ByteArrayOutputStream contenu = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(contenu);
+        out.writeByte(m.type().ordinal());
+        BinaryUtils.ecrireChaine(out, m.cle());
+        switch (m.type()) {
+            case SCHEME_AJOUTE, SCHEME_MODIFIE -> BinaryUtils.ecrireChaine(out, m.valeur());
+            case DERIVE -> {
+                BinaryUtils.ecrireChaine(out, m.valeur());
+                BinaryUtils.ecrireVarint(out, m.delta());
+            }
+            default -> { }
+        }
+
+        byte[] donnees = contenu.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(donnees);
+        DataOutputStream entete = new DataOutputStream(octets);
+        entete.writeInt(donnees.length);
+        entete.writeInt((int) crc.getValue());
+        octets.write(donnees);
+    }
+
+    // ================================================================
+    // Rejeu
+    // ================================================================
+
+    /**
+     * Rejouer le journal sur le lexique restauré. Retourne la position de la
+     * fin de la dernière trame valide.
+     */
+    private long rejouer() throws IOException {
+        long taille = canal.size();
+        if (taille == 0) {
+            return 0;
+        }
+
+        long debut = System.nanoTime();
+        MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+        Mutation.Type[] types = Mutation.Type.values();
+        List<String> racinesAjoutees = new ArrayList<>();
+        // Numéro d'enregistrement dans le journal, rapporté à chaque rejet
+        List<Integer> numerosAjouts = new ArrayList<>();
+        int nombre = 0;
+        long valide = 0;
+
+        while (tampon.remaining() >= 8) {
+            int longueur = tampon.getInt();
+            int attendu = tampon.getInt();
+            if (longueur <= 0 || longueur > tampon.remaining()) break;
+
+            ByteBuffer donnees = tampon.slice(tampon.position(), longueur);
+            CRC32 crc = new CRC32();
+            crc.update(donnees.duplicate());
+            if ((int) crc.getValue() != attendu) break;
+            tampon.position(tampon.position() + longueur);
+
+            int ordinal = donnees.get() & 0xFF;
+            if (ordinal >= types.length) break;
+            Mutation.Type type = types[ordinal];
+            String cle = BinaryUtils.lireChaine(donnees);
+
+            // Les ajouts consécutifs de racines passent par l'import en masse
+            if (type != Mutation.Type.RACINE_AJOUTEE && !racinesAjoutees.isEmpty()) {
+                rootService.importerRacines(racinesAjoutees, numerosAjouts::get);
+                racinesAjoutees.clear();
+                numerosAjouts.clear();
+            }
+
+            boolean racine = type == Mutation.Type.RACINE_AJOUTEE
+                || type == Mutation.Type.RACINE_SUPPRIMEE || type == Mutation.Type.DERIVE;
+            if (racine && rootService.estLectureSeule()) {
+                // Racines servies par le lexique compilé : rien à rejouer
+                nombre++;
+                valide = tampon.position();
+                continue;
+            }
+
+            switch (type) {
+                case RACINE_AJOUTEE  -> {
+                    racinesAjoutees.add(cle);
+                    numerosAjouts.add(nombre + 1);
+                }
+                case RACINE_SUPPRIMEE -> rootService.deleteRoot(cle);
+                case SCHEME_AJOUTE   -> schemeService.addScheme(cle, BinaryUtils.lireChaine(donnees));
+                case SCHEME_MODIFIE  -> schemeService.updateScheme(cle, BinaryUtils.lireChaine(donnees));
+                case SCHEME_SUPPRIME -> schemeService.deleteScheme(cle);
+                case DERIVE -> rootService.appliquerDerive(
+                    cle, BinaryUtils.lireChaine(donnees), BinaryUtils.lireVarintInt(donnees));
+            }
+            nombre++;
+            valide = tampon.position();
+        }
+        if (!racinesAjoutees.isEmpty()) {
+            rootService.importerRacines(racinesAjoutees, numerosAjouts::get);
+        }
+
+        log.info("Journal rejoué : {} mutations en {} ms", nombre, (System.nanoTime() - debut) / 1_000_000);
+        return valide;
+    }
+}
@@ -0,0 +1,131 @@
+package com.morphology.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.morphology.dto.response.ResourceUsageResponse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Octets alloués et temps CPU consommés par chaque requête, par endpoint.
+ *
+ * Les compteurs du thread courant (com.sun.management.ThreadMXBean) sont
+ * lus avant et après la requête : l'allocation, principal moteur du GC,
+ * est ainsi attribuée à l'endpoint qui la provoque. Les travaux lancés sur
+ * d'autres threads (imports asynchrones) ne sont pas comptés.
+ */
+@Slf4j
+@Service
+public class ResourceUsageService {
+
+    private static final double[] PERCENTILES = { 0.5, 0.99 };
+
+    private final MeterRegistry registry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean allocationActive;
+    private final boolean cpuActive;
+
+    private final Map<String, Compteurs> compteurs = new ConcurrentHashMap<>();
+
+    private record Compteurs(DistributionSummary allocation, Timer cpu) {}
+
+    public ResourceUsageService(MeterRegistry registry) {
+        this.registry = registry;
+        com.sun.management.ThreadMXBean bean = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean sun) {
+            bean = sun;
+        }
+        this.threads = bean;
+        this.allocationActive = bean != null && bean.isThreadAllocatedMemorySupported()
+                             && bean.isThreadAllocatedMemoryEnabled();
+        this.cpuActive = bean != null && bean.isCurrentThreadCpuTimeSupported()
+                      && bean.isThreadCpuTimeEnabled();
+        if (!allocationActive || !cpuActive)
+            log.warn("Mesure par thread indisponible (allocation={}, cpu={})", allocationActive, cpuActive);
+    }
+
+    public boolean isActif() {
+        return allocationActive || cpuActive;
+    }
+
+    public long octetsAlloues() {
+        return allocationActive ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    public long tempsCpu() {
+        return cpuActive ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    public void enregistrer(String methode, String endpoint, long octets, long cpuNanos) {
+        Compteurs c = compteurs.computeIfAbsent(methode + ' ' + endpoint, cle -> new Compteurs(
+            DistributionSummary.builder("morphology.http.allocated")
+                .tag("method", methode)
+                .tag("endpoint", endpoint)
+                .baseUnit("bytes")
+                .description("Octets alloués par requête sur le thread de traitement")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(4.0 * 1024 * 1024 * 1024)
+                .register(registry),
+            Timer.builder("morphology.http.cpu")
+                .tag("method", methode)
+                .tag("endpoint", endpoint)
+                .description("Temps CPU par requête sur le thread de traitement")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry)));
+        if (allocationActive) c.allocation().record(octets);
+        if (cpuActive) c.cpu().record(cpuNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ================================================================
+    // Lecture (endpoint /statistics/resources)
+    // ================================================================
+
+    public List<ResourceUsageResponse> getConsommations() {
+        List<ResourceUsageResponse> liste = new ArrayList<>();
+        compteurs.forEach((endpoint, c) -> {
+            ResourceUsageResponse reponse = new ResourceUsageResponse();
+            reponse.setEndpoint(endpoint);
+
+            DistributionSummary allocation = c.allocation();
+            reponse.setCount(allocation.count());
+            reponse.setAllocatedMeanBytes(allocation.mean());
+            reponse.setAllocatedMaxBytes(allocation.max());
+            reponse.setAllocatedTotalBytes(allocation.totalAmount());
+            for (ValueAtPercentile valeur : allocation.takeSnapshot().percentileValues()) {
+                if (valeur.percentile() == 0.5) reponse.setAllocatedP50Bytes(valeur.value());
+                else if (valeur.percentile() == 0.99) reponse.setAllocatedP99Bytes(valeur.value());
+            }
+
+            Timer cpu = c.cpu();
+            HistogramSnapshot snapshot = cpu.takeSnapshot();
+            reponse.setCpuMeanMs(cpu.mean(TimeUnit.MILLISECONDS));
+            reponse.setCpuMaxMs(cpu.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile valeur : snapshot.percentileValues()) {
+                double ms = valeur.value(TimeUnit.MILLISECONDS);
+                if (valeur.percentile() == 0.5) reponse.setCpuP50Ms(ms);
+                else if (valeur.percentile() == 0.99) reponse.setCpuP99Ms(ms);
+            }
+            liste.add(reponse);
+        });
+        liste.sort((a, b) -> Double.compare(b.getAllocatedTotalBytes(), a.getAllocatedTotalBytes()));
+        return liste;
+    }
+}
@@ -2,31 +2,128 @@ package com.morphology.service;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.RootsPageResponse;
+import com.morphology.exception.LexiqueLectureSeuleException;
+import com.morphology.jfr.RebalanceEvent;
 import com.morphology.model.ArbreAVL;
+import com.morphology.model.LexiqueCompile;
+import com.morphology.model.Mutation;
 import com.morphology.model.NoeudAVL;
+import com.morphology.model.RapportImport;
 import com.morphology.model.Root;
 import com.morphology.model.RootType;
-import com.morphology.util.ValidationUtils;
+import com.morphology.model.VueRacines;
+import com.morphology.util.ArchiveUtils;
+import com.morphology.util.FileUtils;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class RootService {
 
-    private final ArbreAVL arbreRacines = new ArbreAVL();
+    // L'AVL n'est pas thread-safe : lectures partagées, écritures exclusives.
+    // Le rechargement d'un fichier y substitue un nouvel arbre (sous ce verrou).
+    private ArbreAVL arbreRacines = new ArbreAVL();
 
-    @Autowired
-    private MorphoAnalyzer morphoAnalyzer;
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    // Version du lexique, incrémentée à chaque ajout/suppression de racine
+    private final AtomicLong version = new AtomicLong();
+
+    // Compteurs servis en temps constant par /statistics, tenus à jour à chaque
+    // mutation. Le nombre de racines est écrit sous verrou d'écriture ; les
+    // dérivés, enregistrés sous simple verrou de lecture, utilisent des
+    // LongAdder pour ne pas faire converger tous les threads sur un même compteur.
+    private volatile int nombreRacines;
+    private final LongAdder nombreDerives    = new LongAdder();
+    private final LongAdder frequenceDerives = new LongAdder();
+    private final Map<RootType, LongAdder> racinesParType = compteursParType();
+    private final LongAdder racinesHamza = new LongAdder();
+
+    // Usage des schèmes, cumulé depuis le démarrage : dérivés distincts
+    // apparus et occurrences enregistrées par schème
+    private final Map<String, UsageScheme> usageSchemes = new ConcurrentHashMap<>();
+
+    public record UsageScheme(LongAdder derives, LongAdder occurrences) {}
+
+    // Prévenu à la première utilisation d'un schème (export des métriques)
+    private volatile Consumer<String> observateurSchemes = nom -> {};
+
+    public void setObservateurSchemes(Consumer<String> observateur) {
+        this.observateurSchemes = observateur != null ? observateur : nom -> {};
+    }
+
+    private static Map<RootType, LongAdder> compteursParType() {
+        Map<RootType, LongAdder> compteurs = new EnumMap<>(RootType.class);
+        for (RootType type : RootType.values()) compteurs.put(type, new LongAdder());
+        return compteurs;
+    }
+
+    private final MorphoAnalyzer       morphoAnalyzer;
+    private final MorphologyProperties properties;
+
+    // Journal des mutations (aucun tant qu'il n'est pas activé)
+    private volatile MutationListener listener = MutationListener.AUCUN;
+
+    public void setMutationListener(MutationListener listener) {
+        this.listener = listener != null ? listener : MutationListener.AUCUN;
+    }
+
+    // Lexique compilé projeté en mémoire : s'il est actif, toutes les lectures
+    // de racines s'y font directement et l'AVL reste vide
+    private volatile LexiqueCompile lexiqueCompile;
+
+    public void activerLexiqueCompile(LexiqueCompile lexique) {
+        this.lexiqueCompile = lexique;
+        nombreRacines = lexique.getNombreRacines();
+        reinitialiserCompteurs();
+        nombreDerives.add(lexique.getNombreDerives());
+        frequenceDerives.add(lexique.frequenceTotaleDerives());
+        for (int i = 0; i < lexique.getNombreRacines(); i++) {
+            RootType type = lexique.type(i);
+            if (type != null) racinesParType.get(type).increment();
+            if (lexique.contientHamza(i)) racinesHamza.increment();
+        }
+        version.incrementAndGet();
+    }
+
+    public LexiqueCompile getLexiqueCompile() {
+        return lexiqueCompile;
+    }
+
+    public boolean estLectureSeule() {
+        return lexiqueCompile != null;
+    }
+
+    private void verifierEcriture() {
+        if (lexiqueCompile != null) {
+            throw new LexiqueLectureSeuleException("Lexique compilé en lecture seule : modification impossible.");
+        }
+    }
 
     // ================================================================
     // addRoot
@@ -39,6 +136,7 @@ public class RootService {
         if (rootText == null || rootText.isBlank()) {
             throw new IllegalArgumentException("La racine ne peut pas être vide.");
         }
+        verifierEcriture();
 
         // FIX #2 : utiliser analyserRacine() comme source unique de vérité.
         // Ancien code : ValidationUtils.estRacineValide() était appelé EN PREMIER,
@@ -51,29 +149,47 @@ public class RootService {
             throw new IllegalArgumentException(analysis.getErrorMessage());
         }
 
-        // Déjà existante ?
-        if (arbreRacines.existe(rootText)) {
-            log.warn("Racine déjà présente: {}", rootText);
-            return false;
-        }
-
-        // Insertion dans l'AVL
-        boolean added = arbreRacines.inserer(rootText);
+        boolean added;
+        CompletableFuture<Void> journalise = null;
+        RebalanceEvent event = new RebalanceEvent();
+        verrou.writeLock().lock();
+        try {
+            event.begin();
+            long rotations = ArbreAVL.getNombreRotations();
+            // Déjà existante ?
+            if (arbreRacines.existe(rootText)) {
+                log.warn("Racine déjà présente: {}", rootText);
+                return false;
+            }
 
-        if (added) {
-            // Stocker le type calculé dans le noeud (cache)
-            NoeudAVL noeud = arbreRacines.rechercher(rootText);
-            if (noeud != null) {
-                noeud.setTypeMorphologique(analysis.getType());
-                // FIX #3 : stocker également le flag contientHamza dans le noeud
-                // pour éviter de recalculer lors des transformations
-                noeud.setContientHamza(analysis.isContientHamza());
-                log.info("✅ '{}' ajoutée (Type: {} — {})",
-                    rootText, analysis.getType().getNomArabe(),
-                    analysis.getType().getNomFrancais());
+            // Insertion dans l'AVL
+            added = arbreRacines.inserer(rootText);
+
+            if (added) {
+                version.incrementAndGet();
+                nombreRacines++;
+                journalise = listener.enregistrer(Mutation.racineAjoutee(rootText));
+                // Stocker le type calculé dans le noeud (cache)
+                NoeudAVL noeud = arbreRacines.rechercher(rootText);
+                if (noeud != null) {
+                    noeud.setTypeMorphologique(analysis.getType());
+                    // FIX #3 : stocker également le flag contientHamza dans le noeud
+                    // pour éviter de recalculer lors des transformations
+                    noeud.setContientHamza(analysis.isContientHamza());
+                    ajouterCompteurs(noeud);
+                }
+                tracerRotations(event, "insert", rotations, 1);
             }
+        } finally {
+            verrou.writeLock().unlock();
         }
+        if (journalise != null) journalise.join();
 
+        if (added) {
+            log.info("✅ '{}' ajoutée (Type: {} — {})",
+                rootText, analysis.getType().getNomArabe(),
+                analysis.getType().getNomFrancais());
+        }
         return added;
     }
 
@@ -85,7 +201,17 @@ public class RootService {
         // FIX #4 : ne pas appeler rechercher() avec null → NullPointerException dans AVL
         if (root == null || root.isBlank()) return null;
         log.debug("Recherche: {}", root);
-        return arbreRacines.rechercher(root);
+        LexiqueCompile lexique = lexiqueCompile;
+        if (lexique != null) {
+            int i = lexique.indice(root);
+            return i < 0 ? null : lexique.noeud(i);
+        }
+        verrou.readLock().lock();
+        try {
+            return arbreRacines.rechercher(root);
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 
     // ================================================================
@@ -100,8 +226,7 @@ public class RootService {
         if (noeud.getTypeMorphologique() == null) {
             Root analysis = morphoAnalyzer.analyserRacine(rootText);
             if (analysis.isValid()) {
-                noeud.setTypeMorphologique(analysis.getType());
-                noeud.setContientHamza(analysis.isContientHamza()); // FIX #3
+                mettreEnCacheType(noeud, analysis.getType(), analysis.isContientHamza()); // FIX #3
                 log.info("Type mis en cache pour: {}", rootText);
             }
         }
@@ -117,11 +242,25 @@ public class RootService {
     public void setRootType(String rootText, RootType type) {
         NoeudAVL noeud = searchRoot(rootText);
         if (noeud != null) {
-            noeud.setTypeMorphologique(type);
+            mettreEnCacheType(noeud, type, noeud.isContientHamza());
             log.debug("Type '{}' mis en cache pour '{}'", type.getNomArabe(), rootText);
         }
     }
 
+    /**
+     * Modifier le type en cache d'un noeud, en gardant les compteurs par type
+     * justes (les vues du lexique compilé ne sont pas comptées)
+     */
+    private void mettreEnCacheType(NoeudAVL noeud, RootType type, boolean hamza) {
+        synchronized (noeud) {
+            boolean compte = lexiqueCompile == null;
+            if (compte) compterType(noeud, -1);
+            noeud.setTypeMorphologique(type);
+            noeud.setContientHamza(hamza);
+            if (compte) compterType(noeud, 1);
+        }
+    }
+
     // ================================================================
     // getRootExplanation
     // ================================================================
@@ -148,7 +287,14 @@ public class RootService {
     public boolean rootExists(String root) {
         // FIX #4 : protection null
         if (root == null || root.isBlank()) return false;
-        return arbreRacines.existe(root);
+        LexiqueCompile lexique = lexiqueCompile;
+        if (lexique != null) return lexique.contient(root);
+        verrou.readLock().lock();
+        try {
+            return arbreRacines.existe(root);
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 
     // ================================================================
@@ -157,8 +303,28 @@ public class RootService {
 
     public boolean deleteRoot(String root) {
         if (root == null || root.isBlank()) return false;
+        verifierEcriture();
         log.debug("Suppression: {}", root);
-        boolean deleted = arbreRacines.supprimer(root);
+        boolean deleted;
+        CompletableFuture<Void> journalise = null;
+        RebalanceEvent event = new RebalanceEvent();
+        verrou.writeLock().lock();
+        try {
+            event.begin();
+            long rotations = ArbreAVL.getNombreRotations();
+            NoeudAVL noeud = arbreRacines.rechercher(root);
+            deleted = noeud != null && arbreRacines.supprimer(root);
+            if (deleted) {
+                retirerCompteurs(noeud);
+                version.incrementAndGet();
+                nombreRacines--;
+                journalise = listener.enregistrer(Mutation.racineSupprimee(root));
+                tracerRotations(event, "delete", rotations, 1);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        if (journalise != null) journalise.join();
         if (deleted) log.info("Racine supprimée: {}", root);
         return deleted;
     }
@@ -171,9 +337,9 @@ public class RootService {
         // FIX #7 : page et limit non validés → IndexOutOfBoundsException possible.
         // Ancien code : start = (page-1)*limit pouvait être négatif si page=0.
         if (page < 1) page = 1;
-        if (limit < 1) limit = 10;
+        limit = limiteEffective(limit);
 
-        List<String> allRoots = arbreRacines.parcourirInfixe();
+        List<String> allRoots = parcourirInfixe();
 
         if (search != null && !search.isEmpty()) {
             allRoots = allRoots.stream()
@@ -181,11 +347,112 @@ public class RootService {
                 .toList();
         }
 
-        int start = (page - 1) * limit;
+        long start = (long) (page - 1) * limit;
         if (start >= allRoots.size()) return new ArrayList<>();
 
-        int end = Math.min(start + limit, allRoots.size());
-        return allRoots.subList(start, end);
+        int end = (int) Math.min(start + limit, allRoots.size());
+        return allRoots.subList((int) start, end);
+    }
+
+    /**
+     * Taille de page demandée, ramenée entre 1 (10 par défaut) et
+     * morphology.pagination.max-limit
+     */
+    public int limiteEffective(int limit) {
+        if (limit < 1) return 10;
+        return Math.min(limit, Math.max(1, properties.getPagination().getMaxLimit()));
+    }
+
+    // ================================================================
+    // getRootsPage — pagination par curseur (keyset)
+    // Le curseur encode la dernière clé renvoyée et la version du lexique :
+    // la page suivante reprend directement après cette clé dans l'AVL,
+    // sans décalage si des racines sont ajoutées/supprimées entre deux appels.
+    // ================================================================
+
+    public RootsPageResponse getRootsPage(String search, String cursor, int limit) {
+        limit = limiteEffective(limit);
+        String prefixe = search != null ? search : "";
+
+        String apres = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Curseur c = decoderCurseur(cursor);
+            apres = c.cle();
+            if (c.version() != version.get()) {
+                log.debug("Curseur émis en version {}, lexique en version {}",
+                    c.version(), version.get());
+            }
+        }
+
+        // limit + 1 éléments : le dernier indique seulement s'il reste une page.
+        // La liste grandit au fil du parcours (la page peut être courte)
+        List<String> roots = new ArrayList<>();
+        long versionCourante;
+        LexiqueCompile lexique = lexiqueCompile;
+        if (lexique != null) {
+            lexique.parcourirApres(apres, prefixe, limit + 1, roots);
+            versionCourante = version.get();
+        } else {
+            verrou.readLock().lock();
+            try {
+                arbreRacines.parcourirApres(apres, prefixe, limit + 1, roots);
+                versionCourante = version.get();
+            } finally {
+                verrou.readLock().unlock();
+            }
+        }
+
+        String nextCursor = null;
+        if (roots.size() > limit) {
+            roots = roots.subList(0, limit);
+            nextCursor = encoderCurseur(new Curseur(versionCourante, roots.get(limit - 1)));
+        }
+
+        return new RootsPageResponse(roots, 0, -1, -1, nextCursor, versionCourante);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Curseur permettant de reprendre la pagination juste après {@code derniereCle}
+     */
+    public String creerCurseur(String derniereCle) {
+        return encoderCurseur(new Curseur(version.get(), derniereCle));
+    }
+
+    private record Curseur(long version, String cle) {}
+
+    private String encoderCurseur(Curseur c) {
+        String brut = c.version() + ":" + c.cle();
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(brut.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Curseur decoderCurseur(String cursor) {
+        try {
+            String brut = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = brut.indexOf(':');
+            return new Curseur(Long.parseLong(brut.substring(0, sep)), brut.substring(sep + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide.");
+        }
+    }
+
+    private List<String> parcourirInfixe() {
+        LexiqueCompile lexique = lexiqueCompile;
+        if (lexique != null) {
+            List<String> racines = new ArrayList<>(lexique.getNombreRacines());
+            for (int i = 0; i < lexique.getNombreRacines(); i++) racines.add(lexique.racine(i));
+            return racines;
+        }
+        verrou.readLock().lock();
+        try {
+            return arbreRacines.parcourirInfixe();
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 
     // ================================================================
@@ -193,7 +460,7 @@ public class RootService {
     // ================================================================
 
     public int getTotalRoots(String search) {
-        List<String> allRoots = arbreRacines.parcourirInfixe();
+        List<String> allRoots = parcourirInfixe();
         if (search != null && !search.isEmpty()) {
             return (int) allRoots.stream()
                 .filter(r -> r.startsWith(search))
@@ -213,38 +480,291 @@ public class RootService {
         }
 
         log.info("Chargement depuis: {}", file.getOriginalFilename());
-        int count = 0, skipped = 0;
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-
-            String line;
-            int lineNum = 0;
-
-            while ((line = reader.readLine()) != null) {
-                lineNum++;
-                line = line.trim();
-
-                if (line.isEmpty() || line.startsWith("#")) continue;
-
-                // FIX #2 : validation via analyserRacine() uniquement,
-                // pas de double-validation avec ValidationUtils
-                try {
-                    if (addRoot(line)) {
-                        count++;
-                    } else {
-                        skipped++; // doublon
-                        log.debug("Doublon ligne {}: {}", lineNum, line);
-                    }
-                } catch (IllegalArgumentException e) {
-                    skipped++;
-                    log.warn("Ligne {} ignorée — '{}' : {}", lineNum, line, e.getMessage());
+
+        RapportImport rapport;
+        try (InputStream flux = file.getInputStream()) {
+            rapport = importerFlux(flux);
+        }
+
+        log.info("✅ Chargement terminé : {} ajoutées, {} ignorées",
+            rapport.getAjoutes(), rapport.getNombreRejets());
+        return rapport.getAjoutes();
+    }
+
+    // ================================================================
+    // importerFlux — texte brut, gzip ou archive zip multi-fichiers,
+    // décompressé et décodé en flux puis ingéré par lots
+    // ================================================================
+
+    public RapportImport importerFlux(InputStream flux) throws IOException {
+        RapportImport total = new RapportImport();
+        ArchiveUtils.parcourir(flux, (nom, lecteur) -> total.fusionner(importerLecteur(lecteur), nom));
+        return total;
+    }
+
+    public RapportImport importerLecteur(BufferedReader lecteur) throws IOException {
+        RapportImport rapport = new RapportImport();
+        FileUtils.lireParLots(lecteur, properties.getImports().getBatchSize(),
+            (lignes, premiereLigne) -> rapport.fusionner(importerRacines(lignes, premiereLigne)));
+        return rapport;
+    }
+
+    // ================================================================
+    // importerRacines — chargement en masse
+    // Au lieu d'un addRoot() par ligne (analyse + existe + inserer +
+    // rechercher, soit trois descentes et des rotations par racine) :
+    //   1. analyse des lignes en parallèle (MorphoAnalyzer est sans état)
+    //   2. tri + dédoublonnage
+    //   3. fusion avec les racines existantes (déjà triées par l'infixe)
+    //      puis construction ascendante d'un AVL parfaitement équilibré, O(n)
+    // Si le lot est petit devant l'arbre, les insertions unitaires
+    // (m·log n) restent moins chères qu'une reconstruction (n + m).
+    // ================================================================
+
+    public RapportImport importerRacines(List<String> lignes, int premiereLigne) {
+        return importerRacines(lignes, i -> premiereLigne + i);
+    }
+
+    /**
+     * Variante pour des lignes non contiguës : {@code numeroLigne} donne
+     * le numéro dans le fichier source de la i-ème ligne du lot
+     */
+    public RapportImport importerRacines(List<String> lignes, IntUnaryOperator numeroLigne) {
+        verifierEcriture();
+        RapportImport rapport = new RapportImport();
+        List<Candidat> valides = analyserLot(lignes, numeroLigne, rapport);
+
+        List<Mutation> ajoutees = new ArrayList<>(valides.size());
+        CompletableFuture<Void> journalise = null;
+        RebalanceEvent event = new RebalanceEvent();
+        verrou.writeLock().lock();
+        try {
+            event.begin();
+            long rotations = ArbreAVL.getNombreRotations();
+            int existantes = nombreRacines;
+            int hauteur = arbreRacines.estVide() ? 0 : arbreRacines.getNoeud().getHauteur();
+            if (existantes > 0 && (long) valides.size() * hauteur < existantes) {
+                insererUnitairement(valides, rapport, ajoutees);
+                tracerRotations(event, "batchInsert", rotations, ajoutees.size());
+            } else {
+                fusionnerEtReconstruire(valides, rapport, ajoutees);
+                tracerRotations(event, "rebuild", rotations, ajoutees.size());
+            }
+            if (!ajoutees.isEmpty()) {
+                version.incrementAndGet();
+                rapport.incrementerVersions();
+                journalise = listener.enregistrer(ajoutees);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        if (journalise != null) journalise.join();
+
+        rapport.getRejets().sort((a, b) -> Integer.compare(a.getNumeroLigne(), b.getNumeroLigne()));
+        return rapport;
+    }
+
+    /**
+     * Analyse hors verrou d'un lot : lignes valides, triées et sans doublon,
+     * chacune avec son noeud prêt à insérer. Les rejets vont dans le rapport.
+     */
+    private List<Candidat> analyserLot(List<String> lignes, IntUnaryOperator numeroLigne,
+                                       RapportImport rapport) {
+        List<Candidat> candidats = new ArrayList<>();
+        for (int i = 0; i < lignes.size(); i++) {
+            String line = lignes.get(i) == null ? "" : lignes.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            candidats.add(new Candidat(numeroLigne.applyAsInt(i), line));
+        }
+
+        // Tri stable : en cas de doublon, la première ligne du fichier l'emporte.
+        // Trier avant l'analyse permet de n'analyser qu'une fois chaque racine.
+        candidats.sort((a, b) -> a.texte.compareTo(b.texte));
+        List<Candidat> uniques = new ArrayList<>(candidats.size());
+        Candidat premier = null;
+        for (Candidat c : candidats) {
+            if (premier != null && premier.texte.equals(c.texte)) {
+                c.premier = premier;
+            } else {
+                premier = c;
+                uniques.add(c);
+            }
+        }
+
+        // FIX #2 : validation via analyserRacine() uniquement
+        uniques.parallelStream()
+            .forEach(c -> c.analyse = morphoAnalyzer.analyserRacine(c.texte));
+
+        List<Candidat> valides = new ArrayList<>(uniques.size());
+        for (Candidat c : candidats) {
+            Root analyse = c.premier != null ? c.premier.analyse : c.analyse;
+            if (!analyse.isValid()) {
+                rapport.rejeter(c.numero, c.texte, analyse.getErrorMessage());
+                log.warn("Ligne {} ignorée — '{}' : {}", c.numero, c.texte, analyse.getErrorMessage());
+            } else if (c.premier != null) {
+                rejeterDoublon(rapport, c);
+            } else {
+                NoeudAVL noeud = new NoeudAVL(c.texte);
+                noeud.setTypeMorphologique(analyse.getType());
+                noeud.setContientHamza(analyse.isContientHamza());
+                c.noeud = noeud;
+                valides.add(c);
+            }
+        }
+        return valides;
+    }
+
+    // ================================================================
+    // rechargerRacines — surveillance des fichiers
+    // Le fichier devient la liste complète des racines. Lecture et analyse
+    // (l'essentiel du coût) se font hors verrou ; sous verrou d'écriture ne
+    // reste qu'une fusion linéaire avec l'arbre courant, qui réutilise les
+    // noeuds conservés (dérivés et fréquences inclus), puis la substitution
+    // du nouvel arbre.
+    // ================================================================
+
+    public RapportImport rechargerRacines(InputStream flux) throws IOException {
+        verifierEcriture();
+        RapportImport rapport = new RapportImport();
+        List<String> lignes = new ArrayList<>();
+        List<Integer> numeros = new ArrayList<>();
+        ArchiveUtils.parcourir(flux, (fichier, lecteur) ->
+            FileUtils.lireParLots(lecteur, properties.getImports().getBatchSize(), (lot, premiereLigne) -> {
+                for (int i = 0; i < lot.size(); i++) {
+                    lignes.add(lot.get(i));
+                    numeros.add(premiereLigne + i);
+                }
+            }));
+
+        List<Candidat> valides = analyserLot(lignes, numeros::get, rapport);
+        rapport.getRejets().sort((a, b) -> Integer.compare(a.getNumeroLigne(), b.getNumeroLigne()));
+        if (valides.isEmpty()) {
+            log.warn("Rechargement des racines ignoré : aucune racine valide dans le fichier");
+            return rapport;
+        }
+
+        List<Mutation> mutations = new ArrayList<>();
+        List<NoeudAVL> retirer = new ArrayList<>();
+        List<NoeudAVL> ajoutes = new ArrayList<>();
+        CompletableFuture<Void> journalise = null;
+        verrou.writeLock().lock();
+        try {
+            List<NoeudAVL> existants = arbreRacines.obtenirTousLesNoeuds();
+            List<NoeudAVL> fusion = new ArrayList<>(valides.size());
+            int i = 0;
+            for (Candidat c : valides) {
+                while (i < existants.size() && existants.get(i).getRacine().compareTo(c.texte) < 0) {
+                    retirer.add(existants.get(i));
+                    mutations.add(Mutation.racineSupprimee(existants.get(i++).getRacine()));
+                }
+                if (i < existants.size() && existants.get(i).getRacine().equals(c.texte)) {
+                    fusion.add(existants.get(i++));
+                } else {
+                    fusion.add(c.noeud);
+                    ajoutes.add(c.noeud);
+                    mutations.add(Mutation.racineAjoutee(c.texte));
+                    rapport.incrementerAjoutes();
                 }
             }
+            while (i < existants.size()) {
+                retirer.add(existants.get(i));
+                mutations.add(Mutation.racineSupprimee(existants.get(i++).getRacine()));
+            }
+
+            if (!mutations.isEmpty()) {
+                ArbreAVL nouvelArbre = new ArbreAVL();
+                nouvelArbre.construireDepuisTriee(fusion);
+                arbreRacines = nouvelArbre;
+                retirer.forEach(this::retirerCompteurs);
+                ajoutes.forEach(this::ajouterCompteurs);
+                nombreRacines = fusion.size();
+                version.incrementAndGet();
+                journalise = listener.enregistrer(mutations);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        if (journalise != null) journalise.join();
+
+        log.info("🔄 Racines rechargées : {} ajoutées, {} supprimées, {} lignes rejetées",
+            rapport.getAjoutes(), retirer.size(), rapport.getNombreRejets());
+        return rapport;
+    }
+
+    /** Appelé sous verrou d'écriture */
+    private void insererUnitairement(List<Candidat> valides, RapportImport rapport,
+                                     List<Mutation> ajoutees) {
+        for (Candidat c : valides) {
+            if (!arbreRacines.inserer(c.texte)) {
+                rejeterDoublon(rapport, c);
+                continue;
+            }
+            NoeudAVL noeud = arbreRacines.rechercher(c.texte);
+            noeud.setTypeMorphologique(c.analyse.getType());
+            noeud.setContientHamza(c.analyse.isContientHamza());
+            ajouterCompteurs(noeud);
+            nombreRacines++;
+            rapport.incrementerAjoutes();
+            ajoutees.add(Mutation.racineAjoutee(c.texte));
+        }
+    }
+
+    /** Appelé sous verrou d'écriture */
+    private void fusionnerEtReconstruire(List<Candidat> valides, RapportImport rapport,
+                                         List<Mutation> ajoutees) {
+        List<NoeudAVL> existants = arbreRacines.obtenirTousLesNoeuds();
+        List<NoeudAVL> fusion = new ArrayList<>(existants.size() + valides.size());
+
+        int i = 0;
+        for (Candidat c : valides) {
+            while (i < existants.size()
+                    && existants.get(i).getRacine().compareTo(c.texte) < 0) {
+                fusion.add(existants.get(i++));
+            }
+            if (i < existants.size() && existants.get(i).getRacine().equals(c.texte)) {
+                rejeterDoublon(rapport, c);
+                continue;
+            }
+            fusion.add(c.noeud);
+            ajouterCompteurs(c.noeud);
+            rapport.incrementerAjoutes();
+            ajoutees.add(Mutation.racineAjoutee(c.texte));
+        }
+        while (i < existants.size()) {
+            fusion.add(existants.get(i++));
         }
 
-        log.info("✅ Chargement terminé : {} ajoutées, {} ignorées", count, skipped);
-        return count;
+        arbreRacines.construireDepuisTriee(fusion);
+        nombreRacines = fusion.size();
+    }
+
+    /** Appelé sous verrou d'écriture, après la modification de l'arbre */
+    private void tracerRotations(RebalanceEvent event, String operation, long rotationsAvant, int racines) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.roots = racines;
+            event.rotations = ArbreAVL.getNombreRotations() - rotationsAvant;
+            event.treeSize = nombreRacines;
+            event.commit();
+        }
+    }
+
+    private void rejeterDoublon(RapportImport rapport, Candidat c) {
+        rapport.rejeter(c.numero, c.texte, "Racine déjà présente");
+        log.debug("Doublon ligne {}: {}", c.numero, c.texte);
+    }
+
+    private static class Candidat {
+        final int numero;
+        final String texte;
+        Root analyse;
+        NoeudAVL noeud;
+        Candidat premier; // première occurrence si la ligne est un doublon
+
+        Candidat(int numero, String texte) {
+            this.numero = numero;
+            this.texte = texte;
+        }
     }
 
     // ================================================================
@@ -252,6 +772,14 @@ public class RootService {
     // ================================================================
 
     public boolean addDerivativeToRoot(String root, String derivative) {
+        return addDerivativeToRoot(root, derivative, null);
+    }
+
+    /**
+     * Enregistrer un dérivé obtenu avec le schème {@code scheme}
+     * (comptabilisé dans l'usage du schème s'il est connu)
+     */
+    public boolean addDerivativeToRoot(String root, String derivative, String scheme) {
         // FIX #9 : dérivé null/vide non vérifié → données corrompues dans le noeud.
         if (root == null || root.isBlank()) return false;
         if (derivative == null || derivative.isBlank()) {
@@ -259,23 +787,219 @@ public class RootService {
             return false;
         }
 
-        NoeudAVL noeud = searchRoot(root);
-        if (noeud == null) return false;
+        // Lexique compilé : fréquences figées, l'enregistrement est ignoré
+        if (lexiqueCompile != null) return false;
+
+        // Verrou de lecture conservé : une suppression concurrente ne peut pas
+        // retirer le noeud (et ses compteurs) entre la recherche et l'ajout
+        verrou.readLock().lock();
+        try {
+            NoeudAVL noeud = arbreRacines.rechercher(root);
+            if (noeud == null) return false;
+
+            // La liste des dérivés est propre au noeud : verrou local
+            synchronized (noeud) {
+                boolean nouveau = noeud.ajouterDerive(derivative);
+                if (nouveau) nombreDerives.increment();
+                noeud.incrementerFrequenceRacine();
+                frequenceDerives.increment();
+                if (scheme != null) compterUsage(scheme, nouveau);
+                listener.deriveEnregistre(root, derivative);
+            }
+            return true;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rejouer des occurrences cumulées d'un dérivé (journal des mutations)
+     */
+    public boolean appliquerDerive(String root, String derivative, int occurrences) {
+        if (lexiqueCompile != null) return false;
+        if (root == null || occurrences <= 0) return false;
+
+        verrou.readLock().lock();
+        try {
+            NoeudAVL noeud = arbreRacines.rechercher(root);
+            if (noeud == null) return false;
+
+            synchronized (noeud) {
+                if (noeud.ajouterDerive(derivative, occurrences)) nombreDerives.increment();
+                noeud.setFrequenceRacine(noeud.getFrequenceRacine() + occurrences);
+                frequenceDerives.add(occurrences);
+            }
+            return true;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    private void compterUsage(String scheme, boolean nouveau) {
+        UsageScheme usage = usageSchemes.get(scheme);
+        if (usage == null) {
+            usage = usageSchemes.computeIfAbsent(scheme, nom -> new UsageScheme(new LongAdder(), new LongAdder()));
+            observateurSchemes.accept(scheme);
+        }
+        if (nouveau) usage.derives().increment();
+        usage.occurrences().increment();
+    }
+
+    /** Appelé sous verrou d'écriture, pour un noeud entré dans l'arbre */
+    private void ajouterCompteurs(NoeudAVL noeud) {
+        synchronized (noeud) {
+            nombreDerives.add(noeud.getNombreDerives());
+            frequenceDerives.add(noeud.getFrequenceTotaleDerives());
+            compterType(noeud, 1);
+        }
+    }
 
-        noeud.ajouterDerive(derivative);
-        noeud.incrementerFrequenceRacine();
-        return true;
+    /** Appelé sous verrou d'écriture, pour un noeud sorti de l'arbre */
+    private void retirerCompteurs(NoeudAVL noeud) {
+        synchronized (noeud) {
+            nombreDerives.add(-noeud.getNombreDerives());
+            frequenceDerives.add(-noeud.getFrequenceTotaleDerives());
+            compterType(noeud, -1);
+        }
+    }
+
+    private void compterType(NoeudAVL noeud, int signe) {
+        if (noeud.getTypeMorphologique() != null) {
+            racinesParType.get(noeud.getTypeMorphologique()).add(signe);
+        }
+        if (noeud.isContientHamza()) racinesHamza.add(signe);
+    }
+
+    private void reinitialiserCompteurs() {
+        nombreDerives.reset();
+        frequenceDerives.reset();
+        racinesParType.values().forEach(LongAdder::reset);
+        racinesHamza.reset();
     }
 
     // ================================================================
-    // getAllNodes / getRootCount
+    // remplacerRacines — restauration d'une sauvegarde
     // ================================================================
 
+    /**
+     * Remplacer tout le lexique par des noeuds triés et sans doublons
+     */
+    public void remplacerRacines(List<NoeudAVL> noeudsTries) {
+        verifierEcriture();
+        verrou.writeLock().lock();
+        try {
+            arbreRacines.construireDepuisTriee(noeudsTries);
+            nombreRacines = noeudsTries.size();
+            // Les noeuds restaurés portent déjà leurs dérivés : recompter une fois
+            reinitialiserCompteurs();
+            noeudsTries.forEach(this::ajouterCompteurs);
+            version.incrementAndGet();
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // ================================================================
+    // getAllNodes / compteurs
+    // ================================================================
+
+    /**
+     * Copie de tous les noeuds, dérivés compris. En lecture seule, chaque
+     * noeud est reconstruit depuis le fichier : réservé à la sauvegarde et
+     * à la compilation, les parcours passent par {@link #getVueRacines()}.
+     */
     public List<NoeudAVL> getAllNodes() {
-        return arbreRacines.obtenirTousLesNoeuds();
+        LexiqueCompile lexique = lexiqueCompile;
+        if (lexique != null) {
+            List<NoeudAVL> noeuds = new ArrayList<>(lexique.getNombreRacines());
+            for (int i = 0; i < lexique.getNombreRacines(); i++) noeuds.add(lexique.noeud(i));
+            return noeuds;
+        }
+        verrou.readLock().lock();
+        try {
+            return arbreRacines.obtenirTousLesNoeuds();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lecture indexée des racines pour un parcours (clé, type, hamza).
+     * En lecture seule, le fichier projeté est lu directement.
+     */
+    public VueRacines getVueRacines() {
+        LexiqueCompile lexique = lexiqueCompile;
+        if (lexique != null) return lexique;
+        verrou.readLock().lock();
+        try {
+            return VueRacines.de(arbreRacines.obtenirTousLesNoeuds());
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 
     public int getRootCount() {
-        return arbreRacines.getNombreRacines();
+        return nombreRacines;
+    }
+
+    public long getNombreDerives() {
+        return nombreDerives.sum();
+    }
+
+    public long getFrequenceTotaleDerives() {
+        return frequenceDerives.sum();
+    }
+
+    public long getNombreRacines(RootType type) {
+        return racinesParType.get(type).sum();
+    }
+
+    public long getNombreRacinesHamza() {
+        return racinesHamza.sum();
+    }
+
+    public Map<String, UsageScheme> getUsageSchemes() {
+        return usageSchemes;
+    }
+
+    /**
+     * Hauteur de l'AVL (lue à la racine de l'arbre, sans parcours) ;
+     * en lecture seule, profondeur de la recherche dichotomique
+     */
+    public int getHauteurArbre() {
+        if (lexiqueCompile != null) return getHauteurOptimale();
+        verrou.readLock().lock();
+        try {
+            return arbreRacines.estVide() ? 0 : arbreRacines.getNoeud().getHauteur();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hauteur minimale d'un arbre binaire contenant toutes les racines : ⌈log2(n + 1)⌉
+     */
+    public int getHauteurOptimale() {
+        return 32 - Integer.numberOfLeadingZeros(nombreRacines);
+    }
+
+    /**
+     * Visiter chaque sous-arbre, sentinelles vides comprises, sous verrou de
+     * lecture (estimation de l'empreinte mémoire)
+     */
+    public void parcourirArbre(Consumer<ArbreAVL> visiteur) {
+        verrou.readLock().lock();
+        try {
+            ArrayDeque<ArbreAVL> pile = new ArrayDeque<>();
+            pile.push(arbreRacines);
+            while (!pile.isEmpty()) {
+                ArbreAVL arbre = pile.pop();
+                visiteur.accept(arbre);
+                if (arbre.getGauche() != null) pile.push(arbre.getGauche());
+                if (arbre.getDroit() != null) pile.push(arbre.getDroit());
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 }
\ No newline at end of file
@@ -1,109 +1,167 @@
 package com.morphology.service;
 
+import com.morphology.config.MorphologyProperties;
 import com.morphology.dto.response.SchemeResponse;
+import com.morphology.model.Mutation;
+import com.morphology.model.RapportImport;
 import com.morphology.model.Scheme;
 import com.morphology.model.TableHachage;
+import com.morphology.util.ArchiveUtils;
+import com.morphology.util.FileUtils;
 import com.morphology.util.ValidationUtils;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SchemeService {
     
-    private final TableHachage tableSchemes = new TableHachage();
-    private final List<String> schemeNames = new ArrayList<>();
+    private final MorphologyProperties properties;
+    
+    // Écritures sérialisées (méthodes synchronized) ; les lectures restent
+    // sans verrou : TableHachage publie ses maillons par des écritures
+    // volatiles (voir sa documentation) et la liste des noms est copiée à
+    // l'écriture. Table et noms forment un seul état, remplacé d'un bloc au
+    // rechargement ; chaque écriture lit l'état une fois et s'y tient.
+    private volatile Etat etat = new Etat(new TableHachage(), new CopyOnWriteArrayList<>());
+    
+    private record Etat(TableHachage table, List<String> noms) {}
+    
+    // Version de la table, incrémentée à chaque modification
+    private final AtomicLong version = new AtomicLong();
+    
+    // Journal des mutations (aucun tant qu'il n'est pas activé). Les mutations
+    // sont consignées sous le verrou mais attendues hors verrou : des écritures
+    // concurrentes partagent ainsi la même synchronisation disque.
+    private volatile MutationListener listener = MutationListener.AUCUN;
+    
+    public void setMutationListener(MutationListener listener) {
+        this.listener = listener != null ? listener : MutationListener.AUCUN;
+    }
     
     /**
      * Ajouter un schème
      */
     public boolean addScheme(String name, String rule) {
+        CompletableFuture<Void> journalise = ajouter(name, rule);
+        if (journalise == null) return false;
+        journalise.join();
+        return true;
+    }
+    
+    private synchronized CompletableFuture<Void> ajouter(String name, String rule) {
         log.debug("Ajout du schème: {} avec règle: {}", name, rule);
         
         if (!ValidationUtils.estRegleValide(rule)) {
             throw new IllegalArgumentException("La règle doit contenir les positions 1, 2 et 3");
         }
         
-        Scheme existing = tableSchemes.rechercher(name);
+        Etat courant = etat;
+        Scheme existing = courant.table().rechercher(name);
         if (existing != null) {
             log.warn("Le schème existe déjà: {}", name);
-            return false;
+            return null;
         }
         
         Scheme scheme = new Scheme(name, rule);
-        tableSchemes.inserer(name, scheme);
-        schemeNames.add(name);
+        courant.table().inserer(name, scheme);
+        courant.noms().add(name);
+        version.incrementAndGet();
         
         log.info("Schème ajouté avec succès: {}", name);
-        return true;
+        return listener.enregistrer(Mutation.schemeAjoute(name, rule));
     }
     
     /**
      * Mettre à jour un schème
      */
     public boolean updateScheme(String name, String newRule) {
+        CompletableFuture<Void> journalise = modifier(name, newRule);
+        if (journalise == null) return false;
+        journalise.join();
+        return true;
+    }
+    
+    private synchronized CompletableFuture<Void> modifier(String name, String newRule) {
         log.debug("Mise à jour du schème: {}", name);
         
         if (!ValidationUtils.estRegleValide(newRule)) {
             throw new IllegalArgumentException("La règle doit contenir les positions 1, 2 et 3");
         }
         
-        Scheme existing = tableSchemes.rechercher(name);
+        Etat courant = etat;
+        Scheme existing = courant.table().rechercher(name);
         if (existing == null) {
             log.warn("Schème non trouvé: {}", name);
-            return false;
+            return null;
         }
         
         Scheme updated = new Scheme(name, newRule);
-        tableSchemes.inserer(name, updated);
+        courant.table().inserer(name, updated);
+        version.incrementAndGet();
         
         log.info("Schème mis à jour: {}", name);
-        return true;
+        return listener.enregistrer(Mutation.schemeModifie(name, newRule));
     }
     
     /**
      * Supprimer un schème
      */
     public boolean deleteScheme(String name) {
+        CompletableFuture<Void> journalise = supprimer(name);
+        if (journalise == null) return false;
+        journalise.join();
+        return true;
+    }
+    
+    private synchronized CompletableFuture<Void> supprimer(String name) {
         log.debug("Suppression du schème: {}", name);
         
-        boolean deleted = tableSchemes.supprimer(name);
-        if (deleted) {
-            schemeNames.remove(name);
-            log.info("Schème supprimé: {}", name);
+        Etat courant = etat;
+        if (!courant.table().supprimer(name)) {
+            return null;
         }
-        return deleted;
+        courant.noms().remove(name);
+        version.incrementAndGet();
+        log.info("Schème supprimé: {}", name);
+        return listener.enregistrer(Mutation.schemeSupprime(name));
     }
     
     /**
      * Rechercher un schème
      */
     public Scheme searchScheme(String name) {
-        return tableSchemes.rechercher(name);
+        return etat.table().rechercher(name);
     }
     
     /**
      * Vérifier si un schème existe
      */
     public boolean schemeExists(String name) {
-        return tableSchemes.rechercher(name) != null;
+        return etat.table().rechercher(name) != null;
     }
     
     /**
      * Obtenir tous les schèmes
      */
     public List<SchemeResponse> getAllSchemes() {
+        Etat courant = etat;
         List<SchemeResponse> schemes = new ArrayList<>();
-        for (String name : schemeNames) {
-            Scheme scheme = tableSchemes.rechercher(name);
+        for (String name : courant.noms()) {
+            Scheme scheme = courant.table().rechercher(name);
             if (scheme != null) {
                 schemes.add(new SchemeResponse(scheme.getNom(), scheme.getRegle()));
             }
@@ -115,7 +173,11 @@ public class SchemeService {
      * Obtenir les noms de tous les schèmes
      */
     public List<String> getSchemeNames() {
-        return new ArrayList<>(schemeNames);
+        return new ArrayList<>(etat.noms());
+    }
+
+    public List<Scheme> getSchemes() {
+        return etat.table().getTousLesSchemes();
     }
     
     /**
@@ -124,28 +186,178 @@ public class SchemeService {
     public int loadSchemesFromFile(MultipartFile file) throws IOException {
         log.info("Chargement des schèmes depuis le fichier: {}", file.getOriginalFilename());
         
-        int count = 0;
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+        RapportImport rapport;
+        try (InputStream flux = file.getInputStream()) {
+            rapport = importerFlux(flux);
+        }
+        
+        log.info("{} schèmes chargés avec succès", rapport.getAjoutes());
+        return rapport.getAjoutes();
+    }
+    
+    /**
+     * Importer un flux texte, gzip ou zip (plusieurs fichiers possibles)
+     */
+    public RapportImport importerFlux(InputStream flux) throws IOException {
+        RapportImport total = new RapportImport();
+        ArchiveUtils.parcourir(flux, (nom, lecteur) -> total.fusionner(importerLecteur(lecteur), nom));
+        return total;
+    }
+    
+    /**
+     * Importer un fichier texte par lots, sans le charger entièrement
+     */
+    public RapportImport importerLecteur(BufferedReader lecteur) throws IOException {
+        RapportImport rapport = new RapportImport();
+        FileUtils.lireParLots(lecteur, properties.getImports().getBatchSize(),
+            (lignes, premiereLigne) -> rapport.fusionner(importerSchemes(lignes, premiereLigne)));
+        return rapport;
+    }
+    
+    /**
+     * Importer un lot de lignes au format nom|règle.
+     * Une ligne invalide est refusée sans interrompre le reste du lot.
+     */
+    public RapportImport importerSchemes(List<String> lignes, int premiereLigne) {
+        return importerSchemes(lignes, i -> premiereLigne + i);
+    }
+    
+    /**
+     * Variante pour des lignes non contiguës : {@code numeroLigne} donne
+     * le numéro dans le fichier source de la i-ème ligne du lot
+     */
+    public RapportImport importerSchemes(List<String> lignes, IntUnaryOperator numeroLigne) {
+        RapportImport rapport = new RapportImport();
+        ajouterLot(lignes, numeroLigne, rapport).join();
+        return rapport;
+    }
+    
+    private synchronized CompletableFuture<Void> ajouterLot(List<String> lignes, IntUnaryOperator numeroLigne,
+                                                            RapportImport rapport) {
+        Etat courant = etat;
+        List<String> nouveaux = new ArrayList<>();
+        List<Mutation> mutations = new ArrayList<>();
+        
+        for (int i = 0; i < lignes.size(); i++) {
+            String line = lignes.get(i) == null ? "" : lignes.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
             
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty() && !line.startsWith("#")) {
-                    String[] parts = line.split("\\|");
-                    if (parts.length == 2) {
-                        String name = parts[0].trim();
-                        String rule = parts[1].trim();
-                        if (addScheme(name, rule)) {
-                            count++;
-                        }
+            int numero = numeroLigne.applyAsInt(i);
+            Scheme scheme = analyserLigne(line, numero, rapport);
+            if (scheme == null) continue;
+            String name = scheme.getNom();
+            if (courant.table().contient(name)) {
+                rapport.rejeter(numero, line, "Schème déjà présent");
+                continue;
+            }
+            
+            courant.table().inserer(name, scheme);
+            nouveaux.add(name);
+            mutations.add(Mutation.schemeAjoute(name, scheme.getRegle()));
+            rapport.incrementerAjoutes();
+        }
+        
+        // Une seule copie de la liste pour tout le lot
+        if (nouveaux.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        courant.noms().addAll(nouveaux);
+        version.incrementAndGet();
+        rapport.incrementerVersions();
+        return listener.enregistrer(mutations);
+    }
+    
+    /**
+     * Analyser une ligne nom|règle, ou la rejeter dans le rapport
+     */
+    private static Scheme analyserLigne(String line, int numero, RapportImport rapport) {
+        String[] parts = line.split("\\|");
+        if (parts.length != 2) {
+            rapport.rejeter(numero, line, "Format attendu : nom|règle");
+            return null;
+        }
+        String name = parts[0].trim();
+        String rule = parts[1].trim();
+        if (!ValidationUtils.estRegleValide(rule)) {
+            rapport.rejeter(numero, line, "La règle doit contenir les positions 1, 2 et 3");
+            return null;
+        }
+        return new Scheme(name, rule);
+    }
+    
+    /**
+     * Recharger toute la table depuis un fichier (surveillance des fichiers).
+     * La nouvelle table est construite hors verrou, puis substituée d'un bloc :
+     * une lecture voit l'ancienne ou la nouvelle table, jamais un mélange.
+     * Les lignes invalides sont rejetées comme à l'import ; un fichier sans
+     * aucun schème valide (enregistrement en cours, fichier tronqué) est ignoré.
+     */
+    public RapportImport rechargerSchemes(InputStream flux) throws IOException {
+        RapportImport rapport = new RapportImport();
+        TableHachage table = new TableHachage();
+        List<String> noms = new ArrayList<>();
+        
+        ArchiveUtils.parcourir(flux, (fichier, lecteur) -> {
+            RapportImport partiel = new RapportImport();
+            FileUtils.lireParLots(lecteur, properties.getImports().getBatchSize(), (lignes, premiereLigne) -> {
+                for (int i = 0; i < lignes.size(); i++) {
+                    String line = lignes.get(i).trim();
+                    if (line.isEmpty() || line.startsWith("#")) continue;
+                    int numero = premiereLigne + i;
+                    Scheme scheme = analyserLigne(line, numero, partiel);
+                    if (scheme == null) continue;
+                    if (table.contient(scheme.getNom())) {
+                        partiel.rejeter(numero, line, "Schème en double dans le fichier");
+                        continue;
                     }
+                    table.inserer(scheme.getNom(), scheme);
+                    noms.add(scheme.getNom());
                 }
+            });
+            rapport.fusionner(partiel, fichier);
+        });
+        
+        if (noms.isEmpty()) {
+            log.warn("Rechargement des schèmes ignoré : aucun schème valide dans le fichier");
+            return rapport;
+        }
+        substituer(table, noms, rapport).join();
+        return rapport;
+    }
+    
+    private synchronized CompletableFuture<Void> substituer(TableHachage table, List<String> noms,
+                                                            RapportImport rapport) {
+        Etat ancien = etat;
+        List<Mutation> mutations = new ArrayList<>();
+        int modifies = 0;
+        for (String name : noms) {
+            Scheme nouveau = table.rechercher(name);
+            Scheme existant = ancien.table().rechercher(name);
+            if (existant == null) {
+                mutations.add(Mutation.schemeAjoute(name, nouveau.getRegle()));
+                rapport.incrementerAjoutes();
+            } else if (!existant.getRegle().equals(nouveau.getRegle())) {
+                mutations.add(Mutation.schemeModifie(name, nouveau.getRegle()));
+                modifies++;
+            }
+        }
+        int supprimes = 0;
+        for (String name : ancien.noms()) {
+            if (!table.contient(name)) {
+                mutations.add(Mutation.schemeSupprime(name));
+                supprimes++;
             }
         }
         
-        log.info("{} schèmes chargés avec succès", count);
-        return count;
+        if (mutations.isEmpty()) {
+            log.info("Rechargement des schèmes : aucune différence");
+            return CompletableFuture.completedFuture(null);
+        }
+        etat = new Etat(table, new CopyOnWriteArrayList<>(noms));
+        version.incrementAndGet();
+        log.info("🔄 Schèmes rechargés : {} ajoutés, {} modifiés, {} supprimés",
+            rapport.getAjoutes(), modifies, supprimes);
+        return listener.enregistrer(mutations);
     }
     
     /**
@@ -164,10 +376,34 @@ public class SchemeService {
         return scheme.appliquer(root);
     }
     
+    /**
+     * Remplacer toute la table (restauration d'une sauvegarde, au démarrage)
+     */
+    public synchronized void remplacerSchemes(List<Scheme> schemes) {
+        TableHachage table = new TableHachage();
+        List<String> noms = new ArrayList<>(schemes.size());
+        for (Scheme scheme : schemes) {
+            if (!table.contient(scheme.getNom())) noms.add(scheme.getNom());
+            table.inserer(scheme.getNom(), scheme);
+        }
+        etat = new Etat(table, new CopyOnWriteArrayList<>(noms));
+        version.incrementAndGet();
+    }
+    
+    // Structure de la table (valeurs tenues à jour par TableHachage)
+    public int getCapaciteTable()       { return etat.table().getCapacite(); }
+    public double getTauxRemplissage()  { return etat.table().getTauxRemplissage(); }
+    public int getNombreCollisions()    { return etat.table().getNombreCollisions(); }
+    public int getLongueurMaxChaine()   { return etat.table().getLongueurMaxChaine(); }
+    
+    public long getVersion() {
+        return version.get();
+    }
+    
     /**
      * Obtenir le nombre de schèmes
      */
     public int getSchemeCount() {
-        return schemeNames.size();
+        return etat.noms().size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.morphology.service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.DecompositionResponse;
+import com.morphology.dto.response.ShadowReportResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exécution fantôme des décompositions (morphology.shadow.sample-rate).
+ *
+ * Une part des requêtes servies par un chemin optimisé (index des formes,
+ * parcours élagué) est rejouée par le parcours de référence sur un pool
+ * dédié, hors du thread de requête. Les réponses doivent être identiques
+ * champ par champ ; chaque divergence est conservée avec son entrée dans
+ * un tampon circulaire (GET /validate/shadow). Si le lexique change entre
+ * la requête et le rejeu, la comparaison est écartée : les deux exécutions
+ * n'ont pas vu les mêmes données. La file est bornée, un échantillon en
+ * trop est abandonné plutôt que de ralentir le service.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShadowService {
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final MorphologyProperties properties;
+    private final MeterRegistry        registry;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong echantillons = new AtomicLong();
+    private final AtomicLong identiques = new AtomicLong();
+    private final AtomicLong divergences = new AtomicLong();
+    private final AtomicLong ecartees = new AtomicLong();
+    private final AtomicLong abandonnees = new AtomicLong();
+    private final AtomicLong echecs = new AtomicLong();
+    private final Deque<ShadowReportResponse.Mismatch> tampon = new ArrayDeque<>();
+
+    private volatile ThreadPoolExecutor executeur;
+
+    /** Versions du lexique lues avant l'exécution optimisée */
+    public record Echantillon(long versionRacines, long versionSchemes) {}
+
+    // ================================================================
+    // Requête (ValidationService)
+    // ================================================================
+
+    /**
+     * Tirer au sort la requête, avant son exécution.
+     * @return échantillon à soumettre après l'exécution, ou null
+     */
+    public Echantillon ouvrir() {
+        double taux = properties.getShadow().getSampleRate();
+        if (taux <= 0 || ThreadLocalRandom.current().nextDouble() >= taux) return null;
+        return new Echantillon(rootService.getVersion(), schemeService.getVersion());
+    }
+
+    /**
+     * Rejouer la requête par le parcours de référence et comparer
+     * @param optimise  réponse(s) du chemin optimisé, déjà renvoyées au client
+     * @param reference parcours de référence, sans effet de bord
+     */
+    public void soumettre(Echantillon echantillon, String operation, String word, String strategie,
+                          List<DecompositionResponse> optimise, Supplier<List<DecompositionResponse>> reference) {
+        echantillons.incrementAndGet();
+        try {
+            executeur().execute(() -> comparer(echantillon, operation, word, strategie, optimise, reference));
+        } catch (RejectedExecutionException e) {
+            abandonnees.incrementAndGet();
+            compter(operation, "dropped");
+        }
+    }
+
+    private void comparer(Echantillon echantillon, String operation, String word, String strategie,
+                          List<DecompositionResponse> optimise, Supplier<List<DecompositionResponse>> reference) {
+        long debut = System.nanoTime();
+        List<DecompositionResponse> attendu;
+        try {
+            attendu = reference.get();
+        } catch (RuntimeException e) {
+            echecs.incrementAndGet();
+            compter(operation, "failed");
+            log.warn("Exécution fantôme en erreur pour '{}': {}", word, e.getMessage());
+            return;
+        }
+        double dureeMs = (System.nanoTime() - debut) / 1e6;
+
+        if (rootService.getVersion() != echantillon.versionRacines()
+                || schemeService.getVersion() != echantillon.versionSchemes()) {
+            ecartees.incrementAndGet();
+            compter(operation, "skipped");
+            return;
+        }
+        if (attendu.equals(optimise)) {
+            identiques.incrementAndGet();
+            compter(operation, "match");
+            return;
+        }
+
+        divergences.incrementAndGet();
+        compter(operation, "mismatch");
+        log.warn("⚠️ Divergence {} ({}) pour '{}' : optimisé={}, référence={}",
+            operation, strategie, word, resumer(optimise), resumer(attendu));
+
+        ShadowReportResponse.Mismatch divergence = new ShadowReportResponse.Mismatch();
+        divergence.setId(sequence.incrementAndGet());
+        divergence.setOperation(operation);
+        divergence.setWord(word);
+        divergence.setStrategy(strategie);
+        divergence.setDetectedAt(Instant.now());
+        divergence.setOptimized(optimise);
+        divergence.setReference(attendu);
+        divergence.setReferenceMs(dureeMs);
+        int capacite = Math.max(1, properties.getShadow().getCapacity());
+        synchronized (tampon) {
+            tampon.addFirst(divergence);
+            while (tampon.size() > capacite) tampon.removeLast();
+        }
+    }
+
+    private void compter(String operation, String resultat) {
+        Counter.builder("morphology.shadow.comparisons")
+            .tag("operation", operation)
+            .tag("outcome", resultat)
+            .description("Comparaisons au parcours de référence (exécution fantôme)")
+            .register(registry)
+            .increment();
+    }
+
+    private static List<String> resumer(List<DecompositionResponse> reponses) {
+        List<String> resume = new ArrayList<>(reponses.size());
+        for (DecompositionResponse r : reponses)
+            resume.add(r.isSuccess() ? r.getRoot() + " + " + r.getScheme() : "∅");
+        return resume;
+    }
+
+    // ================================================================
+    // Pool dédié, créé au premier échantillon
+    // ================================================================
+    private ThreadPoolExecutor executeur() {
+        ThreadPoolExecutor courant = executeur;
+        if (courant != null) return courant;
+        synchronized (this) {
+            if (executeur == null) {
+                MorphologyProperties.Shadow config = properties.getShadow();
+                int threads = Math.max(1, config.getThreads());
+                AtomicInteger compteur = new AtomicInteger();
+                executeur = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())), r -> {
+                        Thread t = new Thread(r, "shadow-" + compteur.incrementAndGet());
+                        t.setDaemon(true);
+                        t.setPriority(Thread.MIN_PRIORITY);
+                        return t;
+                    });
+            }
+            return executeur;
+        }
+    }
+
+    @PreDestroy
+    public void arreter() {
+        if (executeur != null) executeur.shutdownNow();
+    }
+
+    // ================================================================
+    // Consultation (GET / DELETE /validate/shadow)
+    // ================================================================
+
+    public ShadowReportResponse getRapport() {
+        ShadowReportResponse rapport = new ShadowReportResponse();
+        rapport.setSampleRate(properties.getShadow().getSampleRate());
+        rapport.setSampled(echantillons.get());
+        rapport.setMatched(identiques.get());
+        rapport.setMismatched(divergences.get());
+        rapport.setSkipped(ecartees.get());
+        rapport.setDropped(abandonnees.get());
+        rapport.setFailed(echecs.get());
+        synchronized (tampon) {
+            rapport.setMismatches(new ArrayList<>(tampon));
+        }
+        return rapport;
+    }
+
+    public int vider() {
+        synchronized (tampon) {
+            int nombre = tampon.size();
+            tampon.clear();
+            return nombre;
+        }
+    }
+}
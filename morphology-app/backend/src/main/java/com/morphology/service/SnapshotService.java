@@ -0,0 +1,342 @@
+package com.morphology.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.SnapshotResponse;
+import com.morphology.exception.ResourceNotFoundException;
+import com.morphology.model.MotDerive;
+import com.morphology.model.NoeudAVL;
+import com.morphology.model.RootType;
+import com.morphology.model.Scheme;
+import com.morphology.util.BinaryUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sauvegarde binaire du lexique complet : racines (type, hamza, fréquence),
+ * dérivés avec leurs fréquences et schèmes.
+ *
+ * Format (entiers en varint sauf mention contraire) :
+ * <pre>
+ *   "MSNP" (4 octets) | format (1 octet)
+ *   table des chaînes : n, puis n × chaîne UTF-8   — mots dérivés
+ *   racines (ordre croissant) : n, puis pour chacune
+ *     drapeaux (1 octet : type+1 sur 4 bits, 0x10 hamza, 0x20 clé non compacte)
+ *     clé : 3 octets (U+0600 + octet) ou chaîne UTF-8
+ *     fréquence, nombre de dérivés, puis (indice dans la table, fréquence)*
+ *   schèmes : n, puis n × (nom, règle)
+ *   CRC32 de tout ce qui précède (4 octets)
+ * </pre>
+ * L'écriture passe par un fichier temporaire renommé atomiquement ; la
+ * lecture se fait sur le fichier projeté en mémoire, et les racines étant
+ * déjà triées l'AVL est reconstruit en O(n) sans rotation.
+ */
+@Slf4j
+@Service
+@Order(0)
+@RequiredArgsConstructor
+public class SnapshotService implements ApplicationRunner {
+
+    private static final int  MAGIC  = 0x4D534E50; // "MSNP"
+    private static final byte FORMAT = 1;
+
+    private static final int TYPE_MASQUE       = 0x0F;
+    private static final int HAMZA             = 0x10;
+    private static final int CLE_NON_COMPACTE  = 0x20;
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final MorphologyProperties properties;
+
+    private volatile SnapshotResponse dernier;
+
+    // Journal des mutations : quand il est actif, toute sauvegarde doit être
+    // un point de reprise coordonné avec lui (le journal est alors vidé)
+    private volatile Coordinateur coordinateur;
+
+    public interface Coordinateur {
+        SnapshotResponse pointDeReprise() throws IOException;
+    }
+
+    public void setCoordinateur(Coordinateur coordinateur) {
+        this.coordinateur = coordinateur;
+    }
+
+    // Point de reprise déjà écrit à l'arrêt par le coordinateur
+    private volatile boolean sauvegardeFinale;
+
+    public void marquerSauvegardeFinale() {
+        this.sauvegardeFinale = true;
+    }
+
+    /** Copie d'une racine prise sous verrou, écrite ensuite sans verrou */
+    private record RacineCopiee(String cle, int drapeaux, int frequence, int[] mots, int[] frequences) {}
+
+    // ================================================================
+    // Chargement au démarrage / sauvegarde à l'arrêt
+    // ================================================================
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.getSnapshot().isEnabled() || !Files.exists(fichier())) {
+            return;
+        }
+        try {
+            SnapshotResponse info = charger();
+            log.info("✅ Lexique restauré depuis {} : {} racines, {} dérivés, {} schèmes en {} ms",
+                info.getPath(), info.getRoots(), info.getDerivatives(),
+                info.getSchemes(), info.getDurationMs());
+        } catch (Exception e) {
+            log.error("❌ Sauvegarde illisible ({}), démarrage avec un lexique vide", fichier(), e);
+        }
+    }
+
+    @PreDestroy
+    public void sauvegarderALArret() {
+        if (!properties.getSnapshot().isEnabled() || !properties.getSnapshot().isSaveOnShutdown()) {
+            return;
+        }
+        if (sauvegardeFinale) {
+            log.debug("Sauvegarde de l'arrêt déjà écrite par le journal des mutations");
+            return;
+        }
+        try {
+            SnapshotResponse info = sauvegarder();
+            log.info("Lexique sauvegardé dans {} ({} octets)", info.getPath(), info.getSizeBytes());
+        } catch (Exception e) {
+            log.error("❌ Échec de la sauvegarde du lexique à l'arrêt", e);
+        }
+    }
+
+    public SnapshotResponse getDernier() {
+        if (dernier == null) {
+            throw new ResourceNotFoundException("Aucune sauvegarde du lexique.");
+        }
+        return dernier;
+    }
+
+    // ================================================================
+    // sauvegarder
+    // ================================================================
+
+    public SnapshotResponse sauvegarder() throws IOException {
+        Coordinateur c = coordinateur;
+        return c != null ? c.pointDeReprise() : ecrire(racine -> {});
+    }
+
+    /**
+     * Écrire la sauvegarde. {@code noeudCopie} est appelé pour chaque racine
+     * sous le verrou de son noeud, juste après la copie de ses dérivés.
+     */
+    public synchronized SnapshotResponse ecrire(Consumer<String> noeudCopie) throws IOException {
+        long debut = System.nanoTime();
+
+        // 1. Copie des racines (ordre infixe) et table des mots dérivés
+        List<NoeudAVL> noeuds = rootService.getAllNodes();
+        List<RacineCopiee> racines = new ArrayList<>(noeuds.size());
+        Map<String, Integer> chaines = new LinkedHashMap<>();
+        long nombreDerives = 0;
+
+        for (NoeudAVL noeud : noeuds) {
+            // La liste des dérivés est modifiée sous le verrou du noeud
+            synchronized (noeud) {
+                List<MotDerive> derives = noeud.getListeDerives();
+                int[] mots = new int[derives.size()];
+                int[] frequences = new int[derives.size()];
+                for (int i = 0; i < mots.length; i++) {
+                    MotDerive d = derives.get(i);
+                    Integer indice = chaines.putIfAbsent(d.getMot(), chaines.size());
+                    mots[i] = indice != null ? indice : chaines.size() - 1;
+                    frequences[i] = d.getFrequence();
+                }
+                nombreDerives += mots.length;
+                racines.add(new RacineCopiee(noeud.getRacine(), drapeaux(noeud),
+                    noeud.getFrequenceRacine(), mots, frequences));
+                noeudCopie.accept(noeud.getRacine());
+            }
+        }
+
+        List<Scheme> schemes = new ArrayList<>();
+        for (String nom : schemeService.getSchemeNames()) {
+            Scheme scheme = schemeService.searchScheme(nom);
+            if (scheme != null) schemes.add(scheme);
+        }
+
+        // 2. Écriture dans un fichier temporaire, puis renommage atomique
+        Path fichier = fichier();
+        if (fichier.getParent() != null) {
+            Files.createDirectories(fichier.getParent());
+        }
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fos = new FileOutputStream(temporaire.toFile());
+             DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(new CheckedOutputStream(fos, crc), 64 * 1024))) {
+
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT);
+
+            BinaryUtils.ecrireVarint(out, chaines.size());
+            for (String mot : chaines.keySet()) {
+                BinaryUtils.ecrireChaine(out, mot);
+            }
+
+            BinaryUtils.ecrireVarint(out, racines.size());
+            for (RacineCopiee r : racines) {
+                out.writeByte(r.drapeaux());
+                if ((r.drapeaux() & CLE_NON_COMPACTE) != 0) {
+                    BinaryUtils.ecrireChaine(out, r.cle());
+                } else {
+                    BinaryUtils.ecrireCleCompacte(out, r.cle());
+                }
+                BinaryUtils.ecrireVarint(out, r.frequence());
+                BinaryUtils.ecrireVarint(out, r.mots().length);
+                for (int i = 0; i < r.mots().length; i++) {
+                    BinaryUtils.ecrireVarint(out, r.mots()[i]);
+                    BinaryUtils.ecrireVarint(out, r.frequences()[i]);
+                }
+            }
+
+            BinaryUtils.ecrireVarint(out, schemes.size());
+            for (Scheme scheme : schemes) {
+                BinaryUtils.ecrireChaine(out, scheme.getNom());
+                BinaryUtils.ecrireChaine(out, scheme.getRegle());
+            }
+            out.flush();
+
+            // Le CRC lui-même n'entre pas dans le calcul
+            fos.write(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+            fos.getChannel().force(true);
+        }
+
+        Files.move(temporaire, fichier,
+            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        dernier = new SnapshotResponse(fichier.toString(), Files.size(fichier), racines.size(),
+            nombreDerives, schemes.size(), (System.nanoTime() - debut) / 1_000_000, Instant.now());
+        return dernier;
+    }
+
+    // ================================================================
+    // charger
+    // ================================================================
+
+    public synchronized SnapshotResponse charger() throws IOException {
+        long debut = System.nanoTime();
+        Path fichier = fichier();
+
+        List<NoeudAVL> noeuds;
+        List<Scheme> schemes;
+        long nombreDerives = 0;
+
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < 9 || taille > Integer.MAX_VALUE) {
+                throw new IOException("Taille de sauvegarde invalide : " + taille);
+            }
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+
+            int fin = (int) taille - 4;
+            CRC32 crc = new CRC32();
+            crc.update(tampon.slice(0, fin));
+            if ((int) crc.getValue() != tampon.getInt(fin)) {
+                throw new IOException("Sauvegarde corrompue (CRC invalide)");
+            }
+            tampon.limit(fin);
+
+            if (tampon.getInt() != MAGIC || tampon.get() != FORMAT) {
+                throw new IOException("Format de sauvegarde inconnu");
+            }
+
+            String[] chaines = new String[BinaryUtils.lireVarintInt(tampon)];
+            for (int i = 0; i < chaines.length; i++) {
+                chaines[i] = BinaryUtils.lireChaine(tampon);
+            }
+
+            RootType[] types = RootType.values();
+            int nombreRacines = BinaryUtils.lireVarintInt(tampon);
+            noeuds = new ArrayList<>(nombreRacines);
+            String precedente = null;
+            for (int i = 0; i < nombreRacines; i++) {
+                int drapeaux = tampon.get() & 0xFF;
+                String cle = (drapeaux & CLE_NON_COMPACTE) != 0
+                    ? BinaryUtils.lireChaine(tampon)
+                    : BinaryUtils.lireCleCompacte(tampon);
+                if (precedente != null && precedente.compareTo(cle) >= 0) {
+                    throw new IOException("Racines non triées dans la sauvegarde : " + cle);
+                }
+                precedente = cle;
+
+                NoeudAVL noeud = new NoeudAVL(cle);
+                int type = drapeaux & TYPE_MASQUE;
+                noeud.setTypeMorphologique(type == 0 ? null : types[type - 1]);
+                noeud.setContientHamza((drapeaux & HAMZA) != 0);
+                noeud.setFrequenceRacine(BinaryUtils.lireVarintInt(tampon));
+
+                int nombre = BinaryUtils.lireVarintInt(tampon);
+                List<MotDerive> derives = new ArrayList<>(nombre);
+                for (int j = 0; j < nombre; j++) {
+                    String mot = chaines[BinaryUtils.lireVarintInt(tampon)];
+                    derives.add(new MotDerive(mot, BinaryUtils.lireVarintInt(tampon)));
+                }
+                noeud.setListeDerives(derives);
+                nombreDerives += nombre;
+                noeuds.add(noeud);
+            }
+
+            int nombreSchemes = BinaryUtils.lireVarintInt(tampon);
+            schemes = new ArrayList<>(nombreSchemes);
+            for (int i = 0; i < nombreSchemes; i++) {
+                schemes.add(new Scheme(BinaryUtils.lireChaine(tampon), BinaryUtils.lireChaine(tampon)));
+            }
+        }
+
+        // Lexique compilé actif : seules les données de schèmes sont reprises
+        if (!rootService.estLectureSeule()) {
+            rootService.remplacerRacines(noeuds);
+        }
+        schemeService.remplacerSchemes(schemes);
+
+        dernier = new SnapshotResponse(fichier.toString(), Files.size(fichier), noeuds.size(),
+            nombreDerives, schemes.size(), (System.nanoTime() - debut) / 1_000_000, Instant.now());
+        return dernier;
+    }
+
+    private static int drapeaux(NoeudAVL noeud) {
+        int drapeaux = noeud.getTypeMorphologique() == null ? 0 : noeud.getTypeMorphologique().ordinal() + 1;
+        if (noeud.isContientHamza()) drapeaux |= HAMZA;
+        if (!BinaryUtils.estCompactable(noeud.getRacine())) drapeaux |= CLE_NON_COMPACTE;
+        return drapeaux;
+    }
+
+    private Path fichier() {
+        return Path.of(properties.getSnapshot().getPath());
+    }
+}
@@ -0,0 +1,155 @@
+package com.morphology.service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.TraceResponse;
+import com.morphology.exception.ResourceNotFoundException;
+import com.morphology.model.RootType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Traçage des règles de transformation, requête par requête.
+ *
+ * Une requête est tracée si le client le demande ou si elle est tirée au
+ * sort (morphology.trace.sample-rate). Hors trace, chaque point de trace se
+ * réduit à la lecture d'un ThreadLocal : aucun texte n'est construit, les
+ * StringBuilder ne sont convertis qu'à l'enregistrement. Les traces
+ * terminées sont gardées dans un tampon circulaire (GET /traces).
+ */
+@Service
+@RequiredArgsConstructor
+public class TraceService {
+
+    private final MorphologyProperties properties;
+
+    private static final ThreadLocal<Courante> COURANTE = new ThreadLocal<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Deque<TraceResponse> tampon = new ArrayDeque<>();
+
+    private static final class Courante {
+        final TraceResponse trace;
+        final long debut = System.nanoTime();
+        TraceResponse.Transformation transformation;
+
+        Courante(TraceResponse trace) {
+            this.trace = trace;
+        }
+    }
+
+    // ================================================================
+    // Requête (filtre TraceFilter)
+    // ================================================================
+
+    /**
+     * Ouvrir la trace de la requête si elle est demandée ou échantillonnée.
+     * @return identifiant de la trace, ou -1 si la requête n'est pas tracée
+     */
+    public long ouvrir(String methode, String uri, boolean demandee) {
+        double taux = properties.getTrace().getSampleRate();
+        if (!demandee && (taux <= 0 || ThreadLocalRandom.current().nextDouble() >= taux)) {
+            return -1;
+        }
+        TraceResponse trace = new TraceResponse();
+        trace.setId(sequence.incrementAndGet());
+        trace.setMethod(methode);
+        trace.setUri(uri);
+        trace.setRequested(demandee);
+        trace.setStartedAt(Instant.now());
+        COURANTE.set(new Courante(trace));
+        return trace.getId();
+    }
+
+    public void fermer() {
+        Courante courante = COURANTE.get();
+        if (courante == null) return;
+        COURANTE.remove();
+
+        TraceResponse trace = courante.trace;
+        trace.setDurationMs((System.nanoTime() - courante.debut) / 1e6);
+        int capacite = Math.max(1, properties.getTrace().getCapacity());
+        synchronized (tampon) {
+            tampon.addFirst(trace);
+            while (tampon.size() > capacite) tampon.removeLast();
+        }
+    }
+
+    public boolean actif() {
+        return COURANTE.get() != null;
+    }
+
+    // ================================================================
+    // Points de trace (TransformationService)
+    // ================================================================
+
+    public void debuterTransformation(String mot, RootType type, String schemeId) {
+        Courante courante = COURANTE.get();
+        if (courante == null) return;
+
+        if (courante.trace.getTransformations().size() >= properties.getTrace().getMaxTransformations()) {
+            courante.trace.setDropped(courante.trace.getDropped() + 1);
+            courante.transformation = null;
+            return;
+        }
+        TraceResponse.Transformation transformation = new TraceResponse.Transformation();
+        transformation.setInput(mot);
+        transformation.setRootType(type != null ? type.name() : null);
+        transformation.setScheme(schemeId);
+        courante.trace.getTransformations().add(transformation);
+        courante.transformation = transformation;
+    }
+
+    /**
+     * Règle déclenchée (ou décision de maintien, avant = après)
+     */
+    public void regle(String regle, String avant, CharSequence apres) {
+        Courante courante = COURANTE.get();
+        if (courante == null || courante.transformation == null) return;
+        courante.transformation.getRules().add(
+            new TraceResponse.Rule(regle, avant, apres != null ? apres.toString() : null));
+    }
+
+    public void terminerTransformation(String resultat) {
+        Courante courante = COURANTE.get();
+        if (courante == null || courante.transformation == null) return;
+        courante.transformation.setOutput(resultat);
+        courante.transformation = null;
+    }
+
+    // ================================================================
+    // Lecture (endpoint /traces)
+    // ================================================================
+
+    public List<TraceResponse> getTraces() {
+        synchronized (tampon) {
+            return new ArrayList<>(tampon);
+        }
+    }
+
+    public TraceResponse getTrace(long id) {
+        synchronized (tampon) {
+            for (TraceResponse trace : tampon) {
+                if (trace.getId() == id) return trace;
+            }
+        }
+        throw new ResourceNotFoundException("Trace '" + id + "' introuvable.");
+    }
+
+    public int vider() {
+        synchronized (tampon) {
+            int nombre = tampon.size();
+            tampon.clear();
+            return nombre;
+        }
+    }
+}
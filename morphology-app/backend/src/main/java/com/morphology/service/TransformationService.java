@@ -2,15 +2,20 @@ package com.morphology.service;
 
 import org.springframework.stereotype.Service;
 
+import com.morphology.jfr.TransformationEvent;
 import com.morphology.model.Root;
 import com.morphology.model.RootType;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class TransformationService {
 
+    private final TraceService traceService;
+
     // Diacritiques en constantes Unicode explicites
     private static final char FATHA  = '\u064E'; // َ
     private static final char KASRA  = '\u0650'; // ِ
@@ -36,6 +41,22 @@ public class TransformationService {
     // ================================================================
     public String appliquerTransformations(String mot, RootType type,
                                            Root root, String schemeId) {
+        // Événement JFR : objet éliminé par le JIT tant que l'événement est désactivé
+        TransformationEvent event = new TransformationEvent();
+        event.begin();
+        traceService.debuterTransformation(mot, type, schemeId);
+        String resultat = transformer(mot, type, root, schemeId);
+        traceService.terminerTransformation(resultat);
+        if (event.shouldCommit()) {
+            event.rootType = type != null ? type.name() : null;
+            event.schemeId = schemeId;
+            event.changed = resultat != null && !resultat.equals(mot);
+            event.commit();
+        }
+        return resultat;
+    }
+
+    private String transformer(String mot, RootType type, Root root, String schemeId) {
         if (mot == null || mot.isBlank()) return mot;
 
         // FIX : normaliser alef maqsura ى (\u0649) → ي (\u064A) en entrée.
@@ -46,9 +67,6 @@ public class TransformationService {
             return root.isContientHamza() ? postTraitementHamza(mot) : mot;
         }
 
-        log.info("🔧 TRANSFORMATION — Type: {}, Mot: {}, Schème: {}",
-            type.getNomArabe(), mot, schemeId);
-
         String resultat = mot;
 
         switch (type) {
@@ -68,14 +86,10 @@ public class TransformationService {
         // Ex: يَرْوِيُ (Ajwaf + يَفْعِلُ) → يَرْوِي
         // Ce nettoyage s'applique à tous les types car la damma vient du schème,
         // pas de la transformation morphologique.
-        resultat = supprimerDammaFinale(resultat);
-
-        if (!resultat.equals(mot))
-            log.info("✅ {} → {}", mot, resultat);
-        else
-            log.warn("⚠️ Aucune transformation: {} ({})", mot, type.getNomArabe());
+        String sansDamma = supprimerDammaFinale(resultat);
+        if (sansDamma != resultat) traceService.regle("Damma finale supprimée", resultat, sansDamma);
 
-        return resultat;
+        return sansDamma;
     }
 
     // ================================================================
@@ -146,7 +160,7 @@ public class TransformationService {
         }
 
         res = sb.toString();
-        if (!res.equals(mot)) log.info("   ✅ Hamza: {} → {}", mot, res);
+        if (!res.equals(mot)) traceService.regle("HAMZA", mot, res);
         return res;
     }
 
@@ -168,7 +182,7 @@ public class TransformationService {
                 sb.replace(i, i + 2, "" + cible + SHADDA);
                 if (i + 2 < sb.length() && estVoyelle(sb.charAt(i + 2)))
                     sb.deleteCharAt(i + 2);
-                log.info("   ✅ MOUDAAF A — {} → {}", mot, sb);
+                traceService.regle("MOUDAAF A", mot, sb);
                 return sb.toString();
             }
 
@@ -179,13 +193,13 @@ public class TransformationService {
                     sb.replace(i, i + 3, "" + cible + m + SHADDA);
                     if (i + 3 < sb.length() && estVoyelle(sb.charAt(i + 3)))
                         sb.deleteCharAt(i + 3);
-                    log.info("   ✅ MOUDAAF B — {} → {}", mot, sb);
+                    traceService.regle("MOUDAAF B", mot, sb);
                     return sb.toString();
                 }
             }
         }
 
-        log.debug("   ⚪ MOUDAAF — L2/L3 non adjacents, pas de fusion");
+        traceService.regle("MOUDAAF — L2/L3 non adjacents", mot, mot);
         return mot;
     }
 
@@ -203,7 +217,7 @@ public class TransformationService {
             String marque = "" + '\u0645' + '\u0650' + WAW;
             if (mot.contains(marque)) {
                 String t = mot.replaceFirst(marque, "" + '\u0645' + '\u0650' + YAA);
-                log.info("   ✅ MITHAL مِفعال و→ي: {} → {}", mot, t);
+                traceService.regle("MITHAL مِفعال و→ي", mot, t);
                 return t;
             }
         }
@@ -211,7 +225,7 @@ public class TransformationService {
         // Schèmes nominaux ET passés → L1 maintenu
         // FIX : وفى + فَعَلَ — sans ce garde-fou, Mithal tente de supprimer و
         if (estSchemeNominal(schemeId) || estSchemePasse(schemeId)) {
-            log.debug("   ℹ️ MITHAL — {} maintenu (nominal ou passé)", l1);
+            traceService.regle("MITHAL — L1 maintenu (nominal ou passé)", mot, mot);
             return mot;
         }
 
@@ -220,7 +234,7 @@ public class TransformationService {
             for (int i = 1; i < mot.length() - 1; i++) {
                 if (mot.charAt(i) == c1 && mot.charAt(i + 1) == SUKUN) {
                     String t = mot.substring(0, i) + mot.substring(i + 2);
-                    log.info("   ✅ MITHAL PRÉSENT — {} → {}", mot, t);
+                    traceService.regle("MITHAL PRÉSENT", mot, t);
                     return t;
                 }
             }
@@ -232,14 +246,14 @@ public class TransformationService {
                 && mot.charAt(1) == c1
                 && mot.charAt(2) == SUKUN) {
             String t = mot.substring(3);
-            log.info("   ✅ MITHAL IMPÉRATIF (اوْ) — {} → {}", mot, t);
+            traceService.regle("MITHAL IMPÉRATIF (اوْ)", mot, t);
             return t;
         }
 
         // Impératif simple وْ / يْ en tête
         if (mot.length() >= 2 && mot.charAt(0) == c1 && mot.charAt(1) == SUKUN) {
             String t = mot.substring(2);
-            log.info("   ✅ MITHAL IMPÉRATIF — {} → {}", mot, t);
+            traceService.regle("MITHAL IMPÉRATIF", mot, t);
             return t;
         }
 
@@ -279,13 +293,13 @@ public class TransformationService {
         if ((avant == DAMMA && cible == WAW)  ||
             (avant == KASRA && cible == WAW)  ||
             (avant == KASRA && cible == YAA)) {
-            log.debug("   ℹ️ CAS 1 — voyelle longue maintenue");
+            traceService.regle("AJWAF CAS 1 — voyelle longue maintenue", mot, mot);
             return mot;
         }
 
         // Schème présent → L2 maintenu
         if (estSchemePresent(schemeId)) {
-            log.debug("   ℹ️ Schème présent — {} maintenu", l2);
+            traceService.regle("AJWAF — L2 maintenu (présent)", mot, mot);
             return mot;
         }
 
@@ -293,11 +307,11 @@ public class TransformationService {
         // SAUF Lafeef مقرون : و maintenu (رَاوِي → رَاوٍ)
         if (pos >= 1 && mot.charAt(pos - 1) == ALEF && apres == KASRA) {
             if (estMaqroun) {
-                log.debug("   ℹ️ CAS 2 — LAFEEF MAQROUN, {} protégé", l2);
+                traceService.regle("AJWAF CAS 2 — L2 protégé (LAFEEF MAQROUN)", mot, mot);
                 return mot;
             }
             sb.replace(pos - 1, pos + 2, "" + ALEF + HAMZA_YAA + KASRA);
-            log.info("   ✅ CAS 2 — ا{}ِ → ائِ: {} → {}", l2, mot, sb);
+            traceService.regle("AJWAF CAS 2 — اL2ِ → ائِ", mot, sb);
             return sb.toString();
         }
 
@@ -308,11 +322,11 @@ public class TransformationService {
         if (avant == FATHA) {
             boolean l3Faible = estLettreFaible(root.getL3());
             if (estMaqroun || l3Faible) {
-                log.debug("   ℹ️ LAFEEF MAQROUN — L2={} protégé (L3 faible)", l2);
+                traceService.regle("AJWAF CAS 3 — L2 protégé (L3 faible)", mot, mot);
                 return mot;
             }
             sb.replace(pos - 1, pos + 1, "" + ALEF);
-            log.info("   ✅ CAS 3 — َ{} → ا: {} → {}", l2, mot, sb);
+            traceService.regle("AJWAF CAS 3 — َL2 → ا", mot, sb);
             return sb.toString();
         }
 
@@ -323,7 +337,7 @@ public class TransformationService {
             int fin = pos + 2;
             if (fin < sb.length() && sb.charAt(fin) == WAW) fin++;
             sb.replace(debut, fin, "" + KASRA + YAA);
-            log.info("   ✅ CAS 4b مَفْعُول+ي — ْيُو → ِي: {} → {}", mot, sb);
+            traceService.regle("AJWAF CAS 4b مَفْعُول+ي — ْيُو → ِي", mot, sb);
             return sb.toString();
         }
 
@@ -334,7 +348,7 @@ public class TransformationService {
             } else {
                 sb.replace(pos - 1, pos + 1, "");
             }
-            log.info("   ✅ CAS 4 — ْ{} supprimé: {} → {}", l2, mot, sb);
+            traceService.regle("AJWAF CAS 4 — ْL2 supprimé", mot, sb);
             return sb.toString();
         }
 
@@ -364,19 +378,19 @@ public class TransformationService {
         if (cible == YAA && mot.endsWith("" + YAA + YAA)) {
             String t = supprimerDammaFinale(
                 mot.substring(0, mot.length() - 2) + YAA + SHADDA);
-            log.info("   ✅ CAS 0 — يي → يّ: {} → {}", mot, t);
+            traceService.regle("NAQIS CAS 0 — يي → يّ", mot, t);
             return t;
         }
         if (cible == WAW && mot.endsWith("" + WAW + WAW)) {
             String t = supprimerDammaFinale(
                 mot.substring(0, mot.length() - 2) + WAW + SHADDA);
-            log.info("   ✅ CAS 0 — وو → وّ: {} → {}", mot, t);
+            traceService.regle("NAQIS CAS 0 — وو → وّ", mot, t);
             return t;
         }
 
         // Garde-fou : L3 fait partie d'une voyelle longue FIXE du schème
         if (estSchemeAvecVoyelleLongue(schemeId, l3)) {
-            log.debug("   ℹ️ NAQIS — L3 voyelle longue du schème, maintenu");
+            traceService.regle("NAQIS — L3 voyelle longue du schème, maintenu", mot, mot);
             return mot;
         }
 
@@ -390,22 +404,18 @@ public class TransformationService {
         // CAS 3 : L3 + sukun → ٍ
         if (apresL3 == SUKUN) {
             String t = supprimerDammaFinale(mot.substring(0, posL3) + '\u064D');
-            log.info("   ✅ CAS 3 — {}ْ → ٍ: {} → {}", l3, mot, t);
+            traceService.regle("NAQIS CAS 3 — L3ْ → ٍ", mot, t);
             return t;
         }
 
         // CAS 3b : فاعِل → L3 final faible → ٍ
     if (estSchemeFaail(schemeId) && estEnPositionFinale(mot, posL3)) {
-        log.debug("   🔍 CAS 3b check — estSchemeFaail={}, estEnPositionFinale={}, avantL3='{}'({})",
-            estSchemeFaail(schemeId),
-            estEnPositionFinale(mot, posL3),
-            avantL3, (int) avantL3);
         int debut = posL3;
         // Si la lettre juste avant L3 est une kasra, on la retire
         // car kasratân ٍ inclut déjà la voyelle kasra
         if (debut > 0 && mot.charAt(debut - 1) == KASRA) debut--;
         String t = supprimerDammaFinale(mot.substring(0, debut) + '\u064D');
-        log.info("   ✅ CAS 3b — {} final (فاعِل) → ٍ: {} → {}", l3, mot, t);
+        traceService.regle("NAQIS CAS 3b — L3 final (فاعِل) → ٍ", mot, t);
         return t;
     }
 
@@ -420,7 +430,7 @@ public class TransformationService {
             }
             String t = supprimerDammaFinale(
                 supprimerVoyelleFinale(mot.substring(0, posL3 - 1) + suf));
-            log.info("   ✅ CAS 1 — fatha+{} → {}: {} → {}", l3, suf, mot, t);
+            traceService.regle("NAQIS CAS 1 — fatha+L3", mot, t);
             return t;
         }
 
@@ -430,15 +440,14 @@ public class TransformationService {
             char finaleChar = estSchemePresent(schemeId) ? YAA : '\u0649';
             String t = supprimerDammaFinale(
                 supprimerVoyelleFinale(mot.substring(0, posL3) + finaleChar));
-            log.info("   ✅ CAS 1b — ي → {}: {} → {}",
-                     (finaleChar == YAA ? "ي" : "ى"), mot, t);
+            traceService.regle("NAQIS CAS 1b — ي final", mot, t);
             return t;
         }
 
         // CAS 2 : kasra + و → ي
         if (cible == WAW && avantL3 == KASRA) {
             String t = supprimerDammaFinale(mot.substring(0, posL3) + YAA);
-            log.info("   ✅ CAS 2 — ِو → ِي: {} → {}", mot, t);
+            traceService.regle("NAQIS CAS 2 — ِو → ِي", mot, t);
             return t;
         }
 
@@ -476,9 +485,6 @@ public class TransformationService {
     //   2. Naqis CAS 3b (فاعِل) : ي final → ٍ  → رَاوٍ ✅
     // ================================================================
     private String transformerLafeef(String mot, Root root, String schemeId) {
-        log.debug("🔍 LAFEEF — L1={}, L2={}, L3={}",
-            root.getL1(), root.getL2(), root.getL3());
-
         // Détecter Lafeef مقرون : L2 ET L3 sont des lettres faibles
         boolean estMaqroun = estLettreFaible(root.getL2())
                           && estLettreFaible(root.getL3());
@@ -494,7 +500,6 @@ public class TransformationService {
         if (estLettreFaible(root.getL3()))
             res = transformerNaqis(res, root, schemeId);
 
-        log.info("   ✅ LAFEEF — {} → {}", mot, res);
         return res;
     }
 
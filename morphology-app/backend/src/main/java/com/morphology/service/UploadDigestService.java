@@ -0,0 +1,294 @@
+package com.morphology.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.jfr.UploadEvent;
+import com.morphology.model.ImportJob;
+import com.morphology.model.RapportImport;
+import com.morphology.service.LatencyService.Etape;
+import com.morphology.util.ArchiveUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envois de fichiers de lexique dédupliqués par empreinte de contenu.
+ *
+ * Pour chaque type (racines, schèmes), on mémorise l'empreinte SHA-256 du
+ * dernier fichier envoyé, une empreinte 64 bits de chacune de ses lignes
+ * (8 octets par ligne, jamais le texte) et la version du lexique obtenue.
+ * Tant que le lexique n'a pas été modifié depuis :
+ *   - un fichier identique ne déclenche aucun traitement ;
+ *   - un fichier légèrement différent n'importe que les lignes ajoutées,
+ *     sans revalider les lignes inchangées.
+ * Comme l'import complet, un envoi ne fait qu'ajouter : une ligne retirée
+ * du fichier ne supprime rien, le résultat ne dépend pas du chemin suivi.
+ * Le fichier est relu en flux à chaque passage, jamais chargé en mémoire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadDigestService {
+
+    private final RootService          rootService;
+    private final SchemeService        schemeService;
+    private final MorphologyProperties properties;
+    private final LatencyService       latencyService;
+
+    private final Map<ImportJob.Type, Empreinte> empreintes = new EnumMap<>(ImportJob.Type.class);
+
+    public enum Mode { IDENTIQUE, DIFFERENTIEL, COMPLET }
+
+    public record Resultat(Mode mode, RapportImport rapport) {}
+
+    /** Dernier envoi d'un type : empreinte, empreintes de ses lignes et version du lexique obtenue */
+    private record Empreinte(byte[] sha256, long[] lignes, long version) {}
+
+    /** Empreintes des lignes utiles d'un fichier : triées et distinctes, et celles qui se répètent */
+    private record Lignes(long[] distinctes, long[] repetees) {}
+
+    // ================================================================
+    // charger
+    // ================================================================
+
+    public Resultat charger(MultipartFile file, ImportJob.Type type) throws IOException {
+        String operation = type == ImportJob.Type.RACINES ? "uploadRoots" : "uploadSchemes";
+        UploadEvent event = new UploadEvent();
+        event.begin();
+        Resultat resultat = latencyService.mesurer(operation, () -> chargerFichier(file, type));
+        if (event.shouldCommit()) {
+            event.type = type.name();
+            event.fileName = file.getOriginalFilename();
+            event.mode = resultat.mode().name();
+            event.bytes = file.getSize();
+            event.added = resultat.rapport().getAjoutes();
+            event.rejected = resultat.rapport().getNombreRejets();
+            event.commit();
+        }
+        return resultat;
+    }
+
+    private synchronized Resultat chargerFichier(MultipartFile file, ImportJob.Type type) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier est vide ou absent.");
+        }
+
+        if (!properties.getUploads().isDeduplication()) {
+            long t = latencyService.debut();
+            RapportImport rapport = importerTout(type, file);
+            latencyService.fin(Etape.IMPORT, t);
+            return new Resultat(Mode.COMPLET, rapport);
+        }
+
+        // 1er passage : empreinte des octets bruts, sans décompression ni décodage
+        byte[] sha256;
+        long t = latencyService.debut();
+        try (InputStream flux = file.getInputStream()) {
+            sha256 = empreinte(flux);
+        }
+        latencyService.fin(Etape.EMPREINTE, t);
+
+        Empreinte precedente = empreintes.get(type);
+        boolean baseValide = precedente != null && precedente.version() == version(type);
+
+        if (baseValide && MessageDigest.isEqual(precedente.sha256(), sha256)) {
+            log.info("Envoi {} identique au précédent ({}) : ignoré", type, file.getOriginalFilename());
+            return new Resultat(Mode.IDENTIQUE, new RapportImport());
+        }
+
+        // 2e passage : empreintes des lignes utiles
+        Lignes lignes;
+        t = latencyService.debut();
+        try (InputStream flux = file.getInputStream()) {
+            lignes = empreintesLignes(flux);
+        }
+        latencyService.fin(Etape.LECTURE, t);
+
+        // 3e passage : import
+        Resultat resultat;
+        long versionAvant = version(type);
+        t = latencyService.debut();
+        if (baseValide && estDiffPetit(precedente.lignes(), lignes.distinctes())) {
+            try (InputStream flux = file.getInputStream()) {
+                resultat = new Resultat(Mode.DIFFERENTIEL,
+                    importerNouvelles(type, flux, precedente.lignes(), lignes.repetees()));
+            }
+        } else {
+            resultat = new Resultat(Mode.COMPLET, importerTout(type, file));
+        }
+        latencyService.fin(Etape.IMPORT, t);
+
+        // Seul l'import a modifié le lexique : sa version sert de référence.
+        // Sinon (suppression, édition concurrente), pas de référence fiable
+        long versionApres = version(type);
+        if (versionApres == versionAvant + resultat.rapport().getVersions()) {
+            empreintes.put(type, new Empreinte(sha256, lignes.distinctes(), versionApres));
+        } else {
+            empreintes.remove(type);
+            log.debug("Lexique {} modifié pendant l'envoi : empreinte non conservée", type);
+        }
+        log.info("Envoi {} ({}) : mode {}, {} ajoutés, {} rejetés",
+            type, file.getOriginalFilename(), resultat.mode(),
+            resultat.rapport().getAjoutes(), resultat.rapport().getNombreRejets());
+        return resultat;
+    }
+
+    private RapportImport importerTout(ImportJob.Type type, MultipartFile file) throws IOException {
+        try (InputStream flux = file.getInputStream()) {
+            return type == ImportJob.Type.RACINES
+                ? rootService.importerFlux(flux)
+                : schemeService.importerFlux(flux);
+        }
+    }
+
+    // ================================================================
+    // Chemin différentiel
+    // ================================================================
+
+    private boolean estDiffPetit(long[] anciennes, long[] nouvelles) {
+        int communes = 0;
+        for (int i = 0, j = 0; i < anciennes.length && j < nouvelles.length; ) {
+            if (anciennes[i] == nouvelles[j]) { communes++; i++; j++; }
+            else if (anciennes[i] < nouvelles[j]) i++;
+            else j++;
+        }
+        // Une ligne modifiée compte pour un ajout et un retrait
+        int modifiees = Math.max(nouvelles.length - communes, anciennes.length - communes);
+        return modifiees <= properties.getUploads().getDiffMaxRatio()
+            * Math.max(1, Math.max(anciennes.length, nouvelles.length));
+    }
+
+    /**
+     * Les lignes déjà présentes dans l'envoi précédent ont produit le lexique
+     * courant (même version) : seules les autres sont importées, par lots et
+     * avec leur numéro d'origine. Une ligne répétée dans le fichier est
+     * transmise à partir de sa 2e occurrence, pour être rejetée comme doublon
+     * comme à l'import complet.
+     */
+    private RapportImport importerNouvelles(ImportJob.Type type, InputStream flux,
+                                            long[] anciennes, long[] repetees) throws IOException {
+        RapportImport total = new RapportImport();
+        int tailleLot = properties.getImports().getBatchSize();
+        // Ne contient que des lignes répétées : reste petit
+        Set<Long> vues = new HashSet<>();
+
+        ArchiveUtils.parcourir(flux, (nom, lecteur) -> {
+            RapportImport partiel = new RapportImport();
+            List<String> lot = new ArrayList<>();
+            List<Integer> numeros = new ArrayList<>();
+            int numero = 0;
+            String brute;
+            while ((brute = lecteur.readLine()) != null) {
+                numero++;
+                String texte = brute.trim();
+                if (!estUtile(texte)) continue;
+
+                long empreinte = empreinteLigne(texte);
+                boolean doublon = Arrays.binarySearch(repetees, empreinte) >= 0 && !vues.add(empreinte);
+                if (!doublon && Arrays.binarySearch(anciennes, empreinte) >= 0) continue;
+
+                lot.add(texte);
+                numeros.add(numero);
+                if (lot.size() >= tailleLot) {
+                    partiel.fusionner(importerLot(type, lot, numeros));
+                    lot = new ArrayList<>();
+                    numeros = new ArrayList<>();
+                }
+            }
+            if (!lot.isEmpty()) partiel.fusionner(importerLot(type, lot, numeros));
+            total.fusionner(partiel, nom);
+        });
+        return total;
+    }
+
+    private RapportImport importerLot(ImportJob.Type type, List<String> lot, List<Integer> numeros) {
+        return type == ImportJob.Type.RACINES
+            ? rootService.importerRacines(lot, numeros::get)
+            : schemeService.importerSchemes(lot, numeros::get);
+    }
+
+    // ================================================================
+    // Empreintes
+    // ================================================================
+
+    private static Lignes empreintesLignes(InputStream flux) throws IOException {
+        LongStream.Builder lues = LongStream.builder();
+        ArchiveUtils.parcourir(flux, (nom, lecteur) -> {
+            String brute;
+            while ((brute = lecteur.readLine()) != null) {
+                String texte = brute.trim();
+                if (estUtile(texte)) lues.add(empreinteLigne(texte));
+            }
+        });
+
+        long[] triees = lues.build().toArray();
+        Arrays.sort(triees);
+        // Dédoublonnage sur place ; chaque empreinte répétée est notée une fois
+        LongStream.Builder repetees = LongStream.builder();
+        int distinctes = 0;
+        boolean repetee = false;
+        for (long empreinte : triees) {
+            if (distinctes > 0 && empreinte == triees[distinctes - 1]) {
+                if (!repetee) repetees.add(empreinte);
+                repetee = true;
+                continue;
+            }
+            triees[distinctes++] = empreinte;
+            repetee = false;
+        }
+        return new Lignes(Arrays.copyOf(triees, distinctes), repetees.build().toArray());
+    }
+
+    private static boolean estUtile(String texte) {
+        return !texte.isEmpty() && !texte.startsWith("#");
+    }
+
+    /** FNV-1a 64 bits sur les caractères, puis mélange final (murmur3 fmix64) */
+    private static long empreinteLigne(String texte) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < texte.length(); i++) {
+            h ^= texte.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private long version(ImportJob.Type type) {
+        return type == ImportJob.Type.RACINES ? rootService.getVersion() : schemeService.getVersion();
+    }
+
+    private static byte[] empreinte(InputStream flux) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] tampon = new byte[64 * 1024];
+        int lus;
+        while ((lus = flux.read(tampon)) != -1) {
+            digest.update(tampon, 0, lus);
+        }
+        return digest.digest();
+    }
+}
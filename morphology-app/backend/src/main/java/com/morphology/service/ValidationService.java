@@ -1,16 +1,24 @@
 package com.morphology.service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.stereotype.Service;
 
+import com.morphology.config.MorphologyProperties;
+import com.morphology.dto.response.DecompositionExplainResponse;
 import com.morphology.dto.response.DecompositionResponse;
 import com.morphology.dto.response.ValidationResponse;
-import com.morphology.model.NoeudAVL;
+import com.morphology.jfr.ValidationScanEvent;
+import com.morphology.model.IndexDecomposition;
 import com.morphology.model.Root;
 import com.morphology.model.RootType;
 import com.morphology.model.Scheme;
+import com.morphology.model.VueRacines;
+import com.morphology.service.LatencyService.Etape;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,11 +32,25 @@ public class ValidationService {
     private final SchemeService         schemeService;
     private final MorphoAnalyzer        morphoAnalyzer;
     private final TransformationService transformationService;
+    private final LatencyService        latencyService;
+    private final ShadowService         shadowService;
+    private final MorphologyProperties  properties;
+
+    private volatile IndexDecomposition index;
+    private final AtomicBoolean indexEnConstruction = new AtomicBoolean();
 
     // ================================================================
     // Valider qu'un mot appartient à une racine
     // ================================================================
     public ValidationResponse validateWord(String word, String root) {
+        ValidationScanEvent scan = new ValidationScanEvent("validateWord");
+        scan.begin();
+        ValidationResponse response = latencyService.mesurer("validateWord", () -> validerMot(word, root, scan));
+        scan.commit();
+        return response;
+    }
+
+    private ValidationResponse validerMot(String word, String root, ValidationScanEvent scan) {
         log.debug("Validation: mot={}, racine={}", word, root);
 
         ValidationResponse response = new ValidationResponse();
@@ -41,13 +63,18 @@ public class ValidationService {
             return response;
         }
 
-        if (!rootService.rootExists(root)) {
+        long t = latencyService.debut();
+        boolean existe = rootService.rootExists(root);
+        latencyService.fin(Etape.RECHERCHE, t);
+        if (!existe) {
             response.setValid(false);
             response.setMessage("الجذر '" + root + "' غير موجود في قاعدة البيانات.");
             return response;
         }
 
+        t = latencyService.debut();
         Root rootObj = morphoAnalyzer.analyserRacine(root);
+        latencyService.fin(Etape.ANALYSE, t);
         if (!rootObj.isValid()) {
             response.setValid(false);
             response.setMessage("الجذر '" + root + "' غير صالح.");
@@ -62,16 +89,18 @@ public class ValidationService {
             if (scheme == null) continue;
 
             String motTransforme = genererMotTransforme(scheme, rootObj);
+            scan.candidat();
             if (motTransforme == null) continue;
 
-            if (normaliserPourComparaison(motTransforme).equals(wordNormalise)) {
+            if (correspond(motTransforme, wordNormalise)) {
+                scan.correspondance();
                 response.setValid(true);
                 response.setSchemeIdentified(schemeName);
                 response.setMessage(
                     "الكلمة '" + word + "' مشتقة من الجذر '" + root +
                     "' على وزن '" + schemeName + "'."
                 );
-                rootService.addDerivativeToRoot(root, motTransforme);
+                enregistrerDerive(root, motTransforme, schemeName);
                 log.info("✅ Validation réussie: {} ← {} + {}", word, root, schemeName);
                 return response;
             }
@@ -103,8 +132,7 @@ public class ValidationService {
             if (scheme == null) continue;
 
             String motTransforme = genererMotTransforme(scheme, rootObj);
-            if (motTransforme != null &&
-                    normaliserPourComparaison(motTransforme).equals(wordNormalise)) {
+            if (motTransforme != null && correspond(motTransforme, wordNormalise)) {
                 log.info("✅ Schème identifié: {} → {}", word, schemeName);
                 return schemeName;
             }
@@ -117,6 +145,61 @@ public class ValidationService {
     // Décomposer un mot en racine + schème
     // ================================================================
     public DecompositionResponse decomposeWord(String word) {
+        return decomposer(word, new Explication());
+    }
+
+    /**
+     * Décomposition accompagnée de son déroulement (POST /validate/decompose/explain)
+     */
+    public DecompositionExplainResponse explainDecomposition(String word) {
+        Explication explication = new Explication();
+        long debut = System.nanoTime();
+        DecompositionResponse result = decomposer(word, explication);
+
+        DecompositionExplainResponse reponse = new DecompositionExplainResponse();
+        reponse.setResult(result);
+        reponse.setStrategy(explication.strategie);
+        reponse.setIndexStatus(explication.etatIndex);
+        reponse.setIndexBuildMs(explication.constructionIndexMs);
+        reponse.setIndexForms(explication.formesIndex);
+        reponse.setRootsTotal(explication.racines);
+        reponse.setRootsAnalysed(explication.racinesAnalysees);
+        reponse.setSchemesTotal(explication.schemes);
+        reponse.setCandidates(explication.candidats);
+        Map<String, Integer> elagues = new LinkedHashMap<>();
+        elagues.put("missingRootLetter", explication.racinesElaguees);
+        elagues.put("invalidRoot", explication.racinesInvalides);
+        elagues.put("missingSchemeLetter", explication.candidatsElagues);
+        elagues.put("schemeGone", explication.schemesDisparus);
+        reponse.setPruned(elagues);
+        reponse.setTransformations(explication.transformations);
+        reponse.setTransformationsSkipped(explication.transformationsEvitees);
+        reponse.setComparisons(explication.comparaisons);
+        Map<String, Integer> cache = new LinkedHashMap<>();
+        cache.put("rootTypeHits", explication.typesEnCache);
+        cache.put("rootTypeMisses", explication.analyses);
+        cache.put("indexHits", explication.correspondancesIndex);
+        reponse.setCache(cache);
+        reponse.setStages(latencyService.getEtapesRequete());
+        reponse.setDurationMs((System.nanoTime() - debut) / 1e6);
+        return reponse;
+    }
+
+    private DecompositionResponse decomposer(String word, Explication explication) {
+        ShadowService.Echantillon echantillon = estVide(word) ? null : shadowService.ouvrir();
+        ValidationScanEvent scan = new ValidationScanEvent("decomposeWord");
+        scan.begin();
+        DecompositionResponse response =
+            latencyService.mesurer("decomposeWord", () -> decomposerMot(word, scan, explication));
+        scan.commit();
+        if (echantillon != null) {
+            shadowService.soumettre(echantillon, "decomposeWord", word, explication.strategie,
+                List.of(response), () -> List.of(decomposerReference(word)));
+        }
+        return response;
+    }
+
+    private DecompositionResponse decomposerMot(String word, ValidationScanEvent scan, Explication explication) {
         log.debug("Décomposition: {}", word);
 
         DecompositionResponse response = new DecompositionResponse();
@@ -129,42 +212,94 @@ public class ValidationService {
         }
 
         String wordNormalise = normaliserPourComparaison(word);
-        List<NoeudAVL> allNodes = rootService.getAllNodes();
 
-        if (allNodes == null || allNodes.isEmpty()) {
-            response.setSuccess(false);
-            response.setMessage("قاعدة البيانات فارغة، لا توجد جذور مسجّلة.");
-            return response;
+        IndexDecomposition index = obtenirIndex(explication);
+        if (index != null) {
+            // Même réponse que le parcours quand il n'y a aucune racine
+            if (rootService.getRootCount() == 0) return baseVide(response);
+            for (IndexDecomposition.Entree entree : rechercherDansIndex(index, wordNormalise, scan, explication)) {
+                Scheme scheme = schemeService.searchScheme(entree.scheme());
+                if (scheme == null) { explication.schemesDisparus++; continue; }
+                enregistrerDerive(entree.racine(), entree.mot(), entree.scheme());
+                return succesDecomposition(word, entree.racine(), entree.scheme(), scheme);
+            }
+            return echecDecomposition(response, word);
         }
 
-        for (NoeudAVL node : allNodes) {
-            String root  = node.getRacine();
-            Root rootObj = obtenirRootAnalyse(root, node);
-            if (rootObj == null || !rootObj.isValid()) continue;
+        long t = latencyService.debut();
+        VueRacines racines = rootService.getVueRacines();
+        latencyService.fin(Etape.RECHERCHE, t);
 
-            List<String> schemeNames = schemeService.getSchemeNames();
-            for (String schemeName : schemeNames) {
-                Scheme scheme = schemeService.searchScheme(schemeName);
-                if (scheme == null) continue;
+        if (racines.taille() == 0) {
+            return baseVide(response);
+        }
 
-                String motTransforme = genererMotTransforme(scheme, rootObj);
-                if (motTransforme != null &&
-                        normaliserPourComparaison(motTransforme).equals(wordNormalise)) {
-                    response.setSuccess(true);
-                    response.setRoot(root);
-                    response.setScheme(schemeName);
-                    response.setMessage(
-                        "تم تحليل الكلمة '" + word + "' : الجذر '" + root +
-                        "' على وزن '" + schemeName + "'."
-                    );
-                    response.setAddedElements(extraireElementsAjoutes(scheme));
-                    rootService.addDerivativeToRoot(root, motTransforme);
-                    log.info("✅ Décomposition: {} ← {} + {}", word, root, schemeName);
-                    return response;
+        List<Candidat> candidats = chargerCandidats(explication);
+        int positionsCommunes = positionsCommunes(candidats);
+
+        for (int i = 0; i < racines.taille(); i++) {
+            String root = racines.racine(i);
+            explication.racines++;
+            if (!lettresPresentes(root, positionsCommunes, wordNormalise)) {
+                explication.racinesElaguees++;
+                continue;
+            }
+
+            t = latencyService.debut();
+            Root rootObj = obtenirRootAnalyse(root, racines, i, explication);
+            latencyService.fin(Etape.ANALYSE, t);
+            if (rootObj == null || !rootObj.isValid()) {
+                explication.racinesInvalides++;
+                continue;
+            }
+            explication.racinesAnalysees++;
+
+            for (Candidat candidat : candidats) {
+                if (!lettresPresentes(root, candidat.positions(), wordNormalise)) {
+                    explication.candidatsElagues++;
+                    continue;
+                }
+                explication.candidats++;
+
+                String motTransforme = genererMotTransforme(candidat.scheme(), rootObj, explication);
+                scan.candidat();
+                if (motTransforme != null && correspond(motTransforme, wordNormalise, explication)) {
+                    scan.correspondance();
+                    enregistrerDerive(root, motTransforme, candidat.nom());
+                    return succesDecomposition(word, root, candidat.nom(), candidat.scheme());
                 }
             }
         }
 
+        return echecDecomposition(response, word);
+    }
+
+    private DecompositionResponse succesDecomposition(String word, String root, String schemeName, Scheme scheme) {
+        log.info("✅ Décomposition: {} ← {} + {}", word, root, schemeName);
+        return reponseDecomposition(word, root, schemeName, scheme);
+    }
+
+    private DecompositionResponse reponseDecomposition(String word, String root, String schemeName, Scheme scheme) {
+        DecompositionResponse response = new DecompositionResponse();
+        response.setWord(word);
+        response.setSuccess(true);
+        response.setRoot(root);
+        response.setScheme(schemeName);
+        response.setMessage(
+            "تم تحليل الكلمة '" + word + "' : الجذر '" + root +
+            "' على وزن '" + schemeName + "'."
+        );
+        response.setAddedElements(extraireElementsAjoutes(scheme));
+        return response;
+    }
+
+    private DecompositionResponse baseVide(DecompositionResponse response) {
+        response.setSuccess(false);
+        response.setMessage("قاعدة البيانات فارغة، لا توجد جذور مسجّلة.");
+        return response;
+    }
+
+    private DecompositionResponse echecDecomposition(DecompositionResponse response, String word) {
         response.setSuccess(false);
         response.setMessage(
             "تعذّر تحليل الكلمة '" + word +
@@ -177,70 +312,340 @@ public class ValidationService {
     // Trouver TOUTES les racines possibles d'un mot
     // ================================================================
     public List<DecompositionResponse> findAllPossibleRoots(String word) {
+        Explication explication = new Explication();
+        ShadowService.Echantillon echantillon = estVide(word) ? null : shadowService.ouvrir();
+        ValidationScanEvent scan = new ValidationScanEvent("findAllPossibleRoots");
+        scan.begin();
+        List<DecompositionResponse> results = latencyService.mesurer("findAllPossibleRoots",
+            () -> trouverRacinesPossibles(word, scan, explication));
+        scan.commit();
+        if (echantillon != null) {
+            shadowService.soumettre(echantillon, "findAllPossibleRoots", word, explication.strategie,
+                List.copyOf(results), () -> trouverRacinesReference(word));
+        }
+        return results;
+    }
+
+    private List<DecompositionResponse> trouverRacinesPossibles(String word, ValidationScanEvent scan,
+                                                                Explication explication) {
         log.debug("Recherche toutes racines pour: {}", word);
 
         List<DecompositionResponse> results = new ArrayList<>();
         if (word == null || word.isBlank()) return results;
 
         String wordNormalise = normaliserPourComparaison(word);
-        List<NoeudAVL> allNodes = rootService.getAllNodes();
 
-        if (allNodes == null || allNodes.isEmpty()) return results;
+        IndexDecomposition index = obtenirIndex(explication);
+        if (index != null) {
+            for (IndexDecomposition.Entree entree : rechercherDansIndex(index, wordNormalise, scan, explication)) {
+                Scheme scheme = schemeService.searchScheme(entree.scheme());
+                if (scheme != null) results.add(resultatRacine(word, entree.racine(), entree.scheme(), scheme));
+            }
+            journaliserRacinesTrouvees(word, results);
+            return results;
+        }
+
+        long t = latencyService.debut();
+        VueRacines racines = rootService.getVueRacines();
+        latencyService.fin(Etape.RECHERCHE, t);
 
-        for (NoeudAVL node : allNodes) {
-            String root  = node.getRacine();
-            Root rootObj = obtenirRootAnalyse(root, node);
+        if (racines.taille() == 0) return results;
+
+        List<Candidat> candidats = chargerCandidats(explication);
+        int positionsCommunes = positionsCommunes(candidats);
+
+        for (int i = 0; i < racines.taille(); i++) {
+            String root = racines.racine(i);
+            if (!lettresPresentes(root, positionsCommunes, wordNormalise)) continue;
+
+            t = latencyService.debut();
+            Root rootObj = obtenirRootAnalyse(root, racines, i, explication);
+            latencyService.fin(Etape.ANALYSE, t);
             if (rootObj == null || !rootObj.isValid()) continue;
 
-            List<String> schemeNames = schemeService.getSchemeNames();
-            for (String schemeName : schemeNames) {
-                Scheme scheme = schemeService.searchScheme(schemeName);
-                if (scheme == null) continue;
+            for (Candidat candidat : candidats) {
+                if (!lettresPresentes(root, candidat.positions(), wordNormalise)) continue;
 
-                String motTransforme = genererMotTransforme(scheme, rootObj);
-                if (motTransforme != null &&
-                        normaliserPourComparaison(motTransforme).equals(wordNormalise)) {
-                    DecompositionResponse result = new DecompositionResponse();
-                    result.setSuccess(true);
-                    result.setWord(word);
-                    result.setRoot(root);
-                    result.setScheme(schemeName);
-                    result.setMessage(
-                        "'" + word + "' ← جذر '" + root + "' على وزن '" + schemeName + "'"
-                    );
-                    result.setAddedElements(extraireElementsAjoutes(scheme));
-                    results.add(result);
+                String motTransforme = genererMotTransforme(candidat.scheme(), rootObj, explication);
+                scan.candidat();
+                if (motTransforme != null && correspond(motTransforme, wordNormalise, explication)) {
+                    scan.correspondance();
+                    results.add(resultatRacine(word, root, candidat.nom(), candidat.scheme()));
                 }
             }
         }
 
+        journaliserRacinesTrouvees(word, results);
+        return results;
+    }
+
+    private DecompositionResponse resultatRacine(String word, String root, String schemeName, Scheme scheme) {
+        DecompositionResponse result = new DecompositionResponse();
+        result.setSuccess(true);
+        result.setWord(word);
+        result.setRoot(root);
+        result.setScheme(schemeName);
+        result.setMessage(
+            "'" + word + "' ← جذر '" + root + "' على وزن '" + schemeName + "'"
+        );
+        result.setAddedElements(extraireElementsAjoutes(scheme));
+        return result;
+    }
+
+    private void journaliserRacinesTrouvees(String word, List<DecompositionResponse> results) {
         if (results.isEmpty())
             log.info("❌ لم يُعثر على جذر لـ '{}'", word);
         else
             log.info("✅ عُثر على {} نتيجة لـ '{}'", results.size(), word);
+    }
+
+    // ================================================================
+    // Parcours de référence (exécution fantôme) — la décomposition sans
+    // élagage ni index : toutes les racines × tous les schèmes, dans
+    // l'ordre. Aucun effet de bord : ni dérivé enregistré, ni journal.
+    // ================================================================
+    private record Correspondance(String racine, String nom, Scheme scheme) {}
+
+    private DecompositionResponse decomposerReference(String word) {
+        DecompositionResponse response = new DecompositionResponse();
+        response.setWord(word);
+
+        VueRacines racines = rootService.getVueRacines();
+        if (racines.taille() == 0) return baseVide(response);
+
+        List<Correspondance> trouvees = parcoursReference(racines, normaliserPourComparaison(word), true);
+        if (trouvees.isEmpty()) return echecDecomposition(response, word);
+        Correspondance c = trouvees.get(0);
+        return reponseDecomposition(word, c.racine(), c.nom(), c.scheme());
+    }
+
+    private List<DecompositionResponse> trouverRacinesReference(String word) {
+        List<DecompositionResponse> results = new ArrayList<>();
+        VueRacines racines = rootService.getVueRacines();
+        if (racines.taille() == 0) return results;
 
+        for (Correspondance c : parcoursReference(racines, normaliserPourComparaison(word), false))
+            results.add(resultatRacine(word, c.racine(), c.nom(), c.scheme()));
         return results;
     }
 
+    private List<Correspondance> parcoursReference(VueRacines racines, String wordNormalise, boolean premiere) {
+        List<Correspondance> trouvees = new ArrayList<>();
+        Explication ignoree = new Explication();
+        List<String> schemeNames = schemeService.getSchemeNames();
+
+        for (int i = 0; i < racines.taille(); i++) {
+            String root = racines.racine(i);
+            Root rootObj = obtenirRootAnalyse(root, racines, i, ignoree);
+            if (rootObj == null || !rootObj.isValid()) continue;
+
+            for (String schemeName : schemeNames) {
+                Scheme scheme = schemeService.searchScheme(schemeName);
+                if (scheme == null) continue;
+
+                String motTransforme = genererMotTransforme(scheme, rootObj);
+                if (motTransforme != null && correspond(motTransforme, wordNormalise)) {
+                    trouvees.add(new Correspondance(root, schemeName, scheme));
+                    if (premiere) return trouvees;
+                }
+            }
+        }
+        return trouvees;
+    }
+
+    private static boolean estVide(String word) {
+        return word == null || word.isBlank();
+    }
+
+    // ================================================================
+    // Élagage — les transformations ne touchent que les lettres faibles
+    // (و ي) et les hamzas : toute autre lettre de la racine placée par le
+    // schème se retrouve telle quelle dans le mot. Si le mot ne la
+    // contient pas, le couple racine × schème ne peut pas correspondre.
+    // ================================================================
+    private record Candidat(String nom, Scheme scheme, int positions) {}
+
+    private List<Candidat> chargerCandidats(Explication explication) {
+        List<Candidat> candidats = new ArrayList<>();
+        for (String schemeName : schemeService.getSchemeNames()) {
+            Scheme scheme = schemeService.searchScheme(schemeName);
+            if (scheme == null) continue;
+            candidats.add(new Candidat(schemeName, scheme, positionsRegle(scheme.getRegle())));
+        }
+        explication.schemes = candidats.size();
+        return candidats;
+    }
+
+    /** Positions de la racine (bits 0 à 2) placées par la règle du schème */
+    private static int positionsRegle(String regle) {
+        if (regle == null) return 0;
+        int positions = 0;
+        for (int i = 0; i < regle.length(); i++) {
+            char c = regle.charAt(i);
+            if (c >= '1' && c <= '3') positions |= 1 << (c - '1');
+        }
+        return positions;
+    }
+
+    /** Positions placées par tous les schèmes : élagage de la racine entière */
+    private static int positionsCommunes(List<Candidat> candidats) {
+        int positions = 0b111;
+        for (Candidat candidat : candidats) positions &= candidat.positions();
+        return positions;
+    }
+
+    private static boolean lettresPresentes(String racine, int positions, String motNormalise) {
+        int position = 0;
+        for (int i = 0; i < racine.length() && position < 3; i++) {
+            char c = racine.charAt(i);
+            if (c >= '\u064B' && c <= '\u065F') continue;
+            if ((positions & (1 << position)) != 0 && !estLettreAlterable(c)
+                    && motNormalise.indexOf(c) < 0) {
+                return false;
+            }
+            position++;
+        }
+        return true;
+    }
+
+    /** Lettres que les transformations peuvent supprimer ou remplacer */
+    private static boolean estLettreAlterable(char c) {
+        return c == '\u0648' || c == '\u064A' || c == '\u0649'   // و ي ى
+            || (c >= '\u0621' && c <= '\u0626');                  // ء آ أ ؤ إ ئ
+    }
+
+    // ================================================================
+    // Index des formes générées (morphology.decomposition.index-enabled)
+    // Reconstruit par la première requête qui le trouve périmé ; pendant
+    // la reconstruction, les autres requêtes font un parcours complet.
+    // ================================================================
+    private IndexDecomposition obtenirIndex(Explication explication) {
+        if (!properties.getDecomposition().isIndexEnabled()) {
+            explication.etatIndex = "disabled";
+            explication.strategie = "scan";
+            return null;
+        }
+
+        IndexDecomposition courant = index;
+        if (courant != null && courant.estAJour(rootService.getVersion(), schemeService.getVersion())) {
+            explication.etatIndex = "fresh";
+        } else if (indexEnConstruction.compareAndSet(false, true)) {
+            try {
+                courant = construireIndex();
+                index = courant;
+                explication.etatIndex = "rebuilt";
+                explication.constructionIndexMs = courant.getDureeConstructionMs();
+            } finally {
+                indexEnConstruction.set(false);
+            }
+        } else {
+            explication.etatIndex = "rebuilding";
+            explication.strategie = "scan";
+            return null;
+        }
+
+        explication.strategie = "index";
+        explication.formesIndex = courant.getNombreFormes();
+        return courant;
+    }
+
+    private List<IndexDecomposition.Entree> rechercherDansIndex(IndexDecomposition index, String wordNormalise,
+                                                               ValidationScanEvent scan, Explication explication) {
+        long t = latencyService.debut();
+        List<IndexDecomposition.Entree> entrees = index.rechercher(wordNormalise);
+        latencyService.fin(Etape.RECHERCHE, t);
+        explication.candidats = entrees.size();
+        explication.correspondancesIndex = entrees.isEmpty() ? 0 : 1;
+        for (int i = 0; i < entrees.size(); i++) {
+            scan.candidat();
+            scan.correspondance();
+        }
+        return entrees;
+    }
+
+    /** Index courant, éventuellement périmé ; null s'il n'a jamais été construit */
+    public IndexDecomposition getIndex() {
+        return index;
+    }
+
+    private IndexDecomposition construireIndex() {
+        // Versions lues avant le parcours : une modification concurrente
+        // rend l'index périmé dès sa publication, jamais faussement à jour
+        IndexDecomposition.Constructeur constructeur =
+            IndexDecomposition.constructeur(rootService.getVersion(), schemeService.getVersion());
+
+        Explication ignoree = new Explication();
+        List<Candidat> candidats = chargerCandidats(ignoree);
+        VueRacines racines = rootService.getVueRacines();
+        for (int i = 0; i < racines.taille(); i++) {
+            String root = racines.racine(i);
+            Root rootObj = obtenirRootAnalyse(root, racines, i, ignoree);
+            if (rootObj == null || !rootObj.isValid()) continue;
+
+            for (Candidat candidat : candidats) {
+                String motTransforme = genererMotTransforme(candidat.scheme(), rootObj, ignoree);
+                if (motTransforme == null) continue;
+                constructeur.ajouter(normaliserPourComparaison(motTransforme), root, candidat.nom(), motTransforme);
+            }
+        }
+
+        IndexDecomposition construit = constructeur.construire();
+        log.info("Index de décomposition: {} formes, {} entrées en {} ms",
+            construit.getNombreFormes(), construit.getNombreEntrees(), construit.getDureeConstructionMs());
+        return construit;
+    }
+
+    /** Compteurs d'une décomposition, remontés par explainDecomposition */
+    private static final class Explication {
+        String strategie;
+        String etatIndex;
+        Long constructionIndexMs;
+        Integer formesIndex;
+        int racines;
+        int racinesElaguees;
+        int racinesInvalides;
+        int racinesAnalysees;
+        int schemes;
+        int candidats;
+        int candidatsElagues;
+        int schemesDisparus;
+        int transformations;
+        int transformationsEvitees;
+        int comparaisons;
+        int typesEnCache;
+        int analyses;
+        int correspondancesIndex;
+    }
+
     // ================================================================
     // MÉTHODE CENTRALE — génère le mot brut PUIS applique les transformations
     // ================================================================
     private String genererMotTransforme(Scheme scheme, Root rootObj) {
+        return genererMotTransforme(scheme, rootObj, null);
+    }
+
+    private String genererMotTransforme(Scheme scheme, Root rootObj, Explication explication) {
         try {
+            long t = latencyService.debut();
             String motBrut = scheme.appliquer(rootObj.getRacine());
+            latencyService.fin(Etape.SCHEME, t);
             if (motBrut == null || motBrut.isBlank()) return null;
 
+            // Racine saine sans hamza : aucune transformation à appliquer
             RootType type = rootObj.getType();
-            if (type == null || type == RootType.SALIM) {
-                return rootObj.isContientHamza()
-                    ? transformationService.appliquerTransformations(
-                        motBrut, type, rootObj, scheme.getId())
-                    : motBrut;
+            if ((type == null || type == RootType.SALIM) && !rootObj.isContientHamza()) {
+                if (explication != null) explication.transformationsEvitees++;
+                return motBrut;
             }
 
-            return transformationService.appliquerTransformations(
+            if (explication != null) explication.transformations++;
+
+            t = latencyService.debut();
+            String motTransforme = transformationService.appliquerTransformations(
                 motBrut, type, rootObj, scheme.getId()
             );
+            latencyService.fin(Etape.TRANSFORMATION, t);
+            return motTransforme;
 
         } catch (Exception e) {
             log.warn("⚠️ Erreur génération pour schème '{}': {}", scheme.getNom(), e.getMessage());
@@ -248,18 +653,39 @@ public class ValidationService {
         }
     }
 
+    private boolean correspond(String motTransforme, String wordNormalise) {
+        return correspond(motTransforme, wordNormalise, null);
+    }
+
+    private boolean correspond(String motTransforme, String wordNormalise, Explication explication) {
+        if (explication != null) explication.comparaisons++;
+        long t = latencyService.debut();
+        boolean egal = normaliserPourComparaison(motTransforme).equals(wordNormalise);
+        latencyService.fin(Etape.COMPARAISON, t);
+        return egal;
+    }
+
+    private void enregistrerDerive(String root, String motTransforme, String schemeName) {
+        long t = latencyService.debut();
+        rootService.addDerivativeToRoot(root, motTransforme, schemeName);
+        latencyService.fin(Etape.DERIVE, t);
+    }
+
     // ================================================================
-    // Obtenir l'analyse d'une racine en utilisant le cache du noeud
+    // Obtenir l'analyse d'une racine en utilisant le type en cache
     // ================================================================
-    private Root obtenirRootAnalyse(String racine, NoeudAVL node) {
+    private Root obtenirRootAnalyse(String racine, VueRacines racines, int i, Explication explication) {
         try {
-            if (node.getTypeMorphologique() != null) {
+            RootType type = racines.type(i);
+            if (type != null) {
+                explication.typesEnCache++;
                 Root rootObj = new Root(racine);
                 if (!rootObj.isValid()) return null;
-                rootObj.setType(node.getTypeMorphologique());
-                rootObj.setContientHamza(node.isContientHamza());
+                rootObj.setType(type);
+                rootObj.setContientHamza(racines.contientHamza(i));
                 return rootObj;
             }
+            explication.analyses++;
             return morphoAnalyzer.analyserRacine(racine);
         } catch (Exception e) {
             log.warn("⚠️ Erreur analyse racine '{}': {}", racine, e.getMessage());
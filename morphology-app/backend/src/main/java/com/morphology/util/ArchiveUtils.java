@@ -0,0 +1,177 @@
+package com.morphology.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.input.CloseShieldInputStream;
+
+/**
+ * Lecture en flux des fichiers de lexique : texte brut, gzip ou archive zip
+ * (un ou plusieurs fichiers). La décompression et le décodage UTF-8 sont
+ * chaînés directement jusqu'au lecteur de lignes : ni fichier temporaire,
+ * ni contenu complet matérialisé en mémoire.
+ */
+public class ArchiveUtils {
+
+    /**
+     * Traitement d'un fichier texte extrait du flux.
+     * {@code nom} est null pour un fichier unique (texte brut ou gzip).
+     */
+    @FunctionalInterface
+    public interface TraitementEntree {
+        void traiter(String nom, BufferedReader lecteur) throws IOException;
+    }
+
+    private enum Format { TEXTE, GZIP, ZIP }
+
+    /**
+     * Parcourir un flux quelconque (le format est détecté par ses premiers octets).
+     * Les entrées d'une archive zip sont traitées séquentiellement.
+     */
+    public static void parcourir(InputStream flux, TraitementEntree traitement) throws IOException {
+        BufferedInputStream entree = new BufferedInputStream(flux);
+        switch (detecterFormat(entree)) {
+            case GZIP:
+                parcourir(new GZIPInputStream(entree), traitement);
+                break;
+            case ZIP:
+                parcourirZip(new ZipInputStream(entree, StandardCharsets.UTF_8), traitement);
+                break;
+            default:
+                traitement.traiter(null, lecteur(entree));
+                break;
+        }
+    }
+
+    /**
+     * Parcourir un fichier local. Une archive zip est lue par accès direct
+     * et ses fichiers indépendants sont traités en parallèle.
+     * {@code octetsLus} suit la progression en octets du fichier source.
+     */
+    public static void parcourirFichier(Path fichier, AtomicLong octetsLus,
+                                        TraitementEntree traitement) throws IOException {
+        Format format;
+        try (BufferedInputStream entree = new BufferedInputStream(Files.newInputStream(fichier))) {
+            format = detecterFormat(entree);
+        }
+
+        if (format != Format.ZIP) {
+            try (InputStream flux = new CompteurOctets(Files.newInputStream(fichier), octetsLus)) {
+                parcourir(flux, traitement);
+            }
+            return;
+        }
+
+        try (ZipFile zip = new ZipFile(fichier.toFile(), StandardCharsets.UTF_8)) {
+            List<ZipEntry> entrees = new ArrayList<>();
+            for (ZipEntry e : Collections.list(zip.entries())) {
+                if (estFichierLexique(e)) entrees.add(e);
+            }
+
+            entrees.parallelStream().forEach(e -> {
+                try (InputStream flux = zip.getInputStream(e)) {
+                    traiterEntree(e.getName(), flux, traitement);
+                    octetsLus.addAndGet(Math.max(0, e.getCompressedSize()));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void parcourirZip(ZipInputStream zip, TraitementEntree traitement) throws IOException {
+        ZipEntry e;
+        while ((e = zip.getNextEntry()) != null) {
+            if (estFichierLexique(e)) {
+                // Le traitement ne doit pas fermer le flux zip partagé
+                traiterEntree(e.getName(), CloseShieldInputStream.wrap(zip), traitement);
+            }
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * Une entrée d'archive peut elle-même être compressée en gzip
+     */
+    private static void traiterEntree(String nom, InputStream flux,
+                                      TraitementEntree traitement) throws IOException {
+        BufferedInputStream entree = new BufferedInputStream(flux);
+        InputStream contenu = detecterFormat(entree) == Format.GZIP
+            ? new GZIPInputStream(entree)
+            : entree;
+        traitement.traiter(nom, lecteur(contenu));
+    }
+
+    private static Format detecterFormat(BufferedInputStream entree) throws IOException {
+        entree.mark(4);
+        byte[] magique = new byte[4];
+        int lus = entree.readNBytes(magique, 0, 4);
+        entree.reset();
+
+        if (lus >= 2 && (magique[0] & 0xFF) == 0x1F && (magique[1] & 0xFF) == 0x8B) {
+            return Format.GZIP;
+        }
+        if (lus == 4 && magique[0] == 'P' && magique[1] == 'K' && magique[2] == 3 && magique[3] == 4) {
+            return Format.ZIP;
+        }
+        return Format.TEXTE;
+    }
+
+    /**
+     * Ignorer les répertoires et les métadonnées (__MACOSX, fichiers cachés)
+     */
+    private static boolean estFichierLexique(ZipEntry e) {
+        if (e.isDirectory()) return false;
+        String nom = e.getName();
+        String base = nom.substring(nom.lastIndexOf('/') + 1);
+        return !nom.startsWith("__MACOSX/") && !base.startsWith(".");
+    }
+
+    private static BufferedReader lecteur(InputStream flux) {
+        return new BufferedReader(new InputStreamReader(flux, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compte les octets lus sur le fichier source (progression)
+     */
+    private static class CompteurOctets extends FilterInputStream {
+        private final AtomicLong compteur;
+
+        CompteurOctets(InputStream in, AtomicLong compteur) {
+            super(in);
+            this.compteur = compteur;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) compteur.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) compteur.addAndGet(n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.morphology.util;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodage binaire compact : entiers de taille variable (varint LEB128),
+ * chaînes UTF-8 préfixées par leur longueur et clés de racines compactées
+ * sur 3 octets.
+ */
+public class BinaryUtils {
+
+    // Les lettres arabes (et leurs signes) tiennent dans le bloc U+0600–U+06FF
+    private static final int BLOC_ARABE = 0x0600;
+
+    /**
+     * Écrire un entier positif sur 1 à 10 octets (7 bits utiles par octet)
+     */
+    public static void ecrireVarint(DataOutput sortie, long valeur) throws IOException {
+        while ((valeur & ~0x7FL) != 0) {
+            sortie.writeByte((int) ((valeur & 0x7F) | 0x80));
+            valeur >>>= 7;
+        }
+        sortie.writeByte((int) valeur);
+    }
+
+    public static long lireVarint(ByteBuffer tampon) {
+        long valeur = 0;
+        int decalage = 0;
+        byte octet;
+        do {
+            if (decalage > 63) {
+                throw new IllegalStateException("Varint trop long");
+            }
+            octet = tampon.get();
+            valeur |= (long) (octet & 0x7F) << decalage;
+            decalage += 7;
+        } while ((octet & 0x80) != 0);
+        return valeur;
+    }
+
+    public static int lireVarintInt(ByteBuffer tampon) {
+        return Math.toIntExact(lireVarint(tampon));
+    }
+
+    /**
+     * Écrire une chaîne UTF-8 précédée de sa longueur en octets
+     */
+    public static void ecrireChaine(DataOutput sortie, String chaine) throws IOException {
+        byte[] octets = chaine.getBytes(StandardCharsets.UTF_8);
+        ecrireVarint(sortie, octets.length);
+        sortie.write(octets);
+    }
+
+    public static String lireChaine(ByteBuffer tampon) {
+        int longueur = lireVarintInt(tampon);
+        byte[] octets = new byte[longueur];
+        tampon.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Une racine de 3 caractères du bloc arabe se compacte sur 3 octets
+     * (décalage de chaque caractère par rapport à U+0600)
+     */
+    public static boolean estCompactable(String racine) {
+        if (racine.length() != 3) return false;
+        for (int i = 0; i < 3; i++) {
+            int c = racine.charAt(i) - BLOC_ARABE;
+            if (c < 0 || c > 0xFF) return false;
+        }
+        return true;
+    }
+
+    public static void ecrireCleCompacte(DataOutput sortie, String racine) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            sortie.writeByte(racine.charAt(i) - BLOC_ARABE);
+        }
+    }
+
+    public static String lireCleCompacte(ByteBuffer tampon) {
+        char[] lettres = new char[3];
+        for (int i = 0; i < 3; i++) {
+            lettres[i] = (char) (BLOC_ARABE + (tampon.get() & 0xFF));
+        }
+        return new String(lettres);
+    }
+}
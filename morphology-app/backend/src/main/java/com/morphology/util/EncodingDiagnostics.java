@@ -0,0 +1,82 @@
+package com.morphology.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HexFormat;
+
+import com.morphology.dto.response.EncodingDiagnosticsResponse;
+
+/**
+ * Diagnostic d'encodage des chaînes reçues par l'API.
+ *
+ * Ces analyses (octets, points de code, noms Unicode) sont coûteuses : elles
+ * ne sont faites que pour POST /validate/diagnostics ou pour une fraction
+ * échantillonnée des requêtes, jamais sur le chemin normal de validation.
+ */
+public class EncodingDiagnostics {
+
+    private EncodingDiagnostics() {}
+
+    public static EncodingDiagnosticsResponse analyser(String texte) {
+        EncodingDiagnosticsResponse diagnostic = new EncodingDiagnosticsResponse();
+        if (texte == null) {
+            diagnostic.getWarnings().add("Chaîne absente");
+            return diagnostic;
+        }
+
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        diagnostic.setText(texte);
+        diagnostic.setLength(texte.length());
+        diagnostic.setCodePoints(texte.codePointCount(0, texte.length()));
+        diagnostic.setUtf8Bytes(octets.length);
+        diagnostic.setUtf8Hex(HexFormat.ofDelimiter(" ").formatHex(octets));
+        diagnostic.setRoundTripUtf8(new String(octets, StandardCharsets.UTF_8).equals(texte));
+        diagnostic.setNfc(Normalizer.isNormalized(texte, Normalizer.Form.NFC));
+
+        boolean arabe = false;
+        boolean formePresentation = false;
+        boolean tatweel = false;
+        boolean controle = false;
+        boolean remplacement = false;
+        int harakat = 0;
+
+        for (int i = 0; i < texte.length(); ) {
+            int cp = texte.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (cp >= 0x0600 && cp <= 0x06FF) arabe = true;
+            if (cp >= 0x064B && cp <= 0x065F) harakat++;
+            if (cp >= 0xFB50 && cp <= 0xFEFF) formePresentation = true;
+            if (cp == 0x0640) tatweel = true;
+            if (cp == 0xFFFD) remplacement = true;
+            if (Character.getType(cp) == Character.FORMAT || Character.isISOControl(cp)) controle = true;
+
+            String nom = Character.getName(cp);
+            diagnostic.getCharacters().add(new EncodingDiagnosticsResponse.CharacterInfo(
+                new String(Character.toChars(cp)), String.format("U+%04X", cp), nom));
+        }
+
+        diagnostic.setArabic(arabe);
+        diagnostic.setHarakat(harakat);
+        if (!arabe) diagnostic.getWarnings().add("Aucun caractère arabe (U+0600–U+06FF)");
+        if (formePresentation) diagnostic.getWarnings().add("Formes de présentation arabes (U+FB50–U+FEFF) : texte copié d'un rendu, à normaliser");
+        if (tatweel) diagnostic.getWarnings().add("Tatweel (U+0640) présent");
+        if (remplacement) diagnostic.getWarnings().add("Caractère de remplacement (U+FFFD) : décodage incorrect en amont");
+        if (controle) diagnostic.getWarnings().add("Caractères de contrôle ou de mise en forme invisibles");
+        if (!diagnostic.isNfc()) diagnostic.getWarnings().add("Chaîne non normalisée NFC (ordre des diacritiques)");
+        return diagnostic;
+    }
+
+    /**
+     * Liste compacte [c:U+XXXX] pour les journaux
+     */
+    public static String resumer(String texte) {
+        if (texte == null) return "null";
+        StringBuilder sb = new StringBuilder();
+        texte.codePoints().forEach(cp -> {
+            sb.append('[').appendCodePoint(cp).append(':');
+            sb.append(String.format("U+%04X", cp)).append("] ");
+        });
+        return sb.toString().trim();
+    }
+}
@@ -11,6 +11,42 @@ import java.util.List;
  */
 public class FileUtils {
 
+    /**
+     * Traitement d'un lot de lignes lues par {@link #lireParLots}
+     */
+    @FunctionalInterface
+    public interface TraitementLot {
+        void traiter(List<String> lignes, int premiereLigne) throws IOException;
+    }
+
+    /**
+     * Lire un flux par lots de lignes, sans charger tout le fichier en mémoire.
+     * Retourne le nombre total de lignes lues.
+     */
+    public static int lireParLots(BufferedReader reader, int tailleLot, TraitementLot traitement)
+            throws IOException {
+        
+        List<String> lot = new ArrayList<>(tailleLot);
+        int numero = 0;
+        int premiere = 1;
+        
+        String ligne;
+        while ((ligne = reader.readLine()) != null) {
+            numero++;
+            lot.add(ligne);
+            if (lot.size() >= tailleLot) {
+                traitement.traiter(lot, premiere);
+                lot = new ArrayList<>(tailleLot);
+                premiere = numero + 1;
+            }
+        }
+        
+        if (!lot.isEmpty()) {
+            traitement.traiter(lot, premiere);
+        }
+        return numero;
+    }
+
     /**
      * Lire un fichier ligne par ligne
      */
@@ -0,0 +1,103 @@
+package com.morphology.util;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * Estimation de la taille des objets sur le tas, d'après la disposition
+ * HotSpot : en-tête, références compressées ou non, alignement.
+ *
+ * Les tailles sont des estimations : l'ordre réel des champs, le
+ * remplissage interne et la capacité exacte des tableaux ne sont pas lus.
+ */
+public class MemoryUtils {
+
+    private static final boolean REFERENCES_COMPRESSEES = option("UseCompressedOops", true);
+    private static final boolean CLASSES_COMPRESSEES = option("UseCompressedClassPointers", true);
+    private static final int ALIGNEMENT = Integer.parseInt(valeur("ObjectAlignmentInBytes", "8"));
+
+    private static final int ENTETE = CLASSES_COMPRESSEES ? 12 : 16;
+    private static final int REFERENCE = REFERENCES_COMPRESSEES ? 4 : 8;
+
+    private MemoryUtils() {}
+
+    public static boolean isReferencesCompressees() { return REFERENCES_COMPRESSEES; }
+    public static int getAlignement()               { return ALIGNEMENT; }
+    public static int getTailleReference()          { return REFERENCE; }
+
+    /**
+     * Objet de {@code references} champs référence et {@code octets} octets de champs primitifs
+     */
+    public static long objet(int references, int octets) {
+        return aligner(ENTETE + (long) references * REFERENCE + octets);
+    }
+
+    /** Tableau de références (Object[], Maillon[]...) */
+    public static long tableauReferences(int longueur) {
+        return aligner(ENTETE + 4 + (long) longueur * REFERENCE);
+    }
+
+    /** Tableau de primitifs de {@code tailleElement} octets */
+    public static long tableau(int longueur, int tailleElement) {
+        return aligner(ENTETE + 4 + (long) longueur * tailleElement);
+    }
+
+    /**
+     * String et son tableau d'octets (LATIN1 sur 1 octet par caractère,
+     * UTF16 sur 2 — cas de l'arabe)
+     */
+    public static long chaine(String s) {
+        if (s == null) return 0;
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) {
+            latin1 = s.charAt(i) <= 0xFF;
+        }
+        return objet(1, 4 + 1 + 1) + tableau(s.length(), latin1 ? 1 : 2);
+    }
+
+    /**
+     * ArrayList de {@code taille} éléments créée sans capacité (10 au premier ajout)
+     */
+    public static long arrayList(int taille) {
+        return arrayList(taille, 10);
+    }
+
+    /**
+     * ArrayList de {@code taille} éléments, capacité déduite de la politique de
+     * croissance (×1,5 à partir de la capacité initiale) ; tableau partagé si vide
+     */
+    public static long arrayList(int taille, int capaciteInitiale) {
+        long liste = objet(1, 4 + 4);
+        if (taille == 0) return liste;
+        int capacite = Math.max(1, capaciteInitiale);
+        while (capacite < taille) capacite += Math.max(capacite >> 1, 1);
+        return liste + tableauReferences(capacite);
+    }
+
+    /**
+     * HashMap de {@code taille} entrées (nœuds et table, hors clés et valeurs)
+     */
+    public static long hashMap(int taille) {
+        long map = objet(4, 4 * 4);
+        if (taille == 0) return map;
+        int table = Integer.highestOneBit(Math.max(1, (int) Math.ceil(taille / 0.75)) - 1) << 1;
+        return map + tableauReferences(Math.max(16, table)) + taille * objet(3, 4);
+    }
+
+    private static long aligner(long taille) {
+        return (taille + ALIGNEMENT - 1) / ALIGNEMENT * ALIGNEMENT;
+    }
+
+    private static boolean option(String nom, boolean defaut) {
+        return Boolean.parseBoolean(valeur(nom, Boolean.toString(defaut)));
+    }
+
+    private static String valeur(String nom, String defaut) {
+        try {
+            return ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class).getVMOption(nom).getValue();
+        } catch (RuntimeException | LinkageError e) {
+            return defaut;
+        }
+    }
+}
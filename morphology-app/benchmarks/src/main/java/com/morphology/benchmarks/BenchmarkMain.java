@@ -0,0 +1,28 @@
+package com.morphology.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée du jar benchmarks.jar.
+ *
+ * Accepte les options habituelles de JMH (filtre, -f, -wi, -i, -p ...) et
+ * ajoute toujours le profileur GC : chaque résultat est accompagné de
+ * gc.alloc.rate.norm (octets alloués par opération).
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions ligneDeCommande = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(ligneDeCommande)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
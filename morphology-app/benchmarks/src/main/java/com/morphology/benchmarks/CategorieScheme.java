@@ -0,0 +1,16 @@
+package com.morphology.benchmarks;
+
+/**
+ * Catégories de schèmes, d'après les sections de static/schemes.txt
+ * (publique : paramètre JMH).
+ */
+public enum CategorieScheme {
+    /** Forme I, الفعل المجرد */
+    MUJARRAD,
+    /** Formes augmentées II à X */
+    MAZID,
+    /** Schèmes nominaux */
+    NOMINAL,
+    /** Schèmes spéciaux (pluriels, nisba, élatif) */
+    SPECIAL
+}
@@ -0,0 +1,105 @@
+package com.morphology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.morphology.dto.response.DecompositionResponse;
+import com.morphology.model.Scheme;
+
+/**
+ * Passage à l'échelle de la décomposition sans racine connue
+ * (ValidationService.decomposeWord et findAllPossibleRoots) quand le
+ * lexique (racines) et le catalogue (schèmes) grandissent indépendamment,
+ * par parcours élagué (scan) ou par l'index des formes (index, construit
+ * pendant la préparation : seule la recherche est mesurée).
+ *
+ * Requêtes :
+ *   HIT   — mot dérivé d'une racine du lexique par un schème du catalogue ;
+ *   MISS  — racine du lexique mais schème hors catalogue ;
+ *   WORST — racine absente du lexique : aucune correspondance, tout le
+ *           lexique est parcouru (scan).
+ *
+ * La courbe attendue : O(racines × schèmes) pour scan, quasi constante
+ * pour index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DecompositionScalingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int nombreRacines;
+
+    @Param({ "28", "56", "112" })
+    public int nombreSchemes;
+
+    @Param({ "HIT", "MISS", "WORST" })
+    public TypeRequete requete;
+
+    @Param({ "scan", "index" })
+    public String strategie;
+
+    private Echelle echelle;
+    private String[] mots;
+    private int curseur;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        echelle = new Echelle(nombreRacines, nombreSchemes, "index".equals(strategie));
+        Random aleatoire = Echelle.aleatoire();
+        List<String> m = new ArrayList<>();
+
+        for (int essai = 0; m.size() < Echelle.NOMBRE_REQUETES && essai < 100 * Echelle.NOMBRE_REQUETES; essai++) {
+            String mot = switch (requete) {
+                case HIT -> echelle.deriver(Echelle.tirer(echelle.racines, aleatoire),
+                                            Echelle.tirer(echelle.schemes, aleatoire));
+                case MISS -> echelle.deriver(Echelle.tirer(echelle.racines, aleatoire),
+                                             Echelle.tirer(echelle.schemesHorsCatalogue, aleatoire));
+                case WORST -> echelle.deriver(Echelle.tirer(echelle.racinesAbsentes, aleatoire),
+                                              Echelle.tirer(echelle.schemes, aleatoire));
+            };
+            if (mot == null || mot.isBlank()) continue;
+            // Le premier appel construit l'index (stratégie index)
+            boolean trouve = echelle.moteur.validationService.decomposeWord(mot).isSuccess();
+            if (trouve != (requete == TypeRequete.HIT)) continue;
+            m.add(mot);
+        }
+        if (m.isEmpty()) {
+            throw new IllegalStateException("Aucune requête " + requete + " trouvée");
+        }
+        mots = m.toArray(new String[0]);
+    }
+
+    private int suivant() {
+        int i = curseur + 1;
+        return curseur = i < mots.length ? i : 0;
+    }
+
+    @Benchmark
+    public DecompositionResponse decomposer() {
+        return echelle.moteur.validationService.decomposeWord(mots[suivant()]);
+    }
+
+    @Benchmark
+    public List<DecompositionResponse> trouverRacines() {
+        return echelle.moteur.validationService.findAllPossibleRoots(mots[suivant()]);
+    }
+}
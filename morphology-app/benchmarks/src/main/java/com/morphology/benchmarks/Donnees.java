@@ -0,0 +1,77 @@
+package com.morphology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Jeux de données déterministes pour les benchmarks (graine fixe) :
+ * racines trilitères tirées de l'espace complet des 42 lettres arabes
+ * (U+0621 à U+064A, 42³ = 74 088 racines) et clés de schèmes.
+ */
+final class Donnees {
+
+    static final char PREMIERE_LETTRE = 'ء';
+    static final char DERNIERE_LETTRE = 'ي';
+    static final int NOMBRE_LETTRES = DERNIERE_LETTRE - PREMIERE_LETTRE + 1;
+
+    private Donnees() {}
+
+    /**
+     * {@code nombre} racines distinctes, dans un ordre aléatoire reproductible.
+     */
+    static List<String> racines(int nombre, long graine) {
+        int total = NOMBRE_LETTRES * NOMBRE_LETTRES * NOMBRE_LETTRES;
+        if (nombre > total) {
+            throw new IllegalArgumentException("Au plus " + total + " racines trilitères.");
+        }
+        // Mélange de Fisher-Yates partiel sur les indices de l'espace complet
+        int[] indices = new int[total];
+        for (int i = 0; i < total; i++) indices[i] = i;
+        Random aleatoire = new Random(graine);
+        List<String> racines = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            int j = i + aleatoire.nextInt(total - i);
+            int tmp = indices[i];
+            indices[i] = indices[j];
+            indices[j] = tmp;
+            racines.add(racine(indices[i]));
+        }
+        return racines;
+    }
+
+    static String racine(int index) {
+        char c3 = (char) (PREMIERE_LETTRE + index % NOMBRE_LETTRES);
+        index /= NOMBRE_LETTRES;
+        char c2 = (char) (PREMIERE_LETTRE + index % NOMBRE_LETTRES);
+        index /= NOMBRE_LETTRES;
+        char c1 = (char) (PREMIERE_LETTRE + index);
+        return new String(new char[] { c1, c2, c3 });
+    }
+
+    /**
+     * {@code nombre} clés de schèmes distinctes de 3 à 7 lettres, construites
+     * comme les vrais schèmes : ف ع ل entourées de lettres augmentatives.
+     */
+    static List<String> clesSchemes(int nombre, long graine) {
+        final String augmentatives = "اتسمنوية";
+        Random aleatoire = new Random(graine);
+        Set<String> cles = new LinkedHashSet<>();
+        while (cles.size() < nombre) {
+            StringBuilder sb = new StringBuilder();
+            int prefixe = aleatoire.nextInt(3);
+            for (int i = 0; i < prefixe; i++) sb.append(augmentatives.charAt(aleatoire.nextInt(augmentatives.length())));
+            sb.append('ف');
+            if (aleatoire.nextBoolean()) sb.append(augmentatives.charAt(aleatoire.nextInt(augmentatives.length())));
+            sb.append('ع');
+            if (aleatoire.nextBoolean()) sb.append(augmentatives.charAt(aleatoire.nextInt(augmentatives.length())));
+            sb.append('ل');
+            int suffixe = aleatoire.nextInt(3);
+            for (int i = 0; i < suffixe; i++) sb.append(augmentatives.charAt(aleatoire.nextInt(augmentatives.length())));
+            cles.add(sb.toString());
+        }
+        return new ArrayList<>(cles);
+    }
+}
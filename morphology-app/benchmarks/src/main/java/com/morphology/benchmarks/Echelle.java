@@ -0,0 +1,87 @@
+package com.morphology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.morphology.model.Root;
+import com.morphology.model.Scheme;
+
+/**
+ * Lexique de taille contrôlée pour les mesures de passage à l'échelle :
+ * {@code nombreRacines} racines synthétiques valides et les
+ * {@code nombreSchemes} premiers schèmes livrés (ordre mélangé, graine fixe),
+ * ainsi que des racines absentes et des schèmes hors catalogue pour
+ * fabriquer des requêtes sans correspondance.
+ */
+final class Echelle {
+
+    static final int NOMBRE_REQUETES = 64;
+    private static final long GRAINE = 2024L;
+
+    final Moteur moteur;
+    final List<String> racines;
+    final List<String> racinesAbsentes;
+    final List<Scheme> schemes;
+    final List<Scheme> schemesHorsCatalogue;
+
+    Echelle(int nombreRacines, int nombreSchemes, boolean indexDecomposition) {
+        // Schèmes : sous-ensemble du catalogue livré, le reste est « hors catalogue »
+        List<String> lignesSchemes = new ArrayList<>();
+        for (String ligne : Moteur.schemesLivres()) {
+            String l = ligne.trim();
+            if (!l.isEmpty() && !l.startsWith("#") && l.contains("|")) lignesSchemes.add(l);
+        }
+        if (nombreSchemes > lignesSchemes.size()) {
+            throw new IllegalArgumentException("Au plus " + lignesSchemes.size() + " schèmes livrés.");
+        }
+        Collections.shuffle(lignesSchemes, new Random(GRAINE));
+        List<String> catalogue = lignesSchemes.subList(0, nombreSchemes);
+
+        // Racines : tirage dans l'espace complet, seules les racines valides comptent
+        Moteur analyse = new Moteur(List.of(), List.of(), false);
+        List<String> valides = new ArrayList<>(nombreRacines + NOMBRE_REQUETES);
+        for (String racine : Donnees.racines(Donnees.NOMBRE_LETTRES * Donnees.NOMBRE_LETTRES * Donnees.NOMBRE_LETTRES, GRAINE)) {
+            if (analyse.morphoAnalyzer.analyserRacine(racine).isValid()) valides.add(racine);
+            if (valides.size() == nombreRacines + NOMBRE_REQUETES) break;
+        }
+        if (valides.size() < nombreRacines + NOMBRE_REQUETES) {
+            throw new IllegalArgumentException("Pas assez de racines valides pour " + nombreRacines);
+        }
+        racines = valides.subList(0, nombreRacines);
+        racinesAbsentes = valides.subList(nombreRacines, valides.size());
+
+        moteur = new Moteur(racines, catalogue, indexDecomposition);
+        schemes = moteur.schemeService.getSchemes();
+
+        schemesHorsCatalogue = new ArrayList<>();
+        for (String ligne : lignesSchemes.subList(nombreSchemes, lignesSchemes.size())) {
+            String[] parts = ligne.split("\\|");
+            schemesHorsCatalogue.add(new Scheme(parts[0].trim(), parts[1].trim()));
+        }
+        // Catalogue complet : schèmes absents du fichier livré
+        schemesHorsCatalogue.add(new Scheme("فَعْلَلان", "1َ2ْ3َلان"));
+        schemesHorsCatalogue.add(new Scheme("مُفْتَعِلات", "مُ1ْتَ2ِ3ات"));
+        schemesHorsCatalogue.add(new Scheme("تَفْعِلاء", "تَ1ْ2ِ3اء"));
+    }
+
+    /**
+     * Mot dérivé de la racine par le schème (substitution puis règles),
+     * sans l'enregistrer comme dérivé.
+     */
+    String deriver(String racine, Scheme scheme) {
+        String brut = scheme.appliquer(racine);
+        if (brut == null) return null;
+        Root analyse = moteur.morphoAnalyzer.analyserRacine(racine);
+        return moteur.transformationService.appliquerTransformations(brut, analyse.getType(), analyse, scheme.getId());
+    }
+
+    static <T> T tirer(List<T> liste, Random aleatoire) {
+        return liste.get(aleatoire.nextInt(liste.size()));
+    }
+
+    static Random aleatoire() {
+        return new Random(GRAINE);
+    }
+}
@@ -0,0 +1,79 @@
+package com.morphology.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.morphology.dto.response.GeneratedWordResponse;
+import com.morphology.model.RootType;
+
+/**
+ * Génération de bout en bout par GenerationService (recherche de la
+ * racine et du schème, analyse, substitution, transformations,
+ * enregistrement du dérivé), par type de racine.
+ *
+ * genererMot mesure un mot par opération (gc.alloc.rate.norm = octets
+ * alloués par mot) ; genererFamille mesure une famille complète, soit un
+ * mot par schème du catalogue livré.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({ "SALIM", "MAHMOUZ", "MOUDAAF", "MITHAL", "AJWAF", "NAQIS", "LAFEEF" })
+    public RootType type;
+
+    private Moteur moteur;
+    private String[] racines;
+    private String[] schemes;
+
+    private int curseurRacine;
+    private int curseurScheme;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        moteur = new Moteur(Moteur.racinesLivrees(), Moteur.schemesLivres(), false);
+        List<String> racinesDuType = moteur.racinesParType().get(type);
+        if (racinesDuType.isEmpty()) {
+            throw new IllegalStateException("Aucune racine livrée de type " + type);
+        }
+        racines = racinesDuType.toArray(new String[0]);
+        schemes = moteur.schemeService.getSchemeNames().toArray(new String[0]);
+
+        // Dérivés déjà enregistrés : l'état mesuré est le régime permanent
+        for (String racine : racines) moteur.generationService.generateFamily(racine);
+    }
+
+    @Benchmark
+    public GeneratedWordResponse genererMot() {
+        int s = curseurScheme + 1;
+        if (s == schemes.length) {
+            s = 0;
+            curseurRacine = curseurRacine + 1 < racines.length ? curseurRacine + 1 : 0;
+        }
+        curseurScheme = s;
+        return moteur.generationService.generateWord(racines[curseurRacine], schemes[s]);
+    }
+
+    @Benchmark
+    public List<GeneratedWordResponse> genererFamille() {
+        curseurRacine = curseurRacine + 1 < racines.length ? curseurRacine + 1 : 0;
+        return moteur.generationService.generateFamily(racines[curseurRacine]);
+    }
+}
@@ -0,0 +1,118 @@
+package com.morphology.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.model.RootType;
+import com.morphology.service.GenerationService;
+import com.morphology.service.LatencyService;
+import com.morphology.service.MorphoAnalyzer;
+import com.morphology.service.RootService;
+import com.morphology.service.SchemeService;
+import com.morphology.service.ShadowService;
+import com.morphology.service.TraceService;
+import com.morphology.service.TransformationService;
+import com.morphology.service.ValidationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Services du backend câblés à la main, sans contexte Spring, comme le
+ * ferait l'injection par constructeur. Les lexiques passent par les mêmes
+ * imports que l'application (importerRacines / importerSchemes).
+ */
+final class Moteur {
+
+    final MorphologyProperties properties = new MorphologyProperties();
+    final MorphoAnalyzer morphoAnalyzer = new MorphoAnalyzer();
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final LatencyService latencyService = new LatencyService(registry);
+    final TraceService traceService = new TraceService(properties);
+    final TransformationService transformationService = new TransformationService(traceService);
+    final RootService rootService = new RootService(morphoAnalyzer, properties);
+    final SchemeService schemeService = new SchemeService(properties);
+    final GenerationService generationService = new GenerationService(
+            rootService, schemeService, transformationService, morphoAnalyzer, latencyService);
+    // Exécution fantôme désactivée (sample-rate = 0) : aucun pool créé
+    final ShadowService shadowService = new ShadowService(rootService, schemeService, properties, registry);
+    final ValidationService validationService;
+
+    Moteur(List<String> racines, List<String> schemes, boolean indexDecomposition) {
+        properties.getDecomposition().setIndexEnabled(indexDecomposition);
+        validationService = new ValidationService(
+                rootService, schemeService, morphoAnalyzer, transformationService, latencyService,
+                shadowService, properties);
+        rootService.importerRacines(racines, 1);
+        schemeService.importerSchemes(schemes, 1);
+    }
+
+    // ================================================================
+    // Lexique livré (resources/static)
+    // ================================================================
+
+    static List<String> lignes(String ressource) {
+        InputStream flux = Moteur.class.getResourceAsStream(ressource);
+        if (flux == null) {
+            throw new IllegalStateException("Ressource introuvable : " + ressource);
+        }
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(flux, StandardCharsets.UTF_8))) {
+            return lecteur.lines().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<String> racinesLivrees() {
+        return lignes("/static/racines.txt");
+    }
+
+    static List<String> schemesLivres() {
+        return lignes("/static/schemes.txt");
+    }
+
+    /**
+     * Racines livrées regroupées par type, selon MorphoAnalyzer (et non
+     * selon les sections du fichier, qui mélangent certains types).
+     */
+    Map<RootType, List<String>> racinesParType() {
+        Map<RootType, List<String>> parType = new EnumMap<>(RootType.class);
+        for (RootType type : RootType.values()) parType.put(type, new ArrayList<>());
+        for (String racine : rootService.getRoots(null, 1, Integer.MAX_VALUE)) {
+            RootType type = morphoAnalyzer.analyserRacine(racine).getType();
+            if (type != null) parType.get(type).add(racine);
+        }
+        return parType;
+    }
+
+    /**
+     * Noms des schèmes livrés par catégorie : forme I, formes augmentées
+     * II à X, schèmes nominaux, schèmes spéciaux.
+     */
+    static Map<CategorieScheme, List<String>> schemesParCategorie(List<String> lignes) {
+        Map<CategorieScheme, List<String>> parCategorie = new LinkedHashMap<>();
+        for (CategorieScheme categorie : CategorieScheme.values()) parCategorie.put(categorie, new ArrayList<>());
+
+        CategorieScheme courante = CategorieScheme.MUJARRAD;
+        for (String ligne : lignes) {
+            String l = ligne.trim();
+            if (l.startsWith("# FORME I ")) courante = CategorieScheme.MUJARRAD;
+            else if (l.startsWith("# FORME ")) courante = CategorieScheme.MAZID;
+            else if (l.startsWith("# SCHÈMES NOMINAUX")) courante = CategorieScheme.NOMINAL;
+            else if (l.startsWith("# SCHÈMES SPÉCIAUX")) courante = CategorieScheme.SPECIAL;
+            else if (!l.isEmpty() && !l.startsWith("#") && l.contains("|")) {
+                parCategorie.get(courante).add(l.substring(0, l.indexOf('|')).trim());
+            }
+        }
+        return parCategorie;
+    }
+}
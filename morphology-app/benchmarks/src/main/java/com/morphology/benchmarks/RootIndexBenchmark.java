@@ -0,0 +1,259 @@
+package com.morphology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.morphology.model.ArbreAVL;
+import com.morphology.model.NoeudAVL;
+
+/**
+ * Index des racines : ArbreAVL (structure de RootService) comparé à
+ * TreeMap et à un tableau trié interrogé par recherche dichotomique.
+ *
+ * Opérations : construction par insertions successives, recherche,
+ * suppression puis réinsertion, parcours infixe et listage par préfixe
+ * (pagination de GET /roots).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootIndexBenchmark {
+
+    private static final long GRAINE = 42L;
+    private static final int NOMBRE_REQUETES = 1024;
+    private static final int LIMITE_PAGE = 50;
+
+    @Param({ "1000", "10000", "74000" })
+    public int nombreRacines;
+
+    private String[] racines;        // ordre d'insertion (aléatoire)
+    private String[] requetes;       // racines présentes, tirées au hasard
+    private String[] absentes;       // racines hors de l'index
+    private String[] prefixes;       // premières lettres de racines présentes
+
+    private ArbreAVL arbre;
+    private TreeMap<String, NoeudAVL> treeMap;
+    private String[] clesTriees;
+    private NoeudAVL[] noeudsTries;
+
+    private int curseur;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        List<String> tirage = Donnees.racines(Math.min(nombreRacines + NOMBRE_REQUETES, 74_088), GRAINE);
+        racines = tirage.subList(0, nombreRacines).toArray(new String[0]);
+        absentes = tirage.subList(nombreRacines, tirage.size()).toArray(new String[0]);
+
+        requetes = new String[NOMBRE_REQUETES];
+        prefixes = new String[NOMBRE_REQUETES];
+        Random aleatoire = new Random(GRAINE);
+        for (int i = 0; i < NOMBRE_REQUETES; i++) {
+            requetes[i] = racines[aleatoire.nextInt(racines.length)];
+            prefixes[i] = requetes[i].substring(0, 1);
+        }
+
+        arbre = new ArbreAVL();
+        treeMap = new TreeMap<>();
+        for (String racine : racines) {
+            arbre.inserer(racine);
+            treeMap.put(racine, arbre.rechercher(racine));
+        }
+        clesTriees = treeMap.keySet().toArray(new String[0]);
+        noeudsTries = treeMap.values().toArray(new NoeudAVL[0]);
+    }
+
+    private int suivant() {
+        return curseur = (curseur + 1) & (NOMBRE_REQUETES - 1);
+    }
+
+    // ================================================================
+    // Construction (insertions successives dans un index vide)
+    // ================================================================
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ArbreAVL inserer_avl() {
+        ArbreAVL nouveau = new ArbreAVL();
+        for (String racine : racines) nouveau.inserer(racine);
+        return nouveau;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TreeMap<String, NoeudAVL> inserer_treeMap() {
+        TreeMap<String, NoeudAVL> nouvelle = new TreeMap<>();
+        for (String racine : racines) nouvelle.put(racine, new NoeudAVL(racine));
+        return nouvelle;
+    }
+
+    /** Alternative « chargement en bloc » : tri puis tableau figé */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NoeudAVL[] inserer_tableauTrie() {
+        String[] cles = racines.clone();
+        Arrays.sort(cles);
+        NoeudAVL[] noeuds = new NoeudAVL[cles.length];
+        for (int i = 0; i < cles.length; i++) noeuds[i] = new NoeudAVL(cles[i]);
+        return noeuds;
+    }
+
+    // ================================================================
+    // Recherche
+    // ================================================================
+
+    @Benchmark
+    public NoeudAVL rechercher_avl() {
+        return arbre.rechercher(requetes[suivant()]);
+    }
+
+    @Benchmark
+    public NoeudAVL rechercher_treeMap() {
+        return treeMap.get(requetes[suivant()]);
+    }
+
+    @Benchmark
+    public NoeudAVL rechercher_tableauTrie() {
+        int i = Arrays.binarySearch(clesTriees, requetes[suivant()]);
+        return i >= 0 ? noeudsTries[i] : null;
+    }
+
+    @Benchmark
+    public NoeudAVL rechercherAbsente_avl() {
+        return arbre.rechercher(absentes[suivant() % absentes.length]);
+    }
+
+    @Benchmark
+    public NoeudAVL rechercherAbsente_treeMap() {
+        return treeMap.get(absentes[suivant() % absentes.length]);
+    }
+
+    @Benchmark
+    public NoeudAVL rechercherAbsente_tableauTrie() {
+        int i = Arrays.binarySearch(clesTriees, absentes[suivant() % absentes.length]);
+        return i >= 0 ? noeudsTries[i] : null;
+    }
+
+    // ================================================================
+    // Suppression puis réinsertion (l'index retrouve son état initial)
+    // ================================================================
+
+    @Benchmark
+    public boolean supprimerReinserer_avl() {
+        String racine = requetes[suivant()];
+        arbre.supprimer(racine);
+        return arbre.inserer(racine);
+    }
+
+    @Benchmark
+    public NoeudAVL supprimerReinserer_treeMap() {
+        String racine = requetes[suivant()];
+        NoeudAVL noeud = treeMap.remove(racine);
+        return treeMap.put(racine, noeud);
+    }
+
+    /** Décalage des deux moitiés du tableau : O(n) par opération */
+    @Benchmark
+    public int supprimerReinserer_tableauTrie() {
+        String racine = requetes[suivant()];
+        int i = Arrays.binarySearch(clesTriees, racine);
+        NoeudAVL noeud = noeudsTries[i];
+        int fin = clesTriees.length - 1;
+        System.arraycopy(clesTriees, i + 1, clesTriees, i, fin - i);
+        System.arraycopy(noeudsTries, i + 1, noeudsTries, i, fin - i);
+
+        int position = -Arrays.binarySearch(clesTriees, 0, fin, racine) - 1;
+        System.arraycopy(clesTriees, position, clesTriees, position + 1, fin - position);
+        System.arraycopy(noeudsTries, position, noeudsTries, position + 1, fin - position);
+        clesTriees[position] = racine;
+        noeudsTries[position] = noeud;
+        return position;
+    }
+
+    // ================================================================
+    // Parcours infixe complet
+    // ================================================================
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> parcourir_avl() {
+        List<String> liste = new ArrayList<>(nombreRacines);
+        arbre.parcourirInfixe(liste);
+        return liste;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> parcourir_treeMap() {
+        return new ArrayList<>(treeMap.keySet());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> parcourir_tableauTrie() {
+        return new ArrayList<>(Arrays.asList(clesTriees));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void parcourirSansCopie_treeMap(Blackhole bh) {
+        for (String racine : treeMap.keySet()) bh.consume(racine);
+    }
+
+    // ================================================================
+    // Listage par préfixe (première page de GET /roots?prefix=)
+    // ================================================================
+
+    @Benchmark
+    public List<String> prefixe_avl() {
+        List<String> liste = new ArrayList<>(LIMITE_PAGE);
+        arbre.parcourirApres(null, prefixes[suivant()], LIMITE_PAGE, liste);
+        return liste;
+    }
+
+    @Benchmark
+    public List<String> prefixe_treeMap() {
+        String prefixe = prefixes[suivant()];
+        NavigableMap<String, NoeudAVL> plage = treeMap.subMap(prefixe, true, prefixe + Character.MAX_VALUE, false);
+        List<String> liste = new ArrayList<>(LIMITE_PAGE);
+        for (Map.Entry<String, NoeudAVL> entree : plage.entrySet()) {
+            if (liste.size() >= LIMITE_PAGE) break;
+            liste.add(entree.getKey());
+        }
+        return liste;
+    }
+
+    @Benchmark
+    public List<String> prefixe_tableauTrie() {
+        String prefixe = prefixes[suivant()];
+        int i = Arrays.binarySearch(clesTriees, prefixe);
+        if (i < 0) i = -i - 1;
+        List<String> liste = new ArrayList<>(LIMITE_PAGE);
+        while (i < clesTriees.length && liste.size() < LIMITE_PAGE && clesTriees[i].startsWith(prefixe)) {
+            liste.add(clesTriees[i++]);
+        }
+        return liste;
+    }
+}
@@ -0,0 +1,142 @@
+package com.morphology.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.morphology.model.Scheme;
+import com.morphology.model.TableHachage;
+
+/**
+ * Table des schèmes : TableHachage (128 alvéoles fixes, DJB2, chaînage)
+ * comparée à HashMap et TreeMap, en recherche (présent / absent) et en
+ * itération sur toutes les valeurs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemeTableBenchmark {
+
+    private static final long GRAINE = 7L;
+    private static final int NOMBRE_REQUETES = 1024;
+
+    @Param({ "50", "500", "5000" })
+    public int nombreSchemes;
+
+    private String[] presents;
+    private String[] absents;
+
+    private TableHachage table;
+    private HashMap<String, Scheme> hashMap;
+    private TreeMap<String, Scheme> treeMap;
+
+    private int curseur;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        List<String> cles = Donnees.clesSchemes(nombreSchemes + NOMBRE_REQUETES, GRAINE);
+
+        table = new TableHachage();
+        hashMap = new HashMap<>();
+        treeMap = new TreeMap<>();
+        for (String cle : cles.subList(0, nombreSchemes)) {
+            Scheme scheme = new Scheme(cle, cle);
+            table.inserer(cle, scheme);
+            hashMap.put(cle, scheme);
+            treeMap.put(cle, scheme);
+        }
+
+        Random aleatoire = new Random(GRAINE);
+        presents = new String[NOMBRE_REQUETES];
+        for (int i = 0; i < NOMBRE_REQUETES; i++) {
+            // Copie : la recherche ne doit pas profiter de l'égalité de référence
+            presents[i] = new String(cles.get(aleatoire.nextInt(nombreSchemes)));
+        }
+        absents = cles.subList(nombreSchemes, cles.size()).toArray(new String[0]);
+    }
+
+    private int suivant() {
+        return curseur = (curseur + 1) & (NOMBRE_REQUETES - 1);
+    }
+
+    // ================================================================
+    // Recherche d'un schème présent
+    // ================================================================
+
+    @Benchmark
+    public Scheme rechercher_tableHachage() {
+        return table.rechercher(presents[suivant()]);
+    }
+
+    @Benchmark
+    public Scheme rechercher_hashMap() {
+        return hashMap.get(presents[suivant()]);
+    }
+
+    @Benchmark
+    public Scheme rechercher_treeMap() {
+        return treeMap.get(presents[suivant()]);
+    }
+
+    // ================================================================
+    // Recherche d'un schème absent
+    // ================================================================
+
+    @Benchmark
+    public Scheme rechercherAbsent_tableHachage() {
+        return table.rechercher(absents[suivant()]);
+    }
+
+    @Benchmark
+    public Scheme rechercherAbsent_hashMap() {
+        return hashMap.get(absents[suivant()]);
+    }
+
+    @Benchmark
+    public Scheme rechercherAbsent_treeMap() {
+        return treeMap.get(absents[suivant()]);
+    }
+
+    // ================================================================
+    // Itération sur tous les schèmes
+    // ================================================================
+
+    /** Chemin réel de SchemeService : copie dans une nouvelle liste */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Scheme> parcourir_tableHachage() {
+        return table.getTousLesSchemes();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void parcourir_hashMap(Blackhole bh) {
+        for (Scheme scheme : hashMap.values()) bh.consume(scheme);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void parcourir_treeMap(Blackhole bh) {
+        for (Map.Entry<String, Scheme> entree : treeMap.entrySet()) bh.consume(entree.getValue());
+    }
+}
@@ -0,0 +1,119 @@
+package com.morphology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.morphology.model.Root;
+import com.morphology.model.RootType;
+import com.morphology.model.Scheme;
+
+/**
+ * Coût de la génération d'un mot, étape par étape, pour chaque type de
+ * racine (chemins des racines faibles séparés) et chaque catégorie de
+ * schèmes, sur le lexique livré (resources/static) :
+ * substitution brute (Scheme.appliquer) puis règles morphologiques
+ * (TransformationService.appliquerTransformations).
+ *
+ * Chaque opération traite un couple racine × schème, pris à tour de rôle
+ * parmi toutes les combinaisons du type et de la catégorie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationBenchmark {
+
+    @Param({ "SALIM", "MAHMOUZ", "MOUDAAF", "MITHAL", "AJWAF", "NAQIS", "LAFEEF" })
+    public RootType type;
+
+    @Param({ "MUJARRAD", "MAZID", "NOMINAL", "SPECIAL" })
+    public CategorieScheme categorie;
+
+    private Moteur moteur;
+
+    // Combinaisons racine × schème retenues (substitution réussie)
+    private String[] racines;
+    private Scheme[] schemes;
+    private String[] bruts;
+    private Root[] analyses;
+
+    private int curseur;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        List<String> lignesSchemes = Moteur.schemesLivres();
+        moteur = new Moteur(Moteur.racinesLivrees(), lignesSchemes, false);
+
+        List<String> racinesDuType = moteur.racinesParType().get(type);
+        List<String> nomsSchemes = Moteur.schemesParCategorie(lignesSchemes).get(categorie);
+
+        List<String> r = new ArrayList<>();
+        List<Scheme> s = new ArrayList<>();
+        List<String> b = new ArrayList<>();
+        List<Root> a = new ArrayList<>();
+        for (String racine : racinesDuType) {
+            Root analyse = moteur.morphoAnalyzer.analyserRacine(racine);
+            for (String nom : nomsSchemes) {
+                Scheme scheme = moteur.schemeService.searchScheme(nom);
+                String brut = scheme.appliquer(racine);
+                if (brut == null) continue;
+                r.add(racine);
+                s.add(scheme);
+                b.add(brut);
+                a.add(analyse);
+            }
+        }
+        if (r.isEmpty()) {
+            throw new IllegalStateException("Aucune combinaison pour " + type + " × " + categorie);
+        }
+        racines = r.toArray(new String[0]);
+        schemes = s.toArray(new Scheme[0]);
+        bruts = b.toArray(new String[0]);
+        analyses = a.toArray(new Root[0]);
+    }
+
+    private int suivant() {
+        int i = curseur + 1;
+        return curseur = i < racines.length ? i : 0;
+    }
+
+    /** Substitution brute des positions 1, 2, 3 de la règle */
+    @Benchmark
+    public String appliquerScheme() {
+        int i = suivant();
+        return schemes[i].appliquer(racines[i]);
+    }
+
+    /** Règles morphologiques seules, sur le mot brut déjà substitué */
+    @Benchmark
+    public String appliquerTransformations() {
+        int i = suivant();
+        return moteur.transformationService.appliquerTransformations(
+                bruts[i], type, analyses[i], schemes[i].getId());
+    }
+
+    /** Les deux étapes enchaînées, comme dans GenerationService */
+    @Benchmark
+    public String substitutionEtTransformations() {
+        int i = suivant();
+        String brut = schemes[i].appliquer(racines[i]);
+        return moteur.transformationService.appliquerTransformations(
+                brut, type, analyses[i], schemes[i].getId());
+    }
+}
@@ -0,0 +1,14 @@
+package com.morphology.benchmarks;
+
+/**
+ * Type de requête des benchmarks de passage à l'échelle
+ * (publique : paramètre JMH).
+ */
+public enum TypeRequete {
+    /** Une correspondance existe */
+    HIT,
+    /** Pas de correspondance, cas courant (détaillé par chaque benchmark) */
+    MISS,
+    /** Pas de correspondance, pire cas : tout est parcouru */
+    WORST
+}
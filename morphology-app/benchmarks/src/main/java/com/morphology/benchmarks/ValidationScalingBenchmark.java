@@ -0,0 +1,111 @@
+package com.morphology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.morphology.dto.response.ValidationResponse;
+import com.morphology.model.Scheme;
+
+/**
+ * Passage à l'échelle de la validation mot × racine
+ * (ValidationService.validateWord et identifyScheme) quand le lexique
+ * (racines) et le catalogue (schèmes) grandissent indépendamment.
+ *
+ * Requêtes :
+ *   HIT   — mot dérivé de la racine donnée par un schème du catalogue ;
+ *   MISS  — racine absente du lexique (rejet immédiat) ;
+ *   WORST — racine présente mais mot issu d'une autre racine :
+ *           tout le catalogue est essayé sans correspondance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationScalingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int nombreRacines;
+
+    @Param({ "28", "56", "112" })
+    public int nombreSchemes;
+
+    @Param({ "HIT", "MISS", "WORST" })
+    public TypeRequete requete;
+
+    private Echelle echelle;
+    private String[] mots;
+    private String[] racines;
+    private int curseur;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        echelle = new Echelle(nombreRacines, nombreSchemes, false);
+        Random aleatoire = Echelle.aleatoire();
+        List<String> m = new ArrayList<>();
+        List<String> r = new ArrayList<>();
+
+        for (int essai = 0; m.size() < Echelle.NOMBRE_REQUETES && essai < 100 * Echelle.NOMBRE_REQUETES; essai++) {
+            Scheme scheme = Echelle.tirer(echelle.schemes, aleatoire);
+            String racine;
+            String mot;
+            switch (requete) {
+                case HIT -> {
+                    racine = Echelle.tirer(echelle.racines, aleatoire);
+                    mot = echelle.deriver(racine, scheme);
+                }
+                case MISS -> {
+                    racine = Echelle.tirer(echelle.racinesAbsentes, aleatoire);
+                    mot = echelle.deriver(racine, scheme);
+                }
+                default -> {
+                    racine = Echelle.tirer(echelle.racines, aleatoire);
+                    mot = echelle.deriver(Echelle.tirer(echelle.racines, aleatoire), scheme);
+                }
+            }
+            if (mot == null || mot.isBlank()) continue;
+            boolean valide = echelle.moteur.validationService.validateWord(mot, racine).isValid();
+            if (valide != (requete == TypeRequete.HIT)) continue;
+            m.add(mot);
+            r.add(racine);
+        }
+        if (m.isEmpty()) {
+            throw new IllegalStateException("Aucune requête " + requete + " trouvée");
+        }
+        mots = m.toArray(new String[0]);
+        racines = r.toArray(new String[0]);
+    }
+
+    private int suivant() {
+        int i = curseur + 1;
+        return curseur = i < mots.length ? i : 0;
+    }
+
+    @Benchmark
+    public ValidationResponse validerMot() {
+        int i = suivant();
+        return echelle.moteur.validationService.validateWord(mots[i], racines[i]);
+    }
+
+    @Benchmark
+    public String identifierScheme() {
+        int i = suivant();
+        return echelle.moteur.validationService.identifyScheme(mots[i], racines[i]);
+    }
+}
@@ -0,0 +1,137 @@
+package com.morphology.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.morphology.model.Root;
+import com.morphology.model.Scheme;
+import com.morphology.service.MorphoAnalyzer;
+import com.morphology.service.TransformationService;
+
+/**
+ * Corpus de tokens dérivés du lexique généré.
+ *
+ * Le vocabulaire est un ensemble de formes distinctes racine × schème,
+ * produites comme par GenerationService (substitution puis règles de
+ * TransformationService) ; chaque forme reçoit un rang et les tokens sont
+ * tirés selon une loi de Zipf (fréquence ∝ 1 / rang^s). Une part des tokens
+ * vient de racines valides absentes du lexique, sous des formes distinctes
+ * de celles du vocabulaire.
+ */
+final class GenerateurCorpus {
+
+    static final int TOKENS_PAR_LIGNE = 16;
+
+    record Forme(String mot, String racine, String scheme, boolean presente) {}
+
+    private final MorphoAnalyzer morphoAnalyzer;
+    private final TransformationService transformationService;
+
+    final List<Forme> vocabulaire = new ArrayList<>();
+    final List<Forme> inconnues = new ArrayList<>();
+    private final Set<String> vues = new HashSet<>();
+    long[] occurrences;
+    long[] occurrencesInconnues;
+
+    GenerateurCorpus(MorphoAnalyzer morphoAnalyzer, TransformationService transformationService) {
+        this.morphoAnalyzer = morphoAnalyzer;
+        this.transformationService = transformationService;
+    }
+
+    void construireVocabulaire(List<String> racines, List<String> horsLexique, List<Scheme> schemes,
+                               int taille, double partInconnus, Random aleatoire) {
+        tirerFormes(racines, schemes, taille, true, vocabulaire, aleatoire);
+        if (partInconnus > 0 && !horsLexique.isEmpty()) {
+            int tailleInconnues = Math.max(1, (int) Math.round(taille * partInconnus));
+            tirerFormes(horsLexique, schemes, tailleInconnues, false, inconnues, aleatoire);
+        }
+        occurrences = new long[vocabulaire.size()];
+        occurrencesInconnues = new long[inconnues.size()];
+    }
+
+    private void tirerFormes(List<String> racines, List<Scheme> schemes, int taille, boolean presente,
+                             List<Forme> formes, Random aleatoire) {
+        long maximum = Math.min((long) racines.size() * schemes.size(), taille);
+        long essais = 0;
+        while (formes.size() < maximum && essais++ < 20 * maximum) {
+            String racine = racines.get(aleatoire.nextInt(racines.size()));
+            Scheme scheme = schemes.get(aleatoire.nextInt(schemes.size()));
+            String mot = deriver(racine, scheme);
+            if (mot == null || mot.isBlank() || !vues.add(mot)) continue;
+            formes.add(new Forme(mot, racine, scheme.getNom(), presente));
+        }
+    }
+
+    private String deriver(String racine, Scheme scheme) {
+        String brut = scheme.appliquer(racine);
+        if (brut == null || brut.isBlank()) return null;
+        Root analyse = morphoAnalyzer.analyserRacine(racine);
+        return transformationService.appliquerTransformations(brut, analyse.getType(), analyse, scheme.getId());
+    }
+
+    /**
+     * Écrire {@code nombre} tokens, {@value #TOKENS_PAR_LIGNE} par ligne.
+     */
+    void ecrireCorpus(BufferedWriter sortie, long nombre, double exposant, double partInconnus,
+                      Random aleatoire) throws IOException {
+        double[] cumul = cumulZipf(vocabulaire.size(), exposant);
+        for (long i = 0; i < nombre; i++) {
+            Forme forme;
+            if (!inconnues.isEmpty() && aleatoire.nextDouble() < partInconnus) {
+                int j = aleatoire.nextInt(inconnues.size());
+                occurrencesInconnues[j]++;
+                forme = inconnues.get(j);
+            } else {
+                int rang = rang(cumul, aleatoire.nextDouble());
+                occurrences[rang]++;
+                forme = vocabulaire.get(rang);
+            }
+            sortie.write(forme.mot());
+            sortie.write((i + 1) % TOKENS_PAR_LIGNE == 0 || i + 1 == nombre ? '\n' : ' ');
+        }
+    }
+
+    /** Fonction de répartition de Zipf sur les rangs 1..n */
+    static double[] cumulZipf(int n, double exposant) {
+        double[] cumul = new double[n];
+        double somme = 0;
+        for (int r = 0; r < n; r++) {
+            somme += 1.0 / Math.pow(r + 1, exposant);
+            cumul[r] = somme;
+        }
+        for (int r = 0; r < n; r++) cumul[r] /= somme;
+        return cumul;
+    }
+
+    static int rang(double[] cumul, double u) {
+        int i = Arrays.binarySearch(cumul, u);
+        int rang = i >= 0 ? i : -i - 1;
+        return Math.min(rang, cumul.length - 1);
+    }
+
+    /**
+     * Vérité terrain : forme, racine, schème, présence de la racine dans le
+     * lexique, occurrences dans le corpus ; par rang de Zipf puis inconnues.
+     */
+    void ecrireVocabulaire(BufferedWriter sortie) throws IOException {
+        sortie.write("# rang\tmot\tracine\tscheme\tdans_lexique\toccurrences\n");
+        for (int r = 0; r < vocabulaire.size(); r++) {
+            ecrireForme(sortie, Integer.toString(r + 1), vocabulaire.get(r), occurrences[r]);
+        }
+        for (int j = 0; j < inconnues.size(); j++) {
+            ecrireForme(sortie, "-", inconnues.get(j), occurrencesInconnues[j]);
+        }
+    }
+
+    private static void ecrireForme(BufferedWriter sortie, String rang, Forme forme, long occurrences)
+            throws IOException {
+        sortie.write(rang + "\t" + forme.mot() + "\t" + forme.racine() + "\t" + forme.scheme() + "\t"
+                + forme.presente() + "\t" + occurrences + "\n");
+    }
+}
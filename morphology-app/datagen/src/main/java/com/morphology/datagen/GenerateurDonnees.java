@@ -0,0 +1,142 @@
+package com.morphology.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import com.morphology.config.MorphologyProperties;
+import com.morphology.model.RootType;
+import com.morphology.service.MorphoAnalyzer;
+import com.morphology.service.TraceService;
+import com.morphology.service.TransformationService;
+
+/**
+ * Générateur de jeux de données reproductibles (même graine, mêmes
+ * fichiers) pour les tests de charge :
+ *
+ *   racines.txt       — racines au format de resources/static, par type
+ *   schemes.txt       — schèmes nom|règle (livrés puis synthétiques)
+ *   corpus.txt        — tokens tirés selon une loi de Zipf
+ *   vocabulaire.tsv   — vérité terrain des formes du corpus
+ *
+ * Les deux premiers fichiers s'importent tels quels (upload, rechargement,
+ * préchargement au démarrage).
+ */
+public final class GenerateurDonnees {
+
+    private GenerateurDonnees() {}
+
+    public static void main(String[] args) throws IOException {
+        Options options;
+        try {
+            options = Options.analyser(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        generer(options);
+    }
+
+    static void generer(Options options) throws IOException {
+        long debut = System.nanoTime();
+        // Un générateur par fichier : changer la taille du corpus ne change pas le lexique
+        Random aleatoireRacines = new Random(options.graine);
+        Random aleatoireSchemes = new Random(options.graine + 1);
+        Random aleatoireCorpus = new Random(options.graine + 2);
+
+        MorphoAnalyzer morphoAnalyzer = new MorphoAnalyzer();
+        TransformationService transformationService =
+                new TransformationService(new TraceService(new MorphologyProperties()));
+
+        GenerateurRacines racines = new GenerateurRacines(morphoAnalyzer);
+        racines.generer(options.getRacines(), options.distribution, options.partHamza, aleatoireRacines);
+
+        GenerateurSchemes schemes = new GenerateurSchemes();
+        schemes.generer(options.getSchemes(), aleatoireSchemes);
+
+        GenerateurCorpus corpus = new GenerateurCorpus(morphoAnalyzer, transformationService);
+        corpus.construireVocabulaire(racines.toutes(), racines.horsLexique, schemes.tous(),
+                options.vocabulaire, options.partInconnus, aleatoireCorpus);
+
+        Files.createDirectories(options.sortie);
+        try (BufferedWriter sortie = ouvrir(options.sortie.resolve("racines.txt"))) {
+            ecrireRacines(sortie, racines, options);
+        }
+        try (BufferedWriter sortie = ouvrir(options.sortie.resolve("schemes.txt"))) {
+            ecrireSchemes(sortie, schemes, options);
+        }
+        try (BufferedWriter sortie = ouvrir(options.sortie.resolve("corpus.txt"))) {
+            corpus.ecrireCorpus(sortie, options.tokens, options.exposantZipf, options.partInconnus, aleatoireCorpus);
+        }
+        try (BufferedWriter sortie = ouvrir(options.sortie.resolve("vocabulaire.tsv"))) {
+            corpus.ecrireVocabulaire(sortie);
+        }
+
+        resumer(options, racines, schemes, corpus, (System.nanoTime() - debut) / 1_000_000);
+    }
+
+    private static BufferedWriter ouvrir(Path fichier) throws IOException {
+        return Files.newBufferedWriter(fichier, StandardCharsets.UTF_8);
+    }
+
+    // ================================================================
+    // Écriture (formats de resources/static)
+    // ================================================================
+
+    private static void ecrireRacines(BufferedWriter sortie, GenerateurRacines racines, Options options)
+            throws IOException {
+        sortie.write("# Racines synthétiques (graine " + options.graine + ")\n");
+        sortie.write("# Format: une racine par ligne\n");
+        sortie.write("# Encodage: UTF-8\n");
+        for (RootType type : RootType.values()) {
+            List<String> liste = racines.lexique.get(type);
+            if (liste.isEmpty()) continue;
+            sortie.write("\n# ============================================\n");
+            sortie.write("# RACINES " + type.name() + " (" + type.getNomArabe() + ") - " + liste.size() + "\n");
+            sortie.write("# ============================================\n");
+            for (String racine : liste) {
+                sortie.write(racine);
+                sortie.write('\n');
+            }
+        }
+    }
+
+    private static void ecrireSchemes(BufferedWriter sortie, GenerateurSchemes schemes, Options options)
+            throws IOException {
+        sortie.write("# Schèmes (graine " + options.graine + ")\n");
+        sortie.write("# Format: nom|règle\n");
+        sortie.write("# Encodage: UTF-8\n");
+        sortie.write("\n# ============================================\n");
+        sortie.write("# SCHÈMES LIVRÉS\n");
+        sortie.write("# ============================================\n");
+        for (var e : schemes.livres.entrySet()) sortie.write(e.getKey() + "|" + e.getValue() + "\n");
+        if (schemes.synthetiques.isEmpty()) return;
+        sortie.write("\n# ============================================\n");
+        sortie.write("# SCHÈMES SYNTHÉTIQUES\n");
+        sortie.write("# ============================================\n");
+        for (var e : schemes.synthetiques.entrySet()) sortie.write(e.getKey() + "|" + e.getValue() + "\n");
+    }
+
+    private static void resumer(Options options, GenerateurRacines racines, GenerateurSchemes schemes,
+                                GenerateurCorpus corpus, long dureeMs) {
+        System.out.println("Données générées dans " + options.sortie.toAbsolutePath() + " en " + dureeMs + " ms");
+        System.out.printf("  racines     : %d / %d demandées (%d hamzées, %d hors lexique disponibles)%n",
+                racines.getNombre(), options.getRacines(), racines.hamzees, racines.horsLexique.size());
+        for (RootType type : RootType.values()) {
+            int demandees = (int) Math.round(options.getRacines() * options.distribution.getOrDefault(type, 0.0));
+            int obtenues = racines.lexique.get(type).size();
+            System.out.printf("    %-8s %6d%s%n", type.name(), obtenues,
+                    obtenues < demandees ? "  (espace épuisé : " + racines.disponibles.get(type) + " possibles)" : "");
+        }
+        System.out.printf("  schèmes     : %d / %d demandés (%d livrés, %d synthétiques)%n",
+                schemes.getNombre(), options.getSchemes(), schemes.livres.size(), schemes.synthetiques.size());
+        System.out.printf("  vocabulaire : %d formes (+ %d de racines hors lexique)%n",
+                corpus.vocabulaire.size(), corpus.inconnues.size());
+        System.out.printf("  corpus      : %d tokens, Zipf s=%.2f%n", options.tokens, options.exposantZipf);
+    }
+}
@@ -0,0 +1,114 @@
+package com.morphology.datagen;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.morphology.model.Root;
+import com.morphology.model.RootType;
+import com.morphology.service.MorphoAnalyzer;
+
+/**
+ * Tirage de racines trilitères dans l'espace complet des 42 lettres
+ * (U+0621 à U+064A, 42³ = 74 088 combinaisons), classées par
+ * MorphoAnalyzer : le type d'une racine générée est celui que le backend
+ * lui attribuera à l'import.
+ *
+ * Chaque type reçoit son quota selon la distribution ; à l'intérieur d'un
+ * type, une part des racines porte une hamza (ء أ إ ؤ ئ آ), MAHMOUZ
+ * l'étant par définition. Les racines valides non retenues restent
+ * disponibles comme racines « hors lexique » pour le corpus.
+ */
+final class GenerateurRacines {
+
+    static final char PREMIERE_LETTRE = 'ء';
+    static final char DERNIERE_LETTRE = 'ي';
+    static final int NOMBRE_LETTRES = DERNIERE_LETTRE - PREMIERE_LETTRE + 1;
+
+    private final MorphoAnalyzer morphoAnalyzer;
+
+    final Map<RootType, List<String>> lexique = new EnumMap<>(RootType.class);
+    final List<String> horsLexique = new ArrayList<>();
+    final Map<RootType, Integer> disponibles = new EnumMap<>(RootType.class);
+    int invalides;
+    int hamzees;
+
+    GenerateurRacines(MorphoAnalyzer morphoAnalyzer) {
+        this.morphoAnalyzer = morphoAnalyzer;
+    }
+
+    void generer(int nombre, Map<RootType, Double> distribution, double partHamza, Random aleatoire) {
+        // Espace complet, mélangé puis classé (type × hamza)
+        int total = NOMBRE_LETTRES * NOMBRE_LETTRES * NOMBRE_LETTRES;
+        int[] ordre = new int[total];
+        for (int i = 0; i < total; i++) ordre[i] = i;
+        for (int i = total - 1; i > 0; i--) {
+            int j = aleatoire.nextInt(i + 1);
+            int tmp = ordre[i];
+            ordre[i] = ordre[j];
+            ordre[j] = tmp;
+        }
+
+        Map<RootType, List<String>> avecHamza = new EnumMap<>(RootType.class);
+        Map<RootType, List<String>> sansHamza = new EnumMap<>(RootType.class);
+        for (RootType type : RootType.values()) {
+            avecHamza.put(type, new ArrayList<>());
+            sansHamza.put(type, new ArrayList<>());
+            lexique.put(type, new ArrayList<>());
+        }
+        for (int index : ordre) {
+            String racine = racine(index);
+            Root analyse = morphoAnalyzer.analyserRacine(racine);
+            if (!analyse.isValid() || analyse.getType() == null) {
+                invalides++;
+                continue;
+            }
+            (analyse.isContientHamza() ? avecHamza : sansHamza).get(analyse.getType()).add(racine);
+        }
+
+        // Quotas par type, puis part hamzée à l'intérieur du type
+        for (RootType type : RootType.values()) {
+            List<String> h = avecHamza.get(type);
+            List<String> s = sansHamza.get(type);
+            disponibles.put(type, h.size() + s.size());
+
+            int quota = (int) Math.round(nombre * distribution.getOrDefault(type, 0.0));
+            quota = Math.min(quota, h.size() + s.size());
+            int quotaHamza = type == RootType.MAHMOUZ ? quota : (int) Math.round(quota * partHamza);
+            quotaHamza = Math.min(quotaHamza, h.size());
+            int quotaSain = Math.min(quota - quotaHamza, s.size());
+            // Compléter avec des hamzées si les racines sans hamza manquent
+            quotaHamza = Math.min(quota - quotaSain, h.size());
+
+            List<String> retenues = lexique.get(type);
+            retenues.addAll(h.subList(0, quotaHamza));
+            retenues.addAll(s.subList(0, quotaSain));
+            retenues.sort(null);
+            hamzees += quotaHamza;
+
+            horsLexique.addAll(h.subList(quotaHamza, h.size()));
+            horsLexique.addAll(s.subList(quotaSain, s.size()));
+        }
+    }
+
+    int getNombre() {
+        return lexique.values().stream().mapToInt(List::size).sum();
+    }
+
+    List<String> toutes() {
+        List<String> toutes = new ArrayList<>(getNombre());
+        lexique.values().forEach(toutes::addAll);
+        return toutes;
+    }
+
+    static String racine(int index) {
+        char c3 = (char) (PREMIERE_LETTRE + index % NOMBRE_LETTRES);
+        index /= NOMBRE_LETTRES;
+        char c2 = (char) (PREMIERE_LETTRE + index % NOMBRE_LETTRES);
+        index /= NOMBRE_LETTRES;
+        char c1 = (char) (PREMIERE_LETTRE + index);
+        return new String(new char[] { c1, c2, c3 });
+    }
+}
@@ -0,0 +1,91 @@
+package com.morphology.datagen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.morphology.model.Scheme;
+import com.morphology.util.ValidationUtils;
+
+/**
+ * Catalogue de schèmes : les schèmes livrés (resources/static/schemes.txt),
+ * complétés si nécessaire par des variantes synthétiques construites sur
+ * leurs règles (préfixe, gémination de la 2e radicale, suffixe). Le nom
+ * d'une variante est sa règle où 1, 2, 3 deviennent ف ع ل.
+ */
+final class GenerateurSchemes {
+
+    private static final String[] PREFIXES = { "", "مُ", "تَ", "يَ", "اِنْ", "اِسْتَ", "مُسْتَ", "تُ" };
+    private static final String[] SUFFIXES = { "", "ات", "ون", "ين", "ان", "ة", "ية", "ي", "اء" };
+
+    /** nom → règle, dans l'ordre d'écriture */
+    final Map<String, String> livres = new LinkedHashMap<>();
+    final Map<String, String> synthetiques = new LinkedHashMap<>();
+
+    void generer(int nombre, Random aleatoire) {
+        for (String ligne : lireRessource("/static/schemes.txt")) {
+            String l = ligne.trim();
+            if (l.isEmpty() || l.startsWith("#") || !l.contains("|")) continue;
+            String[] parts = l.split("\\|");
+            // Comme SchemeService : en cas de nom répété, la première ligne l'emporte
+            if (livres.size() < nombre) livres.putIfAbsent(parts[0].trim(), parts[1].trim());
+        }
+
+        List<String> bases = new ArrayList<>(livres.values());
+        Set<String> regles = new HashSet<>(livres.values());
+        int essais = 0;
+        int maxEssais = 50 * Math.max(nombre, 1);
+        while (livres.size() + synthetiques.size() < nombre && essais++ < maxEssais) {
+            String base = bases.get(aleatoire.nextInt(bases.size()));
+            String prefixe = PREFIXES[aleatoire.nextInt(PREFIXES.length)];
+            String suffixe = SUFFIXES[aleatoire.nextInt(SUFFIXES.length)];
+            String regle = base;
+            if (aleatoire.nextInt(4) == 0 && !regle.contains("2ّ")) {
+                regle = regle.replace("2", "2ّ");
+            }
+            regle = prefixe + regle + suffixe;
+            if (!ValidationUtils.estRegleValide(regle) || !regles.add(regle)) continue;
+
+            String nom = nom(regle);
+            if (livres.containsKey(nom) || synthetiques.containsKey(nom)) continue;
+            synthetiques.put(nom, regle);
+        }
+    }
+
+    int getNombre() {
+        return livres.size() + synthetiques.size();
+    }
+
+    List<Scheme> tous() {
+        List<Scheme> schemes = new ArrayList<>(getNombre());
+        livres.forEach((nom, regle) -> schemes.add(new Scheme(nom, regle)));
+        synthetiques.forEach((nom, regle) -> schemes.add(new Scheme(nom, regle)));
+        return schemes;
+    }
+
+    static String nom(String regle) {
+        return regle.replace('1', 'ف').replace('2', 'ع').replace('3', 'ل');
+    }
+
+    static List<String> lireRessource(String ressource) {
+        InputStream flux = GenerateurSchemes.class.getResourceAsStream(ressource);
+        if (flux == null) {
+            throw new IllegalStateException("Ressource introuvable : " + ressource);
+        }
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(flux, StandardCharsets.UTF_8))) {
+            return lecteur.lines().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
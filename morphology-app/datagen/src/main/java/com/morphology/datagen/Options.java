@@ -0,0 +1,116 @@
+package com.morphology.datagen;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.morphology.model.RootType;
+
+/**
+ * Options de la ligne de commande (--cle valeur). Les tailles par défaut
+ * sont des multiples (--echelle) du lexique livré dans resources/static.
+ */
+final class Options {
+
+    static final int RACINES_LIVREES = 117;
+    static final int SCHEMES_LIVRES = 112;
+
+    Path sortie = Path.of("donnees");
+    long graine = 42L;
+    int echelle = 10;
+    Integer racines;
+    Integer schemes;
+    double partHamza = 0.15;
+    Map<RootType, Double> distribution = distributionParDefaut();
+    long tokens = 1_000_000L;
+    int vocabulaire = 50_000;
+    double exposantZipf = 1.0;
+    double partInconnus = 0.02;
+
+    int getRacines() { return racines != null ? racines : RACINES_LIVREES * echelle; }
+    int getSchemes() { return schemes != null ? schemes : SCHEMES_LIVRES * echelle; }
+
+    /**
+     * Répartition approximative d'un lexique réel : majorité de racines
+     * saines, puis concaves, hamzées et défectueuses.
+     */
+    private static Map<RootType, Double> distributionParDefaut() {
+        Map<RootType, Double> d = new EnumMap<>(RootType.class);
+        d.put(RootType.SALIM, 0.55);
+        d.put(RootType.MAHMOUZ, 0.10);
+        d.put(RootType.MOUDAAF, 0.07);
+        d.put(RootType.MITHAL, 0.06);
+        d.put(RootType.AJWAF, 0.10);
+        d.put(RootType.NAQIS, 0.09);
+        d.put(RootType.LAFEEF, 0.03);
+        return d;
+    }
+
+    static Options analyser(String[] args) {
+        Options o = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String cle = args[i];
+            if ("--aide".equals(cle) || "--help".equals(cle)) {
+                throw new IllegalArgumentException(usage());
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Valeur manquante pour " + cle + "\n" + usage());
+            }
+            String valeur = args[++i];
+            switch (cle) {
+                case "--sortie"       -> o.sortie = Path.of(valeur);
+                case "--graine"       -> o.graine = Long.parseLong(valeur);
+                case "--echelle"      -> o.echelle = Integer.parseInt(valeur);
+                case "--racines"      -> o.racines = Integer.parseInt(valeur);
+                case "--schemes"      -> o.schemes = Integer.parseInt(valeur);
+                case "--hamza"        -> o.partHamza = Double.parseDouble(valeur);
+                case "--distribution" -> o.distribution = analyserDistribution(valeur);
+                case "--tokens"       -> o.tokens = Long.parseLong(valeur);
+                case "--vocabulaire"  -> o.vocabulaire = Integer.parseInt(valeur);
+                case "--zipf"         -> o.exposantZipf = Double.parseDouble(valeur);
+                case "--inconnus"     -> o.partInconnus = Double.parseDouble(valeur);
+                default -> throw new IllegalArgumentException("Option inconnue : " + cle + "\n" + usage());
+            }
+        }
+        return o;
+    }
+
+    /**
+     * Format TYPE=poids,TYPE=poids ; les types absents ont un poids nul,
+     * les poids sont normalisés.
+     */
+    private static Map<RootType, Double> analyserDistribution(String texte) {
+        Map<RootType, Double> d = new EnumMap<>(RootType.class);
+        for (RootType type : RootType.values()) d.put(type, 0.0);
+        double total = 0;
+        for (String paire : texte.split(",")) {
+            String[] kv = paire.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Distribution attendue : TYPE=poids,... (reçu : " + paire + ")");
+            }
+            double poids = Double.parseDouble(kv[1].trim());
+            d.put(RootType.valueOf(kv[0].trim().toUpperCase()), poids);
+            total += poids;
+        }
+        if (total <= 0) throw new IllegalArgumentException("La distribution doit avoir un poids positif.");
+        for (Map.Entry<RootType, Double> e : d.entrySet()) e.setValue(e.getValue() / total);
+        return d;
+    }
+
+    static String usage() {
+        return """
+            Usage : java -jar datagen.jar [options]
+              --sortie <dossier>        dossier de sortie (défaut : donnees)
+              --graine <n>              graine aléatoire (défaut : 42)
+              --echelle <k>             taille = k × lexique livré (défaut : 10)
+              --racines <n>             nombre de racines (remplace --echelle)
+              --schemes <n>             nombre de schèmes (remplace --echelle)
+              --distribution <d>        ex. SALIM=55,AJWAF=10,NAQIS=9,...
+              --hamza <p>               part de racines hamzées hors MAHMOUZ (défaut : 0.15)
+              --tokens <n>              taille du corpus (défaut : 1000000)
+              --vocabulaire <n>         formes distinctes du corpus (défaut : 50000)
+              --zipf <s>                exposant de la loi de Zipf (défaut : 1.0)
+              --inconnus <p>            part de tokens de racines hors lexique (défaut : 0.02)
+            """;
+    }
+}
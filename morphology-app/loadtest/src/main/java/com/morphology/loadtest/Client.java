@@ -0,0 +1,161 @@
+package com.morphology.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Client en boucle fermée : tire une opération selon le mélange, envoie la
+ * requête, attend la réponse, recommence. Les mesures ne comptent qu'une
+ * fois l'échauffement terminé.
+ */
+final class Client implements Runnable {
+
+    private static final char PREMIERE_LETTRE = 'ء';
+    private static final int NOMBRE_LETTRES = 'ي' - PREMIERE_LETTRE + 1;
+    private static final String FRONTIERE = "----morphology-loadtest";
+
+    /** Jeux de requêtes, construits avant le test */
+    record Donnees(List<String> racines, List<String> schemes, List<String[]> mots) {}
+
+    /** État partagé par tous les clients */
+    static final class Controle {
+        volatile boolean mesurer;
+        volatile boolean arreter;
+    }
+
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final String url;
+    private final Donnees donnees;
+    private final Operation[] tirage;
+    private final int racinesParUpload;
+    private final Controle controle;
+    private final Random aleatoire;
+    private final int numero;
+
+    final Mesures mesures = new Mesures();
+    private String curseur;
+    private int envois;
+
+    Client(int numero, HttpClient http, ObjectMapper json, String url, Donnees donnees,
+           Operation[] tirage, int racinesParUpload, Controle controle, long graine) {
+        this.numero = numero;
+        this.http = http;
+        this.json = json;
+        this.url = url;
+        this.donnees = donnees;
+        this.tirage = tirage;
+        this.racinesParUpload = racinesParUpload;
+        this.controle = controle;
+        this.aleatoire = new Random(graine + numero);
+    }
+
+    @Override
+    public void run() {
+        while (!controle.arreter) {
+            Operation operation = tirage[aleatoire.nextInt(tirage.length)];
+            HttpRequest requete = construire(operation);
+            boolean mesuree = controle.mesurer;
+            long debut = System.nanoTime();
+            boolean erreur;
+            String corps = null;
+            try {
+                HttpResponse<String> reponse = http.send(requete, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                erreur = reponse.statusCode() >= 400;
+                corps = reponse.body();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                erreur = true;
+            }
+            long latence = System.nanoTime() - debut;
+            if (mesuree && controle.mesurer) mesures.ajouter(operation, latence, erreur);
+
+            if (operation == Operation.ROOTS) suivreCurseur(erreur ? null : corps);
+        }
+    }
+
+    // ================================================================
+    // Requêtes
+    // ================================================================
+
+    private HttpRequest construire(Operation operation) {
+        return switch (operation) {
+            case WORD -> post("/generate/word", Map.of("root", racine(), "scheme", scheme()));
+            case FAMILY -> post("/generate/family", Map.of("root", racine()));
+            case CHECK -> {
+                String[] mot = mot();
+                yield post("/validate/check", Map.of("word", mot[0], "root", mot[1]));
+            }
+            case DECOMPOSE -> post("/validate/decompose", Map.of("word", mot()[0]));
+            case ROOTS -> get("/roots?limit=20"
+                    + (curseur != null ? "&cursor=" + URLEncoder.encode(curseur, StandardCharsets.UTF_8) : ""));
+            case UPLOAD -> upload();
+        };
+    }
+
+    private HttpRequest post(String chemin, Map<String, String> corps) {
+        return HttpRequest.newBuilder(URI.create(url + chemin))
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(corps), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpRequest get(String chemin) {
+        return HttpRequest.newBuilder(URI.create(url + chemin)).GET().build();
+    }
+
+    /** Fichier de racines tirées dans l'espace complet (nouvelles ou non) */
+    private HttpRequest upload() {
+        StringBuilder fichier = new StringBuilder();
+        for (int i = 0; i < racinesParUpload; i++) {
+            for (int j = 0; j < 3; j++) fichier.append((char) (PREMIERE_LETTRE + aleatoire.nextInt(NOMBRE_LETTRES)));
+            fichier.append('\n');
+        }
+        String nom = "charge-" + numero + "-" + (envois++) + ".txt";
+        String corps = "--" + FRONTIERE + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + nom + "\"\r\n"
+                + "Content-Type: text/plain; charset=UTF-8\r\n\r\n"
+                + fichier
+                + "\r\n--" + FRONTIERE + "--\r\n";
+        return HttpRequest.newBuilder(URI.create(url + "/roots/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + FRONTIERE)
+                .POST(HttpRequest.BodyPublishers.ofString(corps, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /** Pagination par curseur : page suivante, ou retour au début */
+    private void suivreCurseur(String corps) {
+        curseur = null;
+        if (corps == null) return;
+        try {
+            JsonNode suivant = json.readTree(corps).path("data").path("nextCursor");
+            if (suivant.isString()) curseur = suivant.asString();
+        } catch (RuntimeException e) {
+            curseur = null;
+        }
+    }
+
+    private String racine() {
+        return donnees.racines().get(aleatoire.nextInt(donnees.racines().size()));
+    }
+
+    private String scheme() {
+        return donnees.schemes().get(aleatoire.nextInt(donnees.schemes().size()));
+    }
+
+    private String[] mot() {
+        return donnees.mots().get(aleatoire.nextInt(donnees.mots().size()));
+    }
+}
@@ -0,0 +1,215 @@
+package com.morphology.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.morphology.MorphologyApplication;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Test de charge de bout en bout.
+ *
+ * L'application est démarrée dans le même processus (port aléatoire,
+ * lexique choisi, sans instantané ni journal), puis des clients simultanés
+ * envoient un mélange pondéré de vrais appels HTTP. Le rapport donne, par
+ * endpoint, le débit, les centiles de latence et le taux d'erreur.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) throws Exception {
+        OptionsCharge options;
+        try {
+            options = OptionsCharge.analyser(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ConfigurableApplicationContext contexte = null;
+        String url = options.url;
+        if (url == null) {
+            contexte = demarrer(options);
+            Integer port = contexte.getEnvironment().getProperty("local.server.port", Integer.class);
+            url = "http://localhost:" + port + "/api";
+        }
+
+        try {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            ObjectMapper json = new ObjectMapper();
+
+            attendreDisponibilite(http, url);
+            Client.Donnees donnees = preparer(http, json, url, options);
+            System.out.printf("Serveur %s : %d racines, %d schèmes, %d mots de référence%n",
+                    url, donnees.racines().size(), donnees.schemes().size(), donnees.mots().size());
+
+            Mesures mesures = executer(http, json, url, donnees, options);
+            Rapport.afficher(System.out, mesures, options);
+            if (options.csv != null) {
+                try (PrintStream sortie = new PrintStream(Files.newOutputStream(options.csv), true,
+                        StandardCharsets.UTF_8)) {
+                    Rapport.csv(sortie, mesures, options);
+                }
+            }
+        } finally {
+            if (contexte != null) contexte.close();
+        }
+    }
+
+    // ================================================================
+    // Démarrage de l'application
+    // ================================================================
+
+    private static ConfigurableApplicationContext demarrer(OptionsCharge options) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                // Journalisation réduite : les envois contiennent des racines invalides
+                "--logging.level.com.morphology=ERROR",
+                "--morphology.snapshot.enabled=false",
+                "--morphology.journal.enabled=false",
+                "--morphology.watch.enabled=false",
+                "--morphology.preload.enabled=true"));
+        if (options.racines != null) {
+            arguments.add("--morphology.preload.roots=file:" + options.racines.toAbsolutePath());
+        }
+        if (options.schemes != null) {
+            arguments.add("--morphology.preload.schemes=file:" + options.schemes.toAbsolutePath());
+        }
+        for (String propriete : options.proprietes) arguments.add("--" + propriete);
+
+        System.setProperty("file.encoding", "UTF-8");
+        return SpringApplication.run(MorphologyApplication.class, arguments.toArray(new String[0]));
+    }
+
+    /** Sonde de disponibilité : le lexique est chargé */
+    private static void attendreDisponibilite(HttpClient http, String url) throws InterruptedException {
+        URI sonde = URI.create(url + "/actuator/health/readiness");
+        long limite = System.nanoTime() + Duration.ofMinutes(10).toNanos();
+        while (System.nanoTime() < limite) {
+            try {
+                HttpResponse<Void> reponse = http.send(HttpRequest.newBuilder(sonde).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (reponse.statusCode() == 200) return;
+            } catch (IOException e) {
+                // serveur pas encore à l'écoute
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Serveur non disponible : " + sonde);
+    }
+
+    // ================================================================
+    // Jeux de requêtes, lus par l'API elle-même
+    // ================================================================
+
+    private static Client.Donnees preparer(HttpClient http, ObjectMapper json, String url, OptionsCharge options)
+            throws IOException, InterruptedException {
+        List<String> racines = new ArrayList<>();
+        String curseur = null;
+        do {
+            JsonNode page = lire(http, json, url + "/roots?limit=1000"
+                    + (curseur != null ? "&cursor=" + URLEncoder.encode(curseur, StandardCharsets.UTF_8) : ""));
+            page.path("data").path("roots").forEach(r -> racines.add(r.asString()));
+            JsonNode suivant = page.path("data").path("nextCursor");
+            curseur = suivant.isString() ? suivant.asString() : null;
+        } while (curseur != null);
+
+        List<String> schemes = new ArrayList<>();
+        lire(http, json, url + "/schemes").path("data").forEach(s -> schemes.add(s.path("name").asString()));
+
+        if (racines.isEmpty() || schemes.isEmpty()) {
+            throw new IllegalStateException("Lexique vide : " + racines.size() + " racines, "
+                    + schemes.size() + " schèmes");
+        }
+
+        // Mots de référence (check / decompose) : générés par le serveur
+        List<String[]> mots = new ArrayList<>();
+        Random aleatoire = new Random(options.graine);
+        for (int i = 0; i < options.mots; i++) {
+            String racine = racines.get(aleatoire.nextInt(racines.size()));
+            String scheme = schemes.get(aleatoire.nextInt(schemes.size()));
+            HttpRequest requete = HttpRequest.newBuilder(URI.create(url + "/generate/word"))
+                    .header("Content-Type", "application/json;charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            json.writeValueAsString(Map.of("root", racine, "scheme", scheme)), StandardCharsets.UTF_8))
+                    .build();
+            JsonNode data = json.readTree(http.send(requete, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .body()).path("data");
+            if (data.path("success").asBoolean()) mots.add(new String[] { data.path("word").asString(), racine });
+        }
+        if (mots.isEmpty()) throw new IllegalStateException("Aucun mot généré pour check/decompose");
+        return new Client.Donnees(racines, schemes, mots);
+    }
+
+    private static JsonNode lire(HttpClient http, ObjectMapper json, String adresse)
+            throws IOException, InterruptedException {
+        HttpResponse<String> reponse = http.send(HttpRequest.newBuilder(URI.create(adresse)).GET().build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (reponse.statusCode() != 200) {
+            throw new IllegalStateException("GET " + adresse + " : HTTP " + reponse.statusCode());
+        }
+        return json.readTree(reponse.body());
+    }
+
+    // ================================================================
+    // Exécution
+    // ================================================================
+
+    private static Mesures executer(HttpClient http, ObjectMapper json, String url, Client.Donnees donnees,
+                                    OptionsCharge options) throws InterruptedException {
+        // Table de tirage : chaque opération y figure autant de fois que son poids
+        List<Operation> tirage = new ArrayList<>();
+        options.melange.forEach((operation, poids) -> {
+            for (int i = 0; i < poids; i++) tirage.add(operation);
+        });
+        Operation[] table = tirage.toArray(new Operation[0]);
+
+        Client.Controle controle = new Client.Controle();
+        List<Client> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.clients; i++) {
+            Client client = new Client(i, http, json, url, donnees, table, options.racinesParUpload,
+                    controle, options.graine);
+            clients.add(client);
+            Thread thread = new Thread(client, "charge-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        System.out.printf("Échauffement %d s, mesure %d s, %d clients%n",
+                options.echauffementSecondes, options.dureeSecondes, options.clients);
+        Thread.sleep(options.echauffementSecondes * 1000L);
+        controle.mesurer = true;
+        Thread.sleep(options.dureeSecondes * 1000L);
+        controle.mesurer = false;
+        controle.arreter = true;
+        for (Thread thread : threads) thread.join();
+
+        Mesures total = new Mesures();
+        for (Client client : clients) total.fusionner(client.mesures);
+        return total;
+    }
+}
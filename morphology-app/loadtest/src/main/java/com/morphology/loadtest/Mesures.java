@@ -0,0 +1,64 @@
+package com.morphology.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latences et erreurs par opération. Chaque client tient ses propres
+ * mesures (aucune synchronisation sur le chemin de la requête) ; elles sont
+ * fusionnées à la fin du test.
+ */
+final class Mesures {
+
+    static final class Serie {
+        long[] latencesNs = new long[1024];
+        int nombre;
+        long erreurs;
+
+        void ajouter(long latenceNs, boolean erreur) {
+            if (nombre == latencesNs.length) latencesNs = Arrays.copyOf(latencesNs, nombre * 2);
+            latencesNs[nombre++] = latenceNs;
+            if (erreur) erreurs++;
+        }
+
+        void fusionner(Serie autre) {
+            if (nombre + autre.nombre > latencesNs.length) {
+                latencesNs = Arrays.copyOf(latencesNs, nombre + autre.nombre);
+            }
+            System.arraycopy(autre.latencesNs, 0, latencesNs, nombre, autre.nombre);
+            nombre += autre.nombre;
+            erreurs += autre.erreurs;
+        }
+
+        /** Latences triées (à appeler une fois, après fusion) */
+        long[] trier() {
+            long[] triees = Arrays.copyOf(latencesNs, nombre);
+            Arrays.sort(triees);
+            return triees;
+        }
+    }
+
+    final Map<Operation, Serie> series = new EnumMap<>(Operation.class);
+
+    Mesures() {
+        for (Operation operation : Operation.values()) series.put(operation, new Serie());
+    }
+
+    void ajouter(Operation operation, long latenceNs, boolean erreur) {
+        series.get(operation).ajouter(latenceNs, erreur);
+    }
+
+    void fusionner(Mesures autre) {
+        for (Operation operation : Operation.values()) {
+            series.get(operation).fusionner(autre.series.get(operation));
+        }
+    }
+
+    /** Centile par rang le plus proche, sur des latences triées */
+    static long centile(long[] triees, double p) {
+        if (triees.length == 0) return 0;
+        int rang = (int) Math.ceil(p / 100.0 * triees.length);
+        return triees[Math.max(0, Math.min(triees.length - 1, rang - 1))];
+    }
+}
@@ -0,0 +1,31 @@
+package com.morphology.loadtest;
+
+/**
+ * Opérations du mélange de trafic, chacune liée à un endpoint réel.
+ */
+enum Operation {
+    WORD("word", "POST /generate/word"),
+    FAMILY("family", "POST /generate/family"),
+    CHECK("check", "POST /validate/check"),
+    DECOMPOSE("decompose", "POST /validate/decompose"),
+    ROOTS("roots", "GET /roots"),
+    UPLOAD("upload", "POST /roots/upload");
+
+    private final String code;
+    private final String endpoint;
+
+    Operation(String code, String endpoint) {
+        this.code = code;
+        this.endpoint = endpoint;
+    }
+
+    String getCode()     { return code; }
+    String getEndpoint() { return endpoint; }
+
+    static Operation depuisCode(String code) {
+        for (Operation operation : values()) {
+            if (operation.code.equalsIgnoreCase(code)) return operation;
+        }
+        throw new IllegalArgumentException("Opération inconnue : " + code);
+    }
+}
@@ -0,0 +1,111 @@
+package com.morphology.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options de la ligne de commande (--cle valeur).
+ */
+final class OptionsCharge {
+
+    Path racines;
+    Path schemes;
+    String url;
+    int clients = 16;
+    int dureeSecondes = 30;
+    int echauffementSecondes = 10;
+    int mots = 500;
+    int racinesParUpload = 20;
+    long graine = 42L;
+    Path csv;
+    Map<Operation, Integer> melange = melangeParDefaut();
+    final List<String> proprietes = new ArrayList<>();
+
+    /**
+     * Profil de trafic par défaut : surtout de la génération et de la
+     * validation, un peu de pagination, de rares envois de fichiers.
+     */
+    private static Map<Operation, Integer> melangeParDefaut() {
+        Map<Operation, Integer> m = new EnumMap<>(Operation.class);
+        m.put(Operation.WORD, 30);
+        m.put(Operation.FAMILY, 5);
+        m.put(Operation.CHECK, 25);
+        m.put(Operation.DECOMPOSE, 20);
+        m.put(Operation.ROOTS, 19);
+        m.put(Operation.UPLOAD, 1);
+        return m;
+    }
+
+    static OptionsCharge analyser(String[] args) {
+        OptionsCharge o = new OptionsCharge();
+        for (int i = 0; i < args.length; i++) {
+            String cle = args[i];
+            if ("--aide".equals(cle) || "--help".equals(cle)) {
+                throw new IllegalArgumentException(usage());
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Valeur manquante pour " + cle + "\n" + usage());
+            }
+            String valeur = args[++i];
+            switch (cle) {
+                case "--racines"      -> o.racines = Path.of(valeur);
+                case "--schemes"      -> o.schemes = Path.of(valeur);
+                case "--url"          -> o.url = valeur.endsWith("/") ? valeur.substring(0, valeur.length() - 1) : valeur;
+                case "--clients"      -> o.clients = Integer.parseInt(valeur);
+                case "--duree"        -> o.dureeSecondes = Integer.parseInt(valeur);
+                case "--echauffement" -> o.echauffementSecondes = Integer.parseInt(valeur);
+                case "--mots"         -> o.mots = Integer.parseInt(valeur);
+                case "--upload"       -> o.racinesParUpload = Integer.parseInt(valeur);
+                case "--graine"       -> o.graine = Long.parseLong(valeur);
+                case "--csv"          -> o.csv = Path.of(valeur);
+                case "--mix"          -> o.melange = analyserMelange(valeur);
+                case "--propriete"    -> o.proprietes.add(valeur);
+                default -> throw new IllegalArgumentException("Option inconnue : " + cle + "\n" + usage());
+            }
+        }
+        if (o.url != null && (o.racines != null || o.schemes != null || !o.proprietes.isEmpty())) {
+            throw new IllegalArgumentException("--racines, --schemes et --propriete ne s'appliquent pas avec --url.");
+        }
+        return o;
+    }
+
+    /** Format operation=poids,... ; les opérations absentes ont un poids nul */
+    private static Map<Operation, Integer> analyserMelange(String texte) {
+        Map<Operation, Integer> m = new EnumMap<>(Operation.class);
+        for (String paire : texte.split(",")) {
+            String[] kv = paire.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Mélange attendu : operation=poids,... (reçu : " + paire + ")");
+            }
+            int poids = Integer.parseInt(kv[1].trim());
+            if (poids < 0) throw new IllegalArgumentException("Poids négatif : " + paire);
+            m.put(Operation.depuisCode(kv[0].trim()), poids);
+        }
+        if (m.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Le mélange doit avoir un poids positif.");
+        }
+        return m;
+    }
+
+    static String usage() {
+        return """
+            Usage : java -jar loadtest.jar [options]
+              --racines <fichier>       lexique de racines (défaut : static/racines.txt)
+              --schemes <fichier>       catalogue de schèmes (défaut : static/schemes.txt)
+              --propriete <cle=valeur>  propriété de l'application, répétable
+                                        (ex. morphology.decomposition.index-enabled=true)
+              --url <url>               serveur déjà démarré (ex. http://localhost:8080/api)
+              --clients <n>             clients simultanés (défaut : 16)
+              --duree <s>               durée de la mesure (défaut : 30)
+              --echauffement <s>        échauffement non mesuré (défaut : 10)
+              --mix <m>                 word=30,family=5,check=25,decompose=20,roots=19,upload=1
+              --mots <n>                mots générés pour check/decompose (défaut : 500)
+              --upload <n>              racines par fichier envoyé (défaut : 20)
+              --graine <n>              graine aléatoire (défaut : 42)
+              --csv <fichier>           rapport CSV en plus du tableau
+            """;
+    }
+}
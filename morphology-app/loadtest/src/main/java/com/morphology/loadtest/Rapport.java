@@ -0,0 +1,61 @@
+package com.morphology.loadtest;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Rapport par endpoint : requêtes, débit, taux d'erreur et centiles de
+ * latence (ms), puis la ligne de total.
+ */
+final class Rapport {
+
+    private static final double[] CENTILES = { 50, 90, 99, 99.9 };
+
+    private Rapport() {}
+
+    static void afficher(PrintStream sortie, Mesures mesures, OptionsCharge options) {
+        sortie.println();
+        sortie.printf(Locale.ROOT, "%-26s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Mesures.Serie total = new Mesures.Serie();
+        for (Operation operation : Operation.values()) {
+            Mesures.Serie serie = mesures.series.get(operation);
+            if (serie.nombre == 0) continue;
+            ligne(sortie, operation.getEndpoint(), serie, options.dureeSecondes);
+            total.fusionner(serie);
+        }
+        ligne(sortie, "TOTAL", total, options.dureeSecondes);
+    }
+
+    private static void ligne(PrintStream sortie, String libelle, Mesures.Serie serie, int dureeSecondes) {
+        long[] triees = serie.trier();
+        sortie.printf(Locale.ROOT, "%-26s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                libelle, serie.nombre, (double) serie.nombre / dureeSecondes, tauxErreur(serie),
+                ms(Mesures.centile(triees, CENTILES[0])), ms(Mesures.centile(triees, CENTILES[1])),
+                ms(Mesures.centile(triees, CENTILES[2])), ms(Mesures.centile(triees, CENTILES[3])),
+                ms(triees.length == 0 ? 0 : triees[triees.length - 1]));
+    }
+
+    static void csv(PrintStream sortie, Mesures mesures, OptionsCharge options) {
+        sortie.println("endpoint,requests,throughput,error_rate,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        for (Operation operation : Operation.values()) {
+            Mesures.Serie serie = mesures.series.get(operation);
+            if (serie.nombre == 0) continue;
+            long[] triees = serie.trier();
+            sortie.printf(Locale.ROOT, "%s,%d,%.3f,%.5f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    operation.getEndpoint(), serie.nombre, (double) serie.nombre / options.dureeSecondes,
+                    tauxErreur(serie) / 100,
+                    ms(Mesures.centile(triees, CENTILES[0])), ms(Mesures.centile(triees, CENTILES[1])),
+                    ms(Mesures.centile(triees, CENTILES[2])), ms(Mesures.centile(triees, CENTILES[3])),
+                    ms(triees[triees.length - 1]));
+        }
+    }
+
+    private static double tauxErreur(Mesures.Serie serie) {
+        return serie.nombre == 0 ? 0 : 100.0 * serie.erreurs / serie.nombre;
+    }
+
+    private static double ms(long ns) {
+        return ns / 1e6;
+    }
+}